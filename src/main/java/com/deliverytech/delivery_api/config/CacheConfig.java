@@ -1,16 +1,51 @@
 package com.deliverytech.delivery_api.config;
 
+import java.util.List;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 @Configuration
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
 
+    // nomes de caches usados na aplicação
+    public static final List<String> CACHES = List.of("restaurantes", "produtos", "pedidos", "clientes");
+
     @Bean
-    public CacheManager cacheManager() {
-        // nomes de caches usados na aplicação
-        return new ConcurrentMapCacheManager("restaurantes", "produtos", "pedidos", "clientes");
+    public CacheManager cacheManager(CacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        for (String nome : CACHES) {
+            CacheProperties.Spec spec = properties.getCaches().getOrDefault(nome, properties.getPadrao());
+            cacheManager.registerCustomCache(nome, caffeine(spec, properties.getPadrao()).build());
+        }
+        // Apenas os caches registrados acima; nomes desconhecidos não criam caches sem limite
+        cacheManager.setCacheNames(List.of());
+        return cacheManager;
+    }
+
+    private Caffeine<Object, Object> caffeine(CacheProperties.Spec spec, CacheProperties.Spec padrao) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+
+        Long maximumSize = spec.getMaximumSize() != null ? spec.getMaximumSize() : padrao.getMaximumSize();
+        if (maximumSize != null) {
+            builder.maximumSize(maximumSize);
+        }
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        } else if (padrao.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(padrao.getExpireAfterWrite());
+        }
+        if (spec.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.getExpireAfterAccess());
+        } else if (padrao.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(padrao.getExpireAfterAccess());
+        }
+        return builder;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,23 @@
+package com.deliverytech.delivery_api.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Métricas dos caches Caffeine mantidos fora do CacheManager (tokens, cardápio, idempotência).
+ *
+ * Usa as mesmas tags (name e cache.manager) que o Actuator põe nos caches do CacheManager:
+ * o registro Prometheus exige o mesmo conjunto de tags para todas as séries de um nome (cache_gets etc.).
+ */
+public final class CacheMetrics {
+
+    private CacheMetrics() {
+    }
+
+    public static void monitorar(MeterRegistry registry, Cache<?, ?> cache, String nome, String cacheManager) {
+        CaffeineCacheMetrics.monitor(registry, cache, nome, Tags.of("name", nome, "cache.manager", cacheManager));
+    }
+}
@@ -0,0 +1,29 @@
+package com.deliverytech.delivery_api.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Limites de cada cache, lidos de delivery.cache.* no application.properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "delivery.cache")
+public class CacheProperties {
+
+    // Usado para os caches sem configuração própria
+    private Spec padrao = new Spec();
+
+    private Map<String, Spec> caches = new LinkedHashMap<>();
+
+    @Data
+    public static class Spec {
+        private Long maximumSize;
+        private Duration expireAfterWrite;
+        private Duration expireAfterAccess;
+    }
+}
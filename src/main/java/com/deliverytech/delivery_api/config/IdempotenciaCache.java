@@ -0,0 +1,84 @@
+package com.deliverytech.delivery_api.config;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Respostas por Idempotency-Key (já prefixada com o usuário), limitadas em quantidade e
+ * expiradas após o TTL. A entrada é criada antes da execução, com uma resposta ainda
+ * pendente: duplicatas simultâneas esperam por ela em vez de executar de novo.
+ */
+@Component
+public class IdempotenciaCache implements MeterBinder {
+
+    public record RespostaArmazenada(int status, Map<String, List<String>> headers, byte[] corpo) {}
+
+    /** Execução de uma chave: impressão digital da requisição e a resposta, quando pronta. */
+    public static final class Execucao {
+
+        private final byte[] impressao;
+        private final CompletableFuture<RespostaArmazenada> resposta = new CompletableFuture<>();
+
+        public Execucao(byte[] impressao) {
+            this.impressao = impressao;
+        }
+
+        public boolean mesmaRequisicao(byte[] outra) {
+            return MessageDigest.isEqual(impressao, outra);
+        }
+
+        public CompletableFuture<RespostaArmazenada> getResposta() {
+            return resposta;
+        }
+    }
+
+    private final Cache<String, Execucao> cache;
+
+    public IdempotenciaCache(@Value("${delivery.idempotencia.maximum-size:10000}") long maximumSize,
+                             @Value("${delivery.idempotencia.ttl:24h}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Registra a execução para a chave. Retorna null se ela foi registrada (quem chamou
+     * deve executar e concluir) ou a execução que já existia.
+     */
+    public Execucao registrar(String chave, Execucao execucao) {
+        return cache.asMap().putIfAbsent(chave, execucao);
+    }
+
+    public void concluir(Execucao execucao, RespostaArmazenada resposta) {
+        execucao.resposta.complete(resposta);
+    }
+
+    /** Falha ou erro de servidor: a chave é liberada para uma nova tentativa. */
+    public void descartar(String chave, Execucao execucao) {
+        cache.asMap().remove(chave, execucao);
+        execucao.resposta.complete(null);
+    }
+
+    public long tamanho() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CacheMetrics.monitorar(registry, cache, "idempotencia", "idempotenciaCache");
+    }
+}
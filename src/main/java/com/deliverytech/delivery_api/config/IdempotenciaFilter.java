@@ -0,0 +1,262 @@
+package com.deliverytech.delivery_api.config;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.deliverytech.delivery_api.config.IdempotenciaCache.Execucao;
+import com.deliverytech.delivery_api.config.IdempotenciaCache.RespostaArmazenada;
+import com.deliverytech.delivery_api.dto.response.ErrorResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Idempotency-Key no POST /pedidos: a primeira requisição com a chave executa e a
+ * resposta (status, headers e corpo) é guardada; repetições com a mesma chave e o
+ * mesmo corpo recebem a resposta guardada, com Idempotent-Replayed: true.
+ *
+ * Roda depois da segurança, então a chave é separada por usuário. Respostas 5xx e
+ * exceções não são guardadas, para que o cliente possa tentar de novo.
+ *
+ * As chaves ficam no IdempotenciaCache, em memória de cada instância: com várias instâncias
+ * atrás de um balanceador, a repetição só é reconhecida se chegar à mesma instância
+ * (afinidade por usuário no balanceador, ou um armazenamento compartilhado no lugar do cache).
+ */
+@Component
+public class IdempotenciaFilter extends OncePerRequestFilter {
+
+    public static final String HEADER_CHAVE = "Idempotency-Key";
+    public static final String HEADER_REPETIDA = "Idempotent-Replayed";
+
+    private static final String CAMINHO = "/pedidos";
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    private final IdempotenciaCache idempotenciaCache;
+    private final ObjectMapper objectMapper;
+    private final Duration espera;
+
+    public IdempotenciaFilter(IdempotenciaCache idempotenciaCache, ObjectMapper objectMapper,
+                              @Value("${delivery.idempotencia.espera:30s}") Duration espera) {
+        this.idempotenciaCache = idempotenciaCache;
+        this.objectMapper = objectMapper;
+        this.espera = espera;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        return !HttpMethod.POST.matches(request.getMethod())
+                || !CAMINHO.equals(caminho)
+                || request.getHeader(HEADER_CHAVE) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String chaveCliente = request.getHeader(HEADER_CHAVE);
+        if (chaveCliente.isBlank() || chaveCliente.length() > TAMANHO_MAXIMO_CHAVE) {
+            erro(request, response, HttpStatus.BAD_REQUEST, "Dados inválidos",
+                    HEADER_CHAVE + " deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+            return;
+        }
+
+        CorpoLido corpoLido = new CorpoLido(request);
+        String chave = usuario() + ":" + chaveCliente;
+        byte[] impressao = impressao(request, corpoLido.corpo);
+
+        // repete quando a execução original falha: a chave é liberada e outra requisição assume
+        while (true) {
+            Execucao execucao = new Execucao(impressao);
+            Execucao existente = idempotenciaCache.registrar(chave, execucao);
+            if (existente == null) {
+                executar(corpoLido, response, filterChain, chave, execucao);
+                return;
+            }
+
+            if (!existente.mesmaRequisicao(impressao)) {
+                erro(request, response, HttpStatus.UNPROCESSABLE_ENTITY, "Conflito de dados",
+                        HEADER_CHAVE + " já utilizada com outro conteúdo");
+                return;
+            }
+
+            RespostaArmazenada armazenada;
+            try {
+                armazenada = existente.getResposta().get(espera.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                erro(request, response, HttpStatus.CONFLICT, "Conflito de dados",
+                        "Requisição com a mesma " + HEADER_CHAVE + " ainda em processamento");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrompido aguardando requisição idempotente", e);
+            } catch (ExecutionException e) {
+                throw new ServletException(e.getCause());
+            }
+
+            if (armazenada != null) {
+                repetir(armazenada, response);
+                return;
+            }
+        }
+    }
+
+    private void executar(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                          String chave, Execucao execucao) throws ServletException, IOException {
+        ContentCachingResponseWrapper resposta = new ContentCachingResponseWrapper(response);
+        boolean concluida = false;
+        try {
+            filterChain.doFilter(request, resposta);
+            if (resposta.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                idempotenciaCache.concluir(execucao,
+                        new RespostaArmazenada(resposta.getStatus(), headers(resposta), resposta.getContentAsByteArray()));
+                concluida = true;
+            }
+        } finally {
+            if (!concluida) {
+                idempotenciaCache.descartar(chave, execucao);
+            }
+            resposta.copyBodyToResponse();
+        }
+    }
+
+    private static void repetir(RespostaArmazenada armazenada, HttpServletResponse response) throws IOException {
+        response.setStatus(armazenada.status());
+        // setHeader no primeiro valor: headers já gravados nesta resposta (ex.: segurança) não duplicam
+        armazenada.headers().forEach((nome, valores) -> {
+            for (int i = 0; i < valores.size(); i++) {
+                if (i == 0) {
+                    response.setHeader(nome, valores.get(i));
+                } else {
+                    response.addHeader(nome, valores.get(i));
+                }
+            }
+        });
+        response.setHeader(HEADER_REPETIDA, "true");
+        response.setContentLength(armazenada.corpo().length);
+        response.getOutputStream().write(armazenada.corpo());
+    }
+
+    private static Map<String, List<String>> headers(HttpServletResponse response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String nome : response.getHeaderNames()) {
+            headers.put(nome, new ArrayList<>(response.getHeaders(nome)));
+        }
+        if (response.getContentType() != null) {
+            headers.put("Content-Type", List.of(response.getContentType()));
+        }
+        return headers;
+    }
+
+    private void erro(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String titulo,
+                      String mensagem) throws IOException {
+        ErrorResponseDTO erro = new ErrorResponseDTO(status.value(), titulo, mensagem, request.getRequestURI());
+        erro.setErrorCode("IDEMPOTENCY_KEY");
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), erro);
+    }
+
+    private static String usuario() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        return autenticacao != null ? autenticacao.getName() : "";
+    }
+
+    // SHA-256 de método, caminho e corpo: a mesma chave com outro conteúdo é rejeitada
+    private static byte[] impressao(HttpServletRequest request, byte[] corpo) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getRequestURI() + "\n").getBytes(StandardCharsets.UTF_8));
+            return digest.digest(corpo);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    /** Corpo lido por inteiro antes da execução (para a impressão) e entregue de novo ao controller. */
+    private static class CorpoLido extends HttpServletRequestWrapper {
+
+        private final byte[] corpo;
+
+        CorpoLido(HttpServletRequest request) throws IOException {
+            super(request);
+            this.corpo = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(corpo);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return entrada.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // corpo já está todo em memória: os dados estão disponíveis de imediato
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), encoding));
+        }
+    }
+}
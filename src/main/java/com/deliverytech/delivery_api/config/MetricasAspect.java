@@ -0,0 +1,60 @@
+package com.deliverytech.delivery_api.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Mede a latência de cada método das camadas de serviço, de mapeamento (MapStruct)
+ * e de JWT, separando o tempo de banco (spring.data.repository.invocations,
+ * medido pelo Actuator) do restante de uma requisição.
+ *
+ * Métricas: delivery.servico, delivery.mapeamento e delivery.jwt,
+ * com as tags classe, metodo e excecao.
+ */
+@Aspect
+@Component
+public class MetricasAspect {
+
+    private final MeterRegistry registry;
+
+    public MetricasAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("within(com.deliverytech.delivery_api.service.impl..*) && !execution(* bindTo(..))")
+    public Object medirServico(ProceedingJoinPoint joinPoint) throws Throwable {
+        return medir("delivery.servico", joinPoint);
+    }
+
+    @Around("within(com.deliverytech.delivery_api.mapper..*)")
+    public Object medirMapeamento(ProceedingJoinPoint joinPoint) throws Throwable {
+        return medir("delivery.mapeamento", joinPoint);
+    }
+
+    @Around("within(com.deliverytech.delivery_api.security.JwtUtil)")
+    public Object medirJwt(ProceedingJoinPoint joinPoint) throws Throwable {
+        return medir("delivery.jwt", joinPoint);
+    }
+
+    private Object medir(String metrica, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample amostra = Timer.start(registry);
+        String excecao = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            excecao = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            amostra.stop(Timer.builder(metrica)
+                    .tag("classe", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("metodo", joinPoint.getSignature().getName())
+                    .tag("excecao", excecao)
+                    .register(registry));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.deliverytech.delivery_api.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Threads dos eventos de pedidos.
+ *
+ * pedidoOutboxExecutor: relay do outbox, que entrega os eventos gravados aos assinantes
+ * em ordem. Uma thread só, fora das requisições que alteram os pedidos.
+ *
+ * pedidoEventosExecutor: canais SSE. Publicação, assinatura (com replay do Last-Event-ID)
+ * e heartbeat passam por ela, o que ordena tudo sem locks e tira o envio para os
+ * clientes da thread do relay. Ela só enfileira: não escreve em nenhuma conexão.
+ *
+ * pedidoEventosEnvioExecutor: escrita nas conexões SSE, uma tarefa por conexão enquanto
+ * houver eventos na fila dela. O write do servlet bloqueia enquanto o cliente não lê;
+ * em virtual threads um cliente lento prende só a sua, sem limite de pool a esgotar.
+ */
+@Configuration
+public class PedidoEventosConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService pedidoOutboxExecutor() {
+        return Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("pedido-outbox").daemon(true).factory());
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService pedidoEventosExecutor() {
+        return Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("pedido-eventos").daemon(true).factory());
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService pedidoEventosEnvioExecutor() {
+        return Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("pedido-eventos-envio-", 1).factory());
+    }
+}
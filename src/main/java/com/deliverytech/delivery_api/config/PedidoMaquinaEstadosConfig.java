@@ -0,0 +1,53 @@
+package com.deliverytech.delivery_api.config;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.deliverytech.delivery_api.enums.StatusPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.repository.VendaDiariaRepository;
+import com.deliverytech.delivery_api.statemachine.MaquinaEstados;
+
+/**
+ * Ciclo de vida do pedido: transições de status permitidas e os efeitos de cada uma
+ * no consolidado de vendas (vendas_diarias). Métrica: delivery.pedidos.transicoes.
+ */
+@Configuration
+public class PedidoMaquinaEstadosConfig {
+
+    @Bean
+    public MaquinaEstados<StatusPedido, Pedido> maquinaEstadosPedido(VendaDiariaRepository vendaDiariaRepository) {
+        return MaquinaEstados.<StatusPedido, Pedido>builder(StatusPedido.class)
+                .transicao(StatusPedido.PENDENTE, StatusPedido.CONFIRMADO, StatusPedido.CANCELADO)
+                .transicao(StatusPedido.CONFIRMADO, StatusPedido.PREPARANDO, StatusPedido.CANCELADO)
+                .transicao(StatusPedido.PREPARANDO, StatusPedido.SAIU_PARA_ENTREGA)
+                .transicao(StatusPedido.SAIU_PARA_ENTREGA, StatusPedido.ENTREGUE)
+                .aoEntrar(StatusPedido.CANCELADO, (pedido, de, para) -> estornarVenda(vendaDiariaRepository, pedido))
+                .aoEntrar(StatusPedido.ENTREGUE, (pedido, de, para) -> registrarEntrega(vendaDiariaRepository, pedido))
+                .metricas("delivery.pedidos.transicoes")
+                .build();
+    }
+
+    // Cancelado sai do total e da quantidade de pedidos do dia; o dia que ficou sem pedidos
+    // sai do consolidado, como na reconstrução. Pedidos sem restaurante ou data não entram.
+    private static void estornarVenda(VendaDiariaRepository vendaDiariaRepository, Pedido pedido) {
+        if (pedido.getRestaurante() == null || pedido.getDataPedido() == null) {
+            return;
+        }
+        Long restauranteId = pedido.getRestaurante().getId();
+        LocalDate data = pedido.getDataPedido().toLocalDate();
+        vendaDiariaRepository.registrar(restauranteId, data, pedido.getValorTotal().negate(), -1, 0);
+        vendaDiariaRepository.removerSemPedidos(restauranteId, data);
+    }
+
+    private static void registrarEntrega(VendaDiariaRepository vendaDiariaRepository, Pedido pedido) {
+        if (pedido.getRestaurante() == null || pedido.getDataPedido() == null) {
+            return;
+        }
+        vendaDiariaRepository.registrar(pedido.getRestaurante().getId(), pedido.getDataPedido().toLocalDate(),
+                BigDecimal.ZERO, 0, 1);
+    }
+}
@@ -0,0 +1,24 @@
+package com.deliverytech.delivery_api.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Pool dos workers do recebimento assíncrono de pedidos (POST /pedidos com Prefer: respond-async).
+ * Threads de plataforma dedicadas: o número de workers limita as transações simultâneas
+ * de criação de pedidos, independente de quantas requisições chegam.
+ */
+@Configuration
+@EnableConfigurationProperties(PedidoRecebimentoProperties.class)
+public class PedidoRecebimentoConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService pedidoRecebimentoExecutor(PedidoRecebimentoProperties properties) {
+        return Executors.newFixedThreadPool(properties.getWorkers(),
+                Thread.ofPlatform().name("pedido-recebimento-", 1).daemon(true).factory());
+    }
+}
@@ -0,0 +1,35 @@
+package com.deliverytech.delivery_api.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Recebimento assíncrono de pedidos, lido de delivery.pedidos.recebimento.* no application.properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "delivery.pedidos.recebimento")
+public class PedidoRecebimentoProperties {
+
+    // Protocolos aguardando worker em memória; acima disso ficam só na tabela
+    private int capacidadeFila = 1000;
+
+    // Threads que criam os pedidos
+    private int workers = 2;
+
+    // Pedidos criados por transação
+    private int tamanhoLote = 50;
+
+    // Espera por trabalho antes de procurar pendentes na tabela
+    private Duration espera = Duration.ofMillis(500);
+
+    // Falhas transitórias: nova tentativa após esperaRetentativa, dobrando a cada falha até
+    // esperaRetentativaMaxima; na maximoTentativas-ésima falha o protocolo é REJEITADO
+    private int maximoTentativas = 5;
+
+    private Duration esperaRetentativa = Duration.ofSeconds(1);
+
+    private Duration esperaRetentativaMaxima = Duration.ofMinutes(5);
+}
@@ -0,0 +1,75 @@
+package com.deliverytech.delivery_api.config;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Réplica de leitura (opt-in): com delivery.datasource.replica.enabled=true o DataSource da
+ * aplicação passa a ser um LazyConnectionDataSourceProxy que só obtém a conexão no primeiro
+ * statement, depois que a transação marcou a conexão como somente leitura. Transações
+ * @Transactional(readOnly = true) vão para a réplica (ReplicaLeituraRoteador); as demais, e
+ * as somente leitura aninhadas numa transação de escrita, ficam no primário.
+ *
+ * Os pools não são beans: só o DataSource final passa pelo datasource-proxy do SqlMonitor,
+ * então cada statement é contado uma vez.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "delivery.datasource.replica", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaLeituraProperties.class)
+public class ReplicaLeituraConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaLeituraRoteador replicaLeituraRoteador(DataSourceProperties dataSourceProperties,
+                                                        ReplicaLeituraProperties properties) {
+        HikariDataSource primario = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primario.setPoolName("primario");
+
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .driverClassName(properties.getDriverClassName())
+                .build();
+        replica.setPoolName("replica");
+        replica.setMaximumPoolSize(properties.getMaximumPoolSize());
+        replica.setReadOnly(true);
+
+        return new ReplicaLeituraRoteador(primario, replica, properties.getAtrasoMaximo(),
+                properties.getConsultaAtraso(), properties.getColunaAtraso());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaLeituraRoteador roteador) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(roteador.getEscrita());
+        dataSource.setReadOnlyDataSource(roteador.getLeitura());
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService replicaLeituraExecutor(ReplicaLeituraRoteador roteador,
+                                                           ReplicaLeituraProperties properties) {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("replica-leitura").daemon(true).factory());
+        executor.scheduleWithFixedDelay(roteador::verificarAtraso, 0,
+                properties.getIntervaloVerificacao().toMillis(), TimeUnit.MILLISECONDS);
+        return executor;
+    }
+}
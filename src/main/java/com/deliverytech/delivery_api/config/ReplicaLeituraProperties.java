@@ -0,0 +1,39 @@
+package com.deliverytech.delivery_api.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Réplica de leitura, lida de delivery.datasource.replica.* no application.properties.
+ * O primário continua em spring.datasource.*.
+ */
+@Data
+@ConfigurationProperties(prefix = "delivery.datasource.replica")
+public class ReplicaLeituraProperties {
+
+    // Desligado: um único DataSource (spring.datasource.*) para tudo
+    private boolean enabled = false;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private String driverClassName;
+
+    private int maximumPoolSize = 10;
+
+    // Acima deste atraso as transações somente leitura voltam para o primário
+    private Duration atrasoMaximo = Duration.ofSeconds(5);
+
+    private Duration intervaloVerificacao = Duration.ofSeconds(5);
+
+    // Consulta executada na réplica e coluna com o atraso em segundos (nula = replicação parada)
+    private String consultaAtraso = "SHOW REPLICA STATUS";
+
+    private String colunaAtraso = "Seconds_Behind_Source";
+}
@@ -0,0 +1,152 @@
+package com.deliverytech.delivery_api.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rotas do DataSource com réplica de leitura. getEscrita() entrega conexões do primário;
+ * getLeitura(), usado nas transações somente leitura, entrega conexões da réplica enquanto
+ * o último atraso medido por verificarAtraso estiver dentro de atrasoMaximo, e do primário
+ * quando a réplica está atrasada, com replicação parada ou sem responder.
+ *
+ * Até a primeira verificação as leituras vão para o primário. Uma falha ao conectar na
+ * réplica desvia as leituras até a próxima verificação bem-sucedida.
+ *
+ * Métricas: delivery.datasource.conexoes{rota=escrita|leitura-replica|leitura-primario},
+ * delivery.datasource.replica.atraso (segundos, NaN se desconhecido) e
+ * delivery.datasource.replica.disponivel (1 ou 0).
+ */
+@Slf4j
+public class ReplicaLeituraRoteador implements MeterBinder, AutoCloseable {
+
+    private final DataSource primario;
+    private final DataSource replica;
+    private final double atrasoMaximoSegundos;
+    private final String consultaAtraso;
+    private final String colunaAtraso;
+
+    private final LongAdder escritas = new LongAdder();
+    private final LongAdder leiturasReplica = new LongAdder();
+    private final LongAdder leiturasPrimario = new LongAdder();
+    private volatile double atrasoSegundos = Double.NaN;
+    private volatile boolean replicaDisponivel;
+
+    private final DataSource escrita;
+    private final DataSource leitura;
+
+    public ReplicaLeituraRoteador(DataSource primario, DataSource replica, Duration atrasoMaximo,
+                                  String consultaAtraso, String colunaAtraso) {
+        this.primario = primario;
+        this.replica = replica;
+        this.atrasoMaximoSegundos = atrasoMaximo.toMillis() / 1000.0;
+        this.consultaAtraso = consultaAtraso;
+        this.colunaAtraso = colunaAtraso;
+        this.escrita = new DelegatingDataSource(primario) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                escritas.increment();
+                return super.getConnection();
+            }
+        };
+        this.leitura = new DelegatingDataSource(replica) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return conexaoDeLeitura();
+            }
+        };
+    }
+
+    public DataSource getEscrita() {
+        return escrita;
+    }
+
+    public DataSource getLeitura() {
+        return leitura;
+    }
+
+    public boolean isReplicaDisponivel() {
+        return replicaDisponivel;
+    }
+
+    /** Mede o atraso da réplica e decide para onde vão as próximas leituras. */
+    public void verificarAtraso() {
+        double atraso;
+        try (Connection conexao = replica.getConnection();
+             Statement statement = conexao.createStatement();
+             ResultSet resultado = statement.executeQuery(consultaAtraso)) {
+            // sem linha (réplica não configurada) ou coluna nula (replicação parada): atraso desconhecido
+            Object valor = resultado.next() ? resultado.getObject(colunaAtraso) : null;
+            atraso = valor instanceof Number numero ? numero.doubleValue() : Double.NaN;
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Falha ao verificar o atraso da réplica de leitura: {}", e.toString());
+            atraso = Double.NaN;
+        }
+
+        boolean disponivel = !Double.isNaN(atraso) && atraso <= atrasoMaximoSegundos;
+        if (disponivel != replicaDisponivel) {
+            log.info("Leituras {} (atraso da réplica: {} s)", disponivel ? "na réplica" : "desviadas para o primário", atraso);
+        }
+        atrasoSegundos = atraso;
+        replicaDisponivel = disponivel;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        registrar(registry, "escrita", escritas);
+        registrar(registry, "leitura-replica", leiturasReplica);
+        registrar(registry, "leitura-primario", leiturasPrimario);
+        Gauge.builder("delivery.datasource.replica.atraso", () -> atrasoSegundos)
+                .description("Último atraso medido da réplica de leitura")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("delivery.datasource.replica.disponivel", () -> replicaDisponivel ? 1 : 0)
+                .description("1 quando as transações somente leitura vão para a réplica")
+                .register(registry);
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (replica instanceof AutoCloseable fechavel) {
+            fechavel.close();
+        }
+        if (primario instanceof AutoCloseable fechavel) {
+            fechavel.close();
+        }
+    }
+
+    private Connection conexaoDeLeitura() throws SQLException {
+        if (replicaDisponivel) {
+            try {
+                Connection conexao = replica.getConnection();
+                leiturasReplica.increment();
+                return conexao;
+            } catch (SQLException e) {
+                replicaDisponivel = false;
+                log.warn("Réplica de leitura indisponível, leituras desviadas para o primário: {}", e.toString());
+            }
+        }
+        leiturasPrimario.increment();
+        return primario.getConnection();
+    }
+
+    private static void registrar(MeterRegistry registry, String rota, LongAdder contador) {
+        FunctionCounter.builder("delivery.datasource.conexoes", contador, LongAdder::sum)
+                .description("Conexões obtidas do DataSource por rota")
+                .tag("rota", rota)
+                .register(registry);
+    }
+}
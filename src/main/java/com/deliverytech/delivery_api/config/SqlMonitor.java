@@ -0,0 +1,144 @@
+package com.deliverytech.delivery_api.config;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * Listener de cada statement JDBC executado pelo DataSource (via datasource-proxy).
+ *
+ * Acumula quantidade e tempo de banco da requisição corrente (contexto aberto pelo
+ * SqlMonitorFilter) e registra no log as queries acima do limiar, com o formato dos
+ * parâmetros (tipos, nunca os valores).
+ *
+ * O contexto é um ThreadLocal da thread da requisição e não é repassado a outras threads:
+ * o que roda em executores próprios (relay do outbox, workers de recebimento, verificação da
+ * réplica) ou na escrita assíncrona da resposta (exportação em streaming, SSE) não entra nos
+ * headers nem no orçamento da requisição. Para não sumir, todo statement é somado na métrica
+ * delivery.sql, com contexto=requisicao ou contexto=fora-requisicao.
+ */
+@Slf4j
+public class SqlMonitor implements QueryExecutionListener, MeterBinder {
+
+    private static final String INICIO = SqlMonitor.class.getName() + ".inicio";
+
+    private final ThreadLocal<Contagem> contexto = new ThreadLocal<>();
+    private final SqlMonitorProperties properties;
+    private final Totais requisicao = new Totais();
+    private final Totais foraRequisicao = new Totais();
+
+    public SqlMonitor(SqlMonitorProperties properties) {
+        this.properties = properties;
+    }
+
+    /** Contagem de statements e tempo de banco (ns) de uma requisição. */
+    public static class Contagem {
+        private int statements;
+        private long nanos;
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public long getMillis() {
+            return nanos / 1_000_000;
+        }
+    }
+
+    public Contagem iniciar() {
+        Contagem contagem = new Contagem();
+        contexto.set(contagem);
+        return contagem;
+    }
+
+    public void finalizar() {
+        contexto.remove();
+    }
+
+    public Contagem atual() {
+        return contexto.get();
+    }
+
+    public SqlMonitorProperties getProperties() {
+        return properties;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        registrar(registry, "requisicao", requisicao);
+        registrar(registry, "fora-requisicao", foraRequisicao);
+    }
+
+    private void registrar(MeterRegistry registry, String contexto, Totais totais) {
+        FunctionTimer.builder("delivery.sql", totais, t -> t.statements.sum(), t -> t.nanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Statements JDBC e tempo de banco, dentro ou fora do contexto de uma requisição")
+                .tag("contexto", contexto)
+                .register(registry);
+    }
+
+    private static class Totais {
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(INICIO, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long inicio = execInfo.getCustomValue(INICIO, Long.class);
+        long nanos = inicio != null ? System.nanoTime() - inicio : 0;
+
+        // um batch conta como um statement: é uma única ida ao banco
+        Contagem contagem = contexto.get();
+        if (contagem != null) {
+            contagem.statements++;
+            contagem.nanos += nanos;
+        }
+        Totais totais = contagem != null ? requisicao : foraRequisicao;
+        totais.statements.increment();
+        totais.nanos.add(nanos);
+
+        if (nanos >= properties.getLimiarLenta().toNanos()) {
+            log.warn("Query lenta ({} ms{}): {} | parâmetros: {}",
+                    nanos / 1_000_000,
+                    execInfo.isBatch() ? ", batch de " + execInfo.getBatchSize() : "",
+                    queryInfoList.stream().map(QueryInfo::getQuery).distinct().collect(Collectors.joining("; ")),
+                    formatoParametros(queryInfoList));
+        }
+    }
+
+    // tipos dos parâmetros do primeiro conjunto, ex.: (Long, String, null)
+    static String formatoParametros(List<QueryInfo> queryInfoList) {
+        return queryInfoList.stream()
+                .map(QueryInfo::getParametersList)
+                .filter(conjuntos -> !conjuntos.isEmpty())
+                .findFirst()
+                .map(conjuntos -> conjuntos.get(0).stream()
+                        .map(SqlMonitor::tipo)
+                        .collect(Collectors.joining(", ", "(", ")")))
+                .orElse("()");
+    }
+
+    private static String tipo(ParameterSetOperation operacao) {
+        Object[] args = operacao.getArgs();
+        Object valor = args.length > 1 ? args[1] : null;
+        if ("setNull".equals(operacao.getMethod().getName()) || Objects.isNull(valor)) {
+            return "null";
+        }
+        return valor.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,43 @@
+package com.deliverytech.delivery_api.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Envolve o DataSource com o datasource-proxy para que o SqlMonitor veja cada statement
+ * (substitui o spring.jpa.show-sql, que não mede tempo e inunda o stdout).
+ */
+@Configuration
+@EnableConfigurationProperties(SqlMonitorProperties.class)
+public class SqlMonitorConfig {
+
+    @Bean
+    public SqlMonitor sqlMonitor(SqlMonitorProperties properties) {
+        return new SqlMonitor(properties);
+    }
+
+    // static: BeanPostProcessor precisa existir antes dos demais beans de configuração
+    @Bean
+    public static BeanPostProcessor sqlMonitorDataSourcePostProcessor(ObjectProvider<SqlMonitor> sqlMonitor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(sqlMonitor.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,128 @@
+package com.deliverytech.delivery_api.config;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Abre o contexto do SqlMonitor para cada requisição (antes da segurança, para contar
+ * também a busca do usuário no login/JWT) e, ao final, registra uma linha estruturada
+ * com a quantidade de statements e o tempo de banco. Requisições acima do orçamento de
+ * statements são registradas como WARN (suspeita de N+1).
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlMonitorFilter extends OncePerRequestFilter {
+
+    public static final String HEADER_STATEMENTS = "X-SQL-Statements";
+    public static final String HEADER_TEMPO = "X-SQL-Tempo-Ms";
+
+    private final SqlMonitor sqlMonitor;
+
+    public SqlMonitorFilter(SqlMonitor sqlMonitor) {
+        this.sqlMonitor = sqlMonitor;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlMonitor.Contagem contagem = sqlMonitor.iniciar();
+        try {
+            HttpServletResponse resposta = sqlMonitor.getProperties().isHeader()
+                    ? new ComHeadersSql(response, contagem)
+                    : response;
+            filterChain.doFilter(request, resposta);
+        } finally {
+            sqlMonitor.finalizar();
+            registrar(request, response, contagem);
+        }
+    }
+
+    private void registrar(HttpServletRequest request, HttpServletResponse response, SqlMonitor.Contagem contagem) {
+        int orcamento = sqlMonitor.getProperties().getOrcamentoStatements();
+        if (contagem.getStatements() > orcamento) {
+            log.warn("sql.orcamento_excedido metodo={} uri={} status={} statements={} orcamento={} tempo_ms={}",
+                    request.getMethod(), request.getRequestURI(), response.getStatus(),
+                    contagem.getStatements(), orcamento, contagem.getMillis());
+        } else if (log.isDebugEnabled()) {
+            log.debug("sql.requisicao metodo={} uri={} status={} statements={} tempo_ms={}",
+                    request.getMethod(), request.getRequestURI(), response.getStatus(),
+                    contagem.getStatements(), contagem.getMillis());
+        }
+    }
+
+    /**
+     * Grava os headers quando o corpo começa a ser escrito, último momento em que
+     * ainda podem ser alterados (o trabalho de banco do controller já terminou).
+     */
+    private static class ComHeadersSql extends HttpServletResponseWrapper {
+
+        private final SqlMonitor.Contagem contagem;
+        private boolean gravados;
+
+        ComHeadersSql(HttpServletResponse response, SqlMonitor.Contagem contagem) {
+            super(response);
+            this.contagem = contagem;
+        }
+
+        private void gravarHeaders() {
+            if (!gravados && !isCommitted()) {
+                gravados = true;
+                setHeader(HEADER_STATEMENTS, Integer.toString(contagem.getStatements()));
+                setHeader(HEADER_TEMPO, Long.toString(contagem.getMillis()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            gravarHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            gravarHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            gravarHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            gravarHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            gravarHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void setStatus(int sc) {
+            super.setStatus(sc);
+            // respostas sem corpo (ex.: 304, 204) não passam por getOutputStream
+            if (sc == SC_NOT_MODIFIED || sc == SC_NO_CONTENT) {
+                gravarHeaders();
+            }
+        }
+    }
+}
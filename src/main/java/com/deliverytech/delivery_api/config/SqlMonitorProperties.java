@@ -0,0 +1,24 @@
+package com.deliverytech.delivery_api.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Monitoramento de SQL por requisição, lido de delivery.sql.* no application.properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "delivery.sql")
+public class SqlMonitorProperties {
+
+    // Queries acima deste tempo são registradas no log com o formato dos parâmetros
+    private Duration limiarLenta = Duration.ofMillis(200);
+
+    // Requisições com mais statements que isto são sinalizadas (suspeita de N+1)
+    private int orcamentoStatements = 20;
+
+    // Envia X-SQL-Statements e X-SQL-Tempo-Ms na resposta
+    private boolean header = true;
+}
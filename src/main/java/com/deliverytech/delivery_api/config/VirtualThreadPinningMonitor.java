@@ -0,0 +1,96 @@
+package com.deliverytech.delivery_api.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Escuta o evento JFR jdk.VirtualThreadPinned e registra onde uma virtual thread
+ * bloqueou presa à carrier thread (synchronized ou código nativo em volta de I/O).
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String EVENTO = "jdk.VirtualThreadPinned";
+    private static final int FRAMES_NO_LOG = 12;
+
+    private final Duration limiar;
+    private final AtomicLong total = new AtomicLong();
+    private final Map<String, LongAdder> porOrigem = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(Duration limiar) {
+        this.limiar = limiar;
+    }
+
+    public synchronized void iniciar() {
+        if (stream != null) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(EVENTO).withThreshold(limiar).withStackTrace();
+        stream.onEvent(EVENTO, this::registrar);
+        stream.startAsync();
+        log.info("Monitor de pinning de virtual threads ativo (limiar {} ms)", limiar.toMillis());
+    }
+
+    public synchronized void parar() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    public long getTotal() {
+        return total.get();
+    }
+
+    // quantidade de eventos agrupada pelo primeiro frame da aplicação (ou do driver/Hibernate)
+    public Map<String, Long> getPorOrigem() {
+        return porOrigem.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().sum()));
+    }
+
+    private void registrar(RecordedEvent evento) {
+        List<RecordedFrame> frames = frames(evento.getStackTrace());
+        porOrigem.computeIfAbsent(origem(frames), k -> new LongAdder()).increment();
+        // depois da origem, para que quem vê o total já encontre o evento agrupado
+        total.incrementAndGet();
+
+        log.warn("Virtual thread presa à carrier por {} ms:\n{}",
+                evento.getDuration().toMillis(),
+                frames.stream()
+                        .limit(FRAMES_NO_LOG)
+                        .map(f -> "\tat " + descrever(f))
+                        .collect(Collectors.joining("\n")));
+    }
+
+    private static List<RecordedFrame> frames(RecordedStackTrace stackTrace) {
+        return stackTrace != null ? stackTrace.getFrames() : List.of();
+    }
+
+    private static String origem(List<RecordedFrame> frames) {
+        return frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .filter(f -> !f.getMethod().getType().getName().startsWith("java.")
+                        && !f.getMethod().getType().getName().startsWith("jdk."))
+                .findFirst()
+                .map(VirtualThreadPinningMonitor::descrever)
+                .orElse("desconhecida");
+    }
+
+    private static String descrever(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
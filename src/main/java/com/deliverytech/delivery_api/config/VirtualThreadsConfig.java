@@ -0,0 +1,27 @@
+package com.deliverytech.delivery_api.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Modo virtual threads (opt-in): spring.threads.virtual.enabled=true faz o Spring Boot
+ * usar virtual threads no Tomcat e no executor padrão (applicationTaskExecutor),
+ * que atende os métodos @Async. Com o modo ligado, o monitor de pinning também é iniciado.
+ */
+@Configuration
+@EnableAsync
+public class VirtualThreadsConfig {
+
+    @Bean(initMethod = "iniciar", destroyMethod = "parar")
+    @ConditionalOnProperty(name = {"spring.threads.virtual.enabled", "delivery.virtual-threads.pinning.enabled"},
+            havingValue = "true")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${delivery.virtual-threads.pinning.limiar:20ms}") Duration limiar) {
+        return new VirtualThreadPinningMonitor(limiar);
+    }
+}
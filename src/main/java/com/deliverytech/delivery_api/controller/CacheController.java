@@ -0,0 +1,33 @@
+package com.deliverytech.delivery_api.controller;
+
+import com.deliverytech.delivery_api.dto.response.CacheEstatisticasResponseDTO;
+import com.deliverytech.delivery_api.service.CacheService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/cache")
+@CrossOrigin(origins = "*")
+public class CacheController {
+
+    @Autowired
+    private CacheService cacheService;
+
+    @GetMapping("/estatisticas")
+    @Operation(summary = "Estatísticas dos caches",
+            description = "Taxa de acerto/falha, evicções e tempo de carga de cada cache")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Estatísticas recuperadas com sucesso")
+    })
+    public ResponseEntity<List<CacheEstatisticasResponseDTO>> estatisticas() {
+        return ResponseEntity.ok(cacheService.estatisticas());
+    }
+}
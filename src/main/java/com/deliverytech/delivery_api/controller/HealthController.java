@@ -1,5 +1,7 @@
 package com.deliverytech.delivery_api.controller;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -9,11 +11,15 @@ import java.util.Map;
 
 @RestController
 public class HealthController {
+
+    @Autowired
+    private HealthEndpoint healthEndpoint;
     
+    // status agregado do Actuator (banco, disco...); detalhes em /actuator/health
     @GetMapping("/health")
     public Map<String, String> health() {
         return Map.of(
-            "status", "UP",
+            "status", healthEndpoint.health().getStatus().getCode(),
             "timestamp", LocalDateTime.now().toString(),
             "service", "Delivery API",
             "javaVersion", System.getProperty("java.version")
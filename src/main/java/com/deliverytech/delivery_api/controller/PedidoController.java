@@ -1,34 +1,85 @@
 package com.deliverytech.delivery_api.controller;
 
+import com.deliverytech.delivery_api.config.IdempotenciaFilter;
 import com.deliverytech.delivery_api.dto.request.ItemPedidoRequestDTO;
 import com.deliverytech.delivery_api.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.request.PedidoStatusLoteRequestDTO;
+import com.deliverytech.delivery_api.dto.response.CursorPageResponseWrapper;
+import com.deliverytech.delivery_api.dto.response.PedidoExportacaoDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoRecebidoResponseDTO;
 import com.deliverytech.delivery_api.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoStatusResultadoDTO;
 import com.deliverytech.delivery_api.enums.StatusPedido;
+import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.security.SecurityUtils;
+import com.deliverytech.delivery_api.service.PedidoEventoService;
+import com.deliverytech.delivery_api.service.PedidoRecebimentoService;
 import com.deliverytech.delivery_api.service.PedidoService;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/pedidos")
 @CrossOrigin(origins = "*")
 public class PedidoController {
 
+    private static final String PREFER = "Prefer";
+
+    private static final String VISAO_COMPLETA = "full";
+    private static final String VISAO_RESUMIDA = "summary";
+
+    private static final String FORMATO_NDJSON = "ndjson";
+    private static final String FORMATO_CSV = "csv";
+    private static final MediaType MEDIA_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final String CABECALHO_CSV =
+            "id,numeroPedido,dataPedido,status,valorTotal,taxaEntrega,clienteId,clienteNome,restauranteId,restauranteNome";
+
     @Autowired
     private PedidoService pedidoService;
 
+    @Autowired
+    private PedidoRecebimentoService pedidoRecebimentoService;
+
+    @Autowired
+    private PedidoEventoService pedidoEventoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
     @Operation(summary = "Cadastrar um novo pedido", description = "Endpoint para cadastrar um novo pedido na plataforma")
+    @Parameter(in = ParameterIn.HEADER, name = IdempotenciaFilter.HEADER_CHAVE,
+            description = "Chave única da tentativa; repetições com a mesma chave recebem a primeira resposta")
     @ApiResponses({
         @ApiResponse(responseCode = "201", description = "Pedido criado com sucesso"),
         @ApiResponse(responseCode = "400", description = "Dados inválidos"),
@@ -39,30 +90,174 @@ public class PedidoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(pedidoSalvo);       
     }
 
+    // Qualquer Prefer cai aqui; sem a preferência respond-async o pedido é criado na hora, como em cadastrar
+    @PostMapping(headers = PREFER)
+    @Operation(summary = "Receber pedido para criação assíncrona",
+            description = "Com o header Prefer contendo respond-async (ex.: respond-async, wait=10), valida o pedido, "
+                    + "registra e responde 202 com o protocolo; o pedido é criado em segundo plano e o andamento fica "
+                    + "em /pedidos/recebimentos/{protocolo}. Sem respond-async, cria o pedido e responde 201")
+    @Parameter(in = ParameterIn.HEADER, name = IdempotenciaFilter.HEADER_CHAVE,
+            description = "Chave única da tentativa; repetições com a mesma chave recebem o mesmo protocolo")
+    @ApiResponses({
+        @ApiResponse(responseCode = "201", description = "Pedido criado (Prefer sem respond-async)"),
+        @ApiResponse(responseCode = "202", description = "Pedido recebido"),
+        @ApiResponse(responseCode = "400", description = "Dados inválidos")
+    })
+    public ResponseEntity<?> receber(@RequestHeader(PREFER) List<String> preferencias,
+                                     @Valid @RequestBody PedidoRequestDTO dto) {
+        if (!respondAsync(preferencias)) {
+            return cadastrar(dto);
+        }
+        PedidoRecebidoResponseDTO recebido = pedidoRecebimentoService.receber(dto);
+        return ResponseEntity.accepted()
+                .location(URI.create("/pedidos/recebimentos/" + recebido.getProtocolo()))
+                .header("Preference-Applied", "respond-async")
+                .body(recebido);
+    }
+
+    // Prefer (RFC 7240): preferências separadas por vírgula, cada uma nome[=valor] com parâmetros após ';'
+    private static boolean respondAsync(List<String> preferencias) {
+        for (String valor : preferencias) {
+            for (String preferencia : valor.split(",")) {
+                String nome = preferencia.split("[;=]", 2)[0].trim();
+                if (nome.equalsIgnoreCase("respond-async")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @GetMapping("/recebimentos/{protocolo}")
+    @Operation(summary = "Consultar pedido recebido",
+            description = "Andamento de um pedido recebido no modo assíncrono: PENDENTE, PROCESSADO (com pedidoId) ou REJEITADO (com erro)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Protocolo encontrado"),
+        @ApiResponse(responseCode = "404", description = "Protocolo não encontrado")
+    })
+    public ResponseEntity<PedidoRecebidoResponseDTO> consultarRecebimento(@PathVariable UUID protocolo) {
+        return ResponseEntity.ok(pedidoRecebimentoService.consultar(protocolo));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar pedido por ID",
             description = "Recupera os detalhes de um pedido específico pelo ID")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Pedido encontrado"),
+        @ApiResponse(responseCode = "400", description = "Visão inválida"),
         @ApiResponse(responseCode = "404", description = "Pedido não encontrado")
     })
-    public ResponseEntity<PedidoResponseDTO> buscarPorId(@PathVariable Long id) {
+    public ResponseEntity<?> buscarPorId(
+            @PathVariable Long id,
+            @Parameter(description = "full (padrão): pedido com cliente, restaurante e itens; summary: só ids e nomes")
+            @RequestParam(defaultValue = VISAO_COMPLETA) String view) {
+        if (isResumo(view)) {
+            return ResponseEntity.ok(pedidoService.buscarResumoPorId(id));
+        }
         PedidoResponseDTO pedido = pedidoService.buscarPorId(id);
         return ResponseEntity.ok(pedido);
     }
 
+    @GetMapping(value = "/{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar status do pedido (SSE)",
+            description = "Envia o status atual e cada mudança de status do pedido como evento 'status'; "
+                    + "na reconexão, o Last-Event-ID repete os eventos perdidos")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Canal aberto"),
+        @ApiResponse(responseCode = "404", description = "Pedido não encontrado")
+    })
+    public SseEmitter acompanharPedido(
+            @PathVariable Long id,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEventoId) {
+        return pedidoEventoService.assinarPedido(id, ultimoEventoId);
+    }
+
+    @GetMapping(value = "/restaurante/{restauranteId}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar pedidos do restaurante (SSE)",
+            description = "Envia cada pedido criado e cada mudança de status dos pedidos do restaurante como evento 'status'; "
+                    + "na reconexão, o Last-Event-ID repete os eventos perdidos")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Canal aberto"),
+        @ApiResponse(responseCode = "404", description = "Restaurante não encontrado")
+    })
+    public SseEmitter acompanharRestaurante(
+            @PathVariable Long restauranteId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEventoId) {
+        return pedidoEventoService.assinarRestaurante(restauranteId, ultimoEventoId);
+    }
+
     @GetMapping("/cliente/{clienteId}")
     @Operation(summary = "Listar pedidos por cliente",
-            description = "Lista todos os pedidos de um cliente específico")
+            description = "Lista os pedidos de um cliente, do mais recente para o mais antigo, paginados por cursor")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Pedidos encontrados"),
+        @ApiResponse(responseCode = "400", description = "Cursor ou visão inválidos"),
         @ApiResponse(responseCode = "404", description = "Cliente não encontrado")
     })
-    public ResponseEntity<List<PedidoResponseDTO>> listarPedidosPorCliente(@PathVariable Long clienteId) {
-        List<PedidoResponseDTO> pedidos = pedidoService.listarPedidosPorCliente(clienteId);
+    public ResponseEntity<? extends CursorPageResponseWrapper<?>> listarPedidosPorCliente(
+            @PathVariable Long clienteId,
+            @Parameter(description = "Cursor retornado em nextCursor pela página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (padrão 20, máximo 100)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "full (padrão): pedidos com cliente, restaurante e itens; summary: só ids e nomes")
+            @RequestParam(defaultValue = VISAO_COMPLETA) String view) {
+        if (isResumo(view)) {
+            return ResponseEntity.ok(pedidoService.listarResumoPorCliente(clienteId, cursor, size));
+        }
+        CursorPageResponseWrapper<PedidoResponseDTO> pedidos = pedidoService.listarPedidosPorCliente(clienteId, cursor, size);
         return ResponseEntity.ok(pedidos);
     }
 
+    @GetMapping("/exportacao")
+    @Operation(summary = "Exportar pedidos por período",
+            description = "Exporta os pedidos do período (datas inclusivas) em NDJSON ou CSV, escrevendo linha a linha")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Exportação iniciada"),
+        @ApiResponse(responseCode = "400", description = "Período ou formato inválidos"),
+        @ApiResponse(responseCode = "403", description = "Apenas administradores exportam pedidos")
+    })
+    public ResponseEntity<StreamingResponseBody> exportarPorPeriodo(
+            @Parameter(description = "Data inicial (yyyy-MM-dd)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @Parameter(description = "Data final (yyyy-MM-dd), inclusiva")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @Parameter(description = "ndjson (padrão) ou csv")
+            @RequestParam(defaultValue = FORMATO_NDJSON) String formato) {
+        // Pedidos de todos os clientes e restaurantes do período: operação administrativa
+        if (!SecurityUtils.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        // validado antes do streaming: depois do primeiro byte o status já não pode mudar
+        if (fim.isBefore(inicio)) {
+            throw new BusinessException("Período inválido: fim anterior ao inicio");
+        }
+        boolean csv = isCsv(formato);
+
+        StreamingResponseBody corpo = saida -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+            if (csv) {
+                writer.write(CABECALHO_CSV);
+                writer.write('\n');
+            }
+            pedidoService.exportarPorPeriodo(inicio, fim, pedido -> {
+                try {
+                    writer.write(csv ? linhaCsv(pedido) : objectMapper.writeValueAsString(pedido));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+
+        String arquivo = "pedidos_" + inicio + "_" + fim + "." + (csv ? FORMATO_CSV : FORMATO_NDJSON);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MEDIA_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(arquivo).build().toString())
+                .body(corpo);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Cancelar pedido",
             description = "Cancela um pedido específico pelo ID")
@@ -95,9 +290,66 @@ public class PedidoController {
         @ApiResponse(responseCode = "404", description = "Pedido não encontrado"),
         @ApiResponse(responseCode = "400", description = "Status inválido")
     })
-    public ResponseEntity<PedidoResponseDTO> atualizarStatus(@PathVariable Long id, @PathVariable StatusPedido status) {
+    public ResponseEntity<PedidoResponseDTO> atualizarStatus(@PathVariable Long id, @RequestParam StatusPedido status) {
         PedidoResponseDTO dto = pedidoService.atualizarStatusPedido(id, status);
         return ResponseEntity.ok(dto);
         }
 
+    @PatchMapping("/status")
+    @Operation(summary = "Atualizar status de vários pedidos",
+            description = "Aplica o status de destino de cada pedido da lista em uma única requisição e retorna o resultado de cada um, na ordem enviada")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Lote processado; pedidos não atualizados trazem o motivo em erro"),
+        @ApiResponse(responseCode = "400", description = "Lista vazia, com mais de 100 pedidos ou com dados inválidos")
+    })
+    public ResponseEntity<List<PedidoStatusResultadoDTO>> atualizarStatusEmLote(@Valid @RequestBody PedidoStatusLoteRequestDTO dto) {
+        return ResponseEntity.ok(pedidoService.atualizarStatusEmLote(dto.getPedidos()));
+    }
+
+    private boolean isCsv(String formato) {
+        if (FORMATO_CSV.equalsIgnoreCase(formato)) {
+            return true;
+        }
+        if (FORMATO_NDJSON.equalsIgnoreCase(formato)) {
+            return false;
+        }
+        throw new BusinessException("Formato inválido: " + formato + " (use ndjson ou csv)");
+    }
+
+    private static String linhaCsv(PedidoExportacaoDTO pedido) {
+        return String.join(",",
+                campoCsv(pedido.getId()),
+                campoCsv(pedido.getNumeroPedido()),
+                campoCsv(pedido.getDataPedido()),
+                campoCsv(pedido.getStatus()),
+                campoCsv(pedido.getValorTotal()),
+                campoCsv(pedido.getTaxaEntrega()),
+                campoCsv(pedido.getClienteId()),
+                campoCsv(pedido.getClienteNome()),
+                campoCsv(pedido.getRestauranteId()),
+                campoCsv(pedido.getRestauranteNome()));
+    }
+
+    // RFC 4180: aspas quando houver separador, aspas ou quebra de linha
+    private static String campoCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (texto.contains(",") || texto.contains("\"") || texto.contains("\n") || texto.contains("\r")) {
+            return "\"" + texto.replace("\"", "\"\"") + "\"";
+        }
+        return texto;
+    }
+
+    private boolean isResumo(String view) {
+        if (VISAO_RESUMIDA.equalsIgnoreCase(view)) {
+            return true;
+        }
+        if (VISAO_COMPLETA.equalsIgnoreCase(view)) {
+            return false;
+        }
+        throw new BusinessException("Visão inválida: " + view + " (use full ou summary)");
+    }
+
 }
\ No newline at end of file
@@ -2,15 +2,20 @@ package com.deliverytech.delivery_api.controller;
 
 import com.deliverytech.delivery_api.dto.request.ProdutoRequestDTO;
 import com.deliverytech.delivery_api.dto.response.ProdutoResponseDTO;
+import com.deliverytech.delivery_api.service.CardapioService;
 import com.deliverytech.delivery_api.service.ProdutoService;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -24,6 +29,9 @@ public class ProdutoController {
     @Autowired
     private ProdutoService produtoService;
 
+    @Autowired
+    private CardapioService cardapioService;
+
     @PostMapping
     @Operation(summary = "Cadastrar um novo produto", description = "Endpoint para cadastrar um novo produto no sistema.")
     @ApiResponses({
@@ -88,14 +96,45 @@ public class ProdutoController {
 
     @GetMapping("/restaurante/{restauranteId}")
     @Operation(summary = "Buscar produtos por restaurante",
-            description = "Lista todos os produtos de um restaurante específico pelo ID")
+            description = "Cardápio (produtos disponíveis) de um restaurante, servido da memória com ETag; "
+                    + "envie If-None-Match para receber 304 quando não houver mudança")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Produtos encontrados"),
+            @ApiResponse(responseCode = "200", description = "Produtos encontrados",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ProdutoResponseDTO.class)))),
+            @ApiResponse(responseCode = "304", description = "Cardápio não mudou desde o ETag informado (ou If-None-Match: *)"),
             @ApiResponse(responseCode = "404", description = "Restaurante não encontrado")
     })
-    public ResponseEntity<List<ProdutoResponseDTO>> buscarPorRestaurante(@PathVariable Long restauranteId) {
-        List<ProdutoResponseDTO> produtos = produtoService.buscarPorRestaurante(restauranteId);
-        return ResponseEntity.ok(produtos);
+    public ResponseEntity<byte[]> buscarPorRestaurante(@PathVariable Long restauranteId,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        CardapioService.CardapioSnapshot cardapio = cardapioService.buscarCardapio(restauranteId);
+        if (correspondeAoEtag(ifNoneMatch, cardapio.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(cardapio.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(cardapio.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(cardapio.json());
+    }
+
+    // If-None-Match (RFC 9110, 13.1.2): "*" corresponde a qualquer representação atual; senão é uma lista
+    // de ETags comparados na forma fraca (W/"..." equivale a "..."). Em GET a correspondência vira 304.
+    private static boolean correspondeAoEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.equals("*")) {
+                return true;
+            }
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @GetMapping("/categoria/{categoria}")
@@ -1,9 +1,10 @@
 package com.deliverytech.delivery_api.controller;
 
 import com.deliverytech.delivery_api.dto.request.RestauranteRequestDTO;
-import com.deliverytech.delivery_api.dto.response.ApiResponseWrapper;
+import com.deliverytech.delivery_api.dto.response.PagedResponseWrapper;
 import com.deliverytech.delivery_api.dto.response.RestauranteResponseDTO;
 import com.deliverytech.delivery_api.projection.RelatorioVendas;
+import com.deliverytech.delivery_api.security.SecurityUtils;
 import com.deliverytech.delivery_api.service.RestauranteService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,6 +15,8 @@ import jakarta.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -43,19 +46,18 @@ public class RestauranteController {
     }
 
     @GetMapping
-    @Operation(summary = "Listar pedidos",
-            description = "Lista pedidos com filtros opcionais e paginação")
+    @Operation(summary = "Listar restaurantes ativos",
+            description = "Lista restaurantes ativos paginados e ordenados (page, size até 100, sort por nome, categoria, avaliacao, taxaEntrega ou id)")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Lista recuperada com sucesso")
     })
-    public ResponseEntity<ApiResponseWrapper<List<RestauranteResponseDTO>>> listarTodos(
-            @RequestParam(required = false)
-            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+    public ResponseEntity<PagedResponseWrapper<RestauranteResponseDTO>> listarTodos(
+            @Parameter(description = "Se false, não calcula o total (sem COUNT); totalElements e totalPages vêm nulos")
+            @RequestParam(defaultValue = "true") boolean total,
             @Parameter(description = "Parâmetros de paginação")
-            Pageable pageable) {
-        List<RestauranteResponseDTO> restaurantes = restauranteService.listarAtivos();
-        ApiResponseWrapper<List<RestauranteResponseDTO>> response = new ApiResponseWrapper<>(true, restaurantes, "Busca Realizada com sucesso");
-        return ResponseEntity.ok(response);
+            @PageableDefault(size = 20, sort = "nome") Pageable pageable) {
+        Slice<RestauranteResponseDTO> restaurantes = restauranteService.listarAtivos(pageable, total);
+        return ResponseEntity.ok(new PagedResponseWrapper<>(restaurantes, "/restaurantes"));
     }
 
     @GetMapping("/{id}")
@@ -170,14 +172,34 @@ public class RestauranteController {
 
     @GetMapping("/relatorio-vendas")
     @Operation(summary = "Gerar relatório de vendas por restaurante",
-            description = "Gera um relatório de vendas agrupado por restaurante")
+            description = "Gera um relatório de vendas agrupado por restaurante, opcionalmente em um período (pedidos cancelados não entram)")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Relatório de vendas gerado com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Período inválido"),
             @ApiResponse(responseCode = "404", description = "Nenhum dado de vendas encontrado")
     })
-    public ResponseEntity<List<RelatorioVendas>> relatorioVendasPorRestaurante() {
-        List<RelatorioVendas> relatorio = restauranteService.relatorioVendasPorRestaurante();
+    public ResponseEntity<List<RelatorioVendas>> relatorioVendasPorRestaurante(
+            @Parameter(description = "Data inicial (inclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @Parameter(description = "Data final (inclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        List<RelatorioVendas> relatorio = restauranteService.relatorioVendasPorRestaurante(inicio, fim);
         return ResponseEntity.ok(relatorio);
     }
 
+    @PostMapping("/relatorio-vendas/reconstruir")
+    @Operation(summary = "Reconstruir consolidado de vendas",
+            description = "Recalcula o consolidado diário de vendas a partir de todos os pedidos (carga inicial ou correção)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Consolidado reconstruído; retorna a quantidade de linhas geradas"),
+            @ApiResponse(responseCode = "403", description = "Apenas administradores")
+    })
+    public ResponseEntity<Integer> reconstruirRelatorioVendas() {
+        // Varre todos os pedidos e reescreve vendas_diarias: operação administrativa
+        if (!SecurityUtils.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(restauranteService.reconstruirRelatorioVendas());
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.deliverytech.delivery_api.dto.request;
+
+import com.deliverytech.delivery_api.enums.StatusPedido;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "DTO para o status de destino de um pedido na atualização em lote",
+        title = "Pedido Status Item Request DTO")
+public class PedidoStatusItemRequestDTO {
+
+    @Schema(description = "ID do pedido", example = "1", required = true)
+    @NotNull(message = "O pedido é obrigatório")
+    @Positive(message = "Pedido ID deve ser positivo")
+    private Long pedidoId;
+
+    @Schema(description = "Novo status do pedido", example = "PREPARANDO", required = true)
+    @NotNull(message = "O status é obrigatório")
+    private StatusPedido status;
+
+}
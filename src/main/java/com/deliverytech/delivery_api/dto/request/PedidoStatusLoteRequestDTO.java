@@ -0,0 +1,22 @@
+package com.deliverytech.delivery_api.dto.request;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+@Schema(description = "DTO para atualização de status de vários pedidos em uma requisição",
+        title = "Pedido Status Lote Request DTO")
+public class PedidoStatusLoteRequestDTO {
+
+    @Schema(description = "Pedidos e o status de destino de cada um", required = true)
+    @NotEmpty(message = "Os pedidos são obrigatórios")
+    @Size(max = 100, message = "No máximo 100 pedidos por requisição")
+    @Valid
+    private List<PedidoStatusItemRequestDTO> pedidos;
+
+}
@@ -0,0 +1,21 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheEstatisticasResponseDTO {
+    private String nome;
+    private long tamanho;
+    private long acertos;
+    private long falhas;
+    private double taxaAcerto;
+    private double taxaFalha;
+    private long evicoes;
+    private long cargas;
+    private double tempoMedioCargaMs;
+    private double tempoTotalCargaMs;
+}
@@ -0,0 +1,29 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(
+    description = "Wrapper para respostas paginadas por cursor (keyset)",
+    title = "Cursor Page Response Wrapper")
+public class CursorPageResponseWrapper<T> {
+
+    @Schema(description = "Itens da página")
+    private List<T> content;
+
+    @Schema(description = "Tamanho da página", example = "20")
+    private int size;
+
+    @Schema(description = "Cursor opaco para a próxima página (nulo na última)", example = "MjAyNS0xMC0zMFQxMjowMDo0MnwxNTA")
+    private String nextCursor;
+
+    @Schema(description = "Indica se existe próxima página", example = "true")
+    private boolean hasNext;
+}
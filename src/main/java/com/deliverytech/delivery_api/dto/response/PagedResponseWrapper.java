@@ -2,6 +2,7 @@ package com.deliverytech.delivery_api.dto.response;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -20,16 +21,22 @@ public class PagedResponseWrapper<T> {
     private PageLinks links;
 
     public PagedResponseWrapper(Page<T> page) {
-        this.content = page.getContent();
+        this(page, "/api");
+    }
+
+    // Aceita Page (com total) ou Slice (sem COUNT: totalElements e totalPages ficam nulos)
+    public PagedResponseWrapper(Slice<T> slice, String baseUrl) {
+        this.content = slice.getContent();
+        Page<T> page = slice instanceof Page<T> p ? p : null;
         this.page = new PageInfo(
-                page.getNumber(),
-                page.getSize(),
-                page.getTotalElements(),
-                page.getTotalPages(),
-                page.isFirst(),
-                page.isLast()
+                slice.getNumber(),
+                slice.getSize(),
+                page != null ? page.getTotalElements() : null,
+                page != null ? page.getTotalPages() : null,
+                slice.isFirst(),
+                slice.isLast()
         );
-        this.links = new PageLinks(page);
+        this.links = new PageLinks(slice, page, baseUrl);
     }
 
     @Schema(description = "Informações de paginação")
@@ -40,11 +47,11 @@ public class PagedResponseWrapper<T> {
         @Schema(description = "Tamanho da página", example = "10")
         private int size;
 
-        @Schema(description = "Total de elementos", example = "50")
-        private long totalElements;
+        @Schema(description = "Total de elementos (nulo quando consultado sem total)", example = "50")
+        private Long totalElements;
 
-        @Schema(description = "Total de páginas", example = "5")
-        private int totalPages;
+        @Schema(description = "Total de páginas (nulo quando consultado sem total)", example = "5")
+        private Integer totalPages;
 
         @Schema(description = "É a primeira página", example = "true")
         private boolean first;
@@ -52,7 +59,7 @@ public class PagedResponseWrapper<T> {
         @Schema(description = "É a última página", example = "false")
         private boolean last;
 
-        public PageInfo(int number, int size, long totalElements, int totalPages,
+        public PageInfo(int number, int size, Long totalElements, Integer totalPages,
                         boolean first, boolean last) {
             this.number = number;
             this.size = size;
@@ -64,8 +71,8 @@ public class PagedResponseWrapper<T> {
         // Getters
         public int getNumber() { return number; }
         public int getSize() { return size; }
-        public long getTotalElements() { return totalElements; }
-        public int getTotalPages() { return totalPages; }
+        public Long getTotalElements() { return totalElements; }
+        public Integer getTotalPages() { return totalPages; }
         public boolean isFirst() { return first; }
         public boolean isLast() { return last; }
     }
@@ -84,17 +91,18 @@ public class PagedResponseWrapper<T> {
         @Schema(description = "Link para página anterior")
         private String prev;
 
-        public PageLinks(Page<?> page) {
-            String baseUrl = "/api";
-            this.first = baseUrl + "?page=0&size=" + page.getSize();
-            this.last = baseUrl + "?page=" + (page.getTotalPages() - 1) + "&size=" + page.getSize();
+        public PageLinks(Slice<?> slice, Page<?> page, String baseUrl) {
+            this.first = baseUrl + "?page=0&size=" + slice.getSize();
+            if (page != null) {
+                this.last = baseUrl + "?page=" + Math.max(page.getTotalPages() - 1, 0) + "&size=" + slice.getSize();
+            }
 
-            if (page.hasNext()) {
-                this.next = baseUrl + "?page=" + (page.getNumber() + 1) + "&size=" + page.getSize();
+            if (slice.hasNext()) {
+                this.next = baseUrl + "?page=" + (slice.getNumber() + 1) + "&size=" + slice.getSize();
             }
 
-            if (page.hasPrevious()) {
-                this.prev = baseUrl + "?page=" + (page.getNumber() - 1) + "&size=" + page.getSize();
+            if (slice.hasPrevious()) {
+                this.prev = baseUrl + "?page=" + (slice.getNumber() - 1) + "&size=" + slice.getSize();
             }
         }
 
@@ -0,0 +1,34 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+/**
+ * Linha da exportação de pedidos por período (NDJSON ou CSV).
+ */
+@Data
+public class PedidoExportacaoDTO {
+
+    private Long id;
+
+    private String numeroPedido;
+
+    private LocalDateTime dataPedido;
+
+    private String status;
+
+    private BigDecimal valorTotal;
+
+    private BigDecimal taxaEntrega;
+
+    private Long clienteId;
+
+    private String clienteNome;
+
+    private Long restauranteId;
+
+    private String restauranteNome;
+
+}
@@ -0,0 +1,32 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.deliverytech.delivery_api.enums.StatusRecebimento;
+
+import lombok.Data;
+
+/**
+ * Andamento de um pedido recebido no modo assíncrono. Quando PROCESSADO,
+ * pedidoId aponta para o pedido criado; quando REJEITADO, erro traz o motivo.
+ * Enquanto PENDENTE após falhas transitórias, erro traz a última falha.
+ */
+@Data
+public class PedidoRecebidoResponseDTO {
+
+    private UUID protocolo;
+
+    private StatusRecebimento status;
+
+    private Long pedidoId;
+
+    private String erro;
+
+    private int tentativas;
+
+    private LocalDateTime dataRecebimento;
+
+    private LocalDateTime dataProcessamento;
+
+}
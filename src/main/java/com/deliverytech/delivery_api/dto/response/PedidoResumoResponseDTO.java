@@ -0,0 +1,41 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.deliverytech.delivery_api.enums.StatusPedido;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Visão compacta do pedido (?view=summary): só ids e nomes de cliente e restaurante,
+ * sem as entidades completas nem os itens. Montada direto pela query (PedidoRepository).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PedidoResumoResponseDTO {
+
+    private Long id;
+
+    private String numeroPedido;
+
+    private LocalDateTime dataPedido;
+
+    private StatusPedido status;
+
+    private BigDecimal valorTotal;
+
+    private Long clienteId;
+
+    private String clienteNome;
+
+    private Long restauranteId;
+
+    private String restauranteNome;
+
+    private Integer quantidadeItens;
+
+}
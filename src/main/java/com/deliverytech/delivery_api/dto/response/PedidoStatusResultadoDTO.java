@@ -0,0 +1,24 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import com.deliverytech.delivery_api.enums.StatusPedido;
+
+import lombok.Data;
+
+/**
+ * Resultado de um pedido na atualização de status em lote. Quando atualizado é falso,
+ * erro traz o motivo e o pedido continua em statusAnterior (nulo se não foi encontrado).
+ */
+@Data
+public class PedidoStatusResultadoDTO {
+
+    private Long pedidoId;
+
+    private StatusPedido statusAnterior;
+
+    private StatusPedido status;
+
+    private boolean atualizado;
+
+    private String erro;
+
+}
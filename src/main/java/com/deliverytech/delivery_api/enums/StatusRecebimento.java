@@ -0,0 +1,17 @@
+package com.deliverytech.delivery_api.enums;
+
+public enum StatusRecebimento {
+    PENDENTE("Aguardando processamento"),
+    PROCESSADO("Pedido criado"),
+    REJEITADO("Pedido rejeitado");
+
+    private final String descricao;
+
+    StatusRecebimento(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+}
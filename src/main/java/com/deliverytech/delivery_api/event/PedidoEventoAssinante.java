@@ -0,0 +1,15 @@
+package com.deliverytech.delivery_api.event;
+
+/**
+ * Consumidor em processo dos eventos de pedido entregues pelo relay do outbox.
+ *
+ * A entrega é at-least-once: depois de uma falha (deste ou de outro assinante) o evento
+ * é entregue de novo, então o processamento deve tolerar repetições pelo eventoId.
+ * Os eventos de um mesmo pedido chegam na ordem em que foram gravados; uma exceção
+ * segura os eventos seguintes daquele pedido até a nova tentativa.
+ */
+public interface PedidoEventoAssinante {
+
+    void receber(long eventoId, PedidoStatusAlteradoEvent evento);
+
+}
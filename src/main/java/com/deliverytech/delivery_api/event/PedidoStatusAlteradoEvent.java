@@ -0,0 +1,29 @@
+package com.deliverytech.delivery_api.event;
+
+import java.time.LocalDateTime;
+
+import com.deliverytech.delivery_api.enums.StatusPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+
+/**
+ * Publicado pelo PedidoService a cada pedido criado (statusAnterior nulo) ou mudança de status,
+ * dentro da transação: o PedidoOutboxServiceImpl grava o evento no outbox e o relay o entrega
+ * aos PedidoEventoAssinante depois do commit.
+ */
+public record PedidoStatusAlteradoEvent(
+        Long pedidoId,
+        String numeroPedido,
+        Long clienteId,
+        Long restauranteId,
+        String statusAnterior,
+        String status,
+        LocalDateTime dataHora) {
+
+    public static PedidoStatusAlteradoEvent de(Pedido pedido, StatusPedido statusAnterior) {
+        return new PedidoStatusAlteradoEvent(pedido.getId(), pedido.getNumeroPedido(),
+                pedido.getCliente() != null ? pedido.getCliente().getId() : null,
+                pedido.getRestaurante() != null ? pedido.getRestaurante().getId() : null,
+                statusAnterior != null ? statusAnterior.name() : null,
+                pedido.getStatus() != null ? pedido.getStatus().name() : null, LocalDateTime.now());
+    }
+}
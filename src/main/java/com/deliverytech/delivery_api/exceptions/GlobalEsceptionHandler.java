@@ -1,6 +1,8 @@
 package com.deliverytech.delivery_api.exceptions;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -54,6 +56,27 @@ public class GlobalEsceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    // Clientes SSE (EventSource) só aceitam text/event-stream: responde só o status, sem corpo JSON
+    @ExceptionHandler(exception = EntityNotFoundException.class, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Void> handleEntityNotFoundExceptionEventStream(EntityNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    }
+
+    @ExceptionHandler(BusinessException.class)
+    public ResponseEntity<ErrorResponseDTO> handleBusinessException(
+            BusinessException ex, WebRequest request) {
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+            HttpStatus.BAD_REQUEST.value(),
+            "Erro de regra de negócio",
+            ex.getMessage(),
+            request.getDescription(false).replace("uri=", "")
+        );
+        errorResponse.setErrorCode(ex.getErrorCode() != null ? ex.getErrorCode() : "BUSINESS_ERROR");
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(ConflictException.class)
     public ResponseEntity<ErrorResponseDTO> handleConflictException(
             ConflictException ex, WebRequest request) {
@@ -75,6 +98,22 @@ public class GlobalEsceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    // @Version do Pedido: outra requisição gravou a mesma entidade entre a leitura e o UPDATE
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDTO> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex, WebRequest request) {
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+            HttpStatus.CONFLICT.value(),
+            "Conflito de dados",
+            "Registro alterado por outra requisição, tente novamente",
+            request.getDescription(false).replace("uri=", "")
+        );
+        errorResponse.setErrorCode("CONFLICT");
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponseDTO> handleGenericException(
             Exception ex, WebRequest request) {
@@ -0,0 +1,18 @@
+package com.deliverytech.delivery_api.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import com.deliverytech.delivery_api.dto.request.ClienteRequestDTO;
+import com.deliverytech.delivery_api.dto.response.ClienteResponseDTO;
+import com.deliverytech.delivery_api.model.Cliente;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface ClienteMapper {
+
+    @Mapping(target = "ativo", expression = "java(cliente.isAtivo())")
+    ClienteResponseDTO toResponseDTO(Cliente cliente);
+
+    Cliente toEntity(ClienteRequestDTO dto);
+}
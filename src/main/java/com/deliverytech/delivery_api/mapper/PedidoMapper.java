@@ -0,0 +1,26 @@
+package com.deliverytech.delivery_api.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoExportacaoDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery_api.model.ItemPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface PedidoMapper {
+
+    PedidoResponseDTO toResponseDTO(Pedido pedido);
+
+    @Mapping(target = "clienteId", source = "cliente.id")
+    @Mapping(target = "clienteNome", source = "cliente.nome")
+    @Mapping(target = "restauranteId", source = "restaurante.id")
+    @Mapping(target = "restauranteNome", source = "restaurante.nome")
+    PedidoExportacaoDTO toExportacaoDTO(Pedido pedido);
+
+    @Mapping(target = "produtoId", source = "produto.id")
+    ItemPedidoRequestDTO toItemDTO(ItemPedido item);
+}
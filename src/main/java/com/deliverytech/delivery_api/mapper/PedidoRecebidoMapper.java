@@ -0,0 +1,13 @@
+package com.deliverytech.delivery_api.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+import com.deliverytech.delivery_api.dto.response.PedidoRecebidoResponseDTO;
+import com.deliverytech.delivery_api.model.PedidoRecebido;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface PedidoRecebidoMapper {
+
+    PedidoRecebidoResponseDTO toResponseDTO(PedidoRecebido pedidoRecebido);
+}
@@ -0,0 +1,20 @@
+package com.deliverytech.delivery_api.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import com.deliverytech.delivery_api.dto.request.ProdutoRequestDTO;
+import com.deliverytech.delivery_api.dto.response.ProdutoResponseDTO;
+import com.deliverytech.delivery_api.model.Produto;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface ProdutoMapper {
+
+    @Mapping(target = "ativo", expression = "java(produto.isAtivo())")
+    ProdutoResponseDTO toResponseDTO(Produto produto);
+
+    // restaurante é resolvido pelo service a partir do restauranteId
+    @Mapping(target = "restaurante", ignore = true)
+    Produto toEntity(ProdutoRequestDTO dto);
+}
@@ -0,0 +1,19 @@
+package com.deliverytech.delivery_api.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import com.deliverytech.delivery_api.dto.request.RestauranteRequestDTO;
+import com.deliverytech.delivery_api.dto.response.RestauranteResponseDTO;
+import com.deliverytech.delivery_api.model.Restaurante;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface RestauranteMapper {
+
+    @Mapping(target = "ativo", expression = "java(restaurante.getAtivo())")
+    RestauranteResponseDTO toResponseDTO(Restaurante restaurante);
+
+    @Mapping(target = "ativo", expression = "java(dto.getAtivo())")
+    Restaurante toEntity(RestauranteRequestDTO dto);
+}
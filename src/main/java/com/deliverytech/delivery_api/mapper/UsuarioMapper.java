@@ -0,0 +1,15 @@
+package com.deliverytech.delivery_api.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import com.deliverytech.delivery_api.dto.response.UsuarioResponseDTO;
+import com.deliverytech.delivery_api.model.Usuario;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface UsuarioMapper {
+
+    @Mapping(target = "ativo", expression = "java(usuario.getAtivo())")
+    UsuarioResponseDTO toResponseDTO(Usuario usuario);
+}
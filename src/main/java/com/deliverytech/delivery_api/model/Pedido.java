@@ -4,6 +4,8 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import com.deliverytech.delivery_api.enums.StatusPedido;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -13,10 +15,15 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "pedidos")
+@Table(name = "pedidos", indexes = {
+    // suporta a paginação por cursor do histórico do cliente
+    @Index(name = "idx_pedidos_cliente_data_id", columnList = "cliente_id, data_pedido DESC, id DESC")
+})
 public class Pedido {
+    // Sequence pooled (tabela no MySQL) para permitir batch de inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedidos_seq")
+    @SequenceGenerator(name = "pedidos_seq", sequenceName = "pedidos_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "numero_pedido")
@@ -25,7 +32,14 @@ public class Pedido {
     @Column(name = "data_pedido")
     private LocalDateTime dataPedido;
 
-    private String status;
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private StatusPedido status;
+
+    // Controle otimista: incrementada a cada alteração, inclusive no UPDATE condicional de status
+    @Version
+    @Column(nullable = false)
+    private Long versao;
 
     @Column(name = "valor_total")
     private BigDecimal valorTotal;
@@ -0,0 +1,67 @@
+package com.deliverytech.delivery_api.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outbox de eventos de pedido: gravado na mesma transação que altera o pedido e
+ * entregue aos assinantes pelo relay. dataPublicacao nula indica evento pendente;
+ * dataDescarte preenchida, evento que esgotou as tentativas e não será mais entregue.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "pedidos_outbox", indexes = {
+    // pendentes em ordem de gravação
+    @Index(name = "idx_pedidos_outbox_publicacao_id", columnList = "data_publicacao, id"),
+    // eventos anteriores do mesmo pedido ainda em espera (ver PedidoOutboxRepository.findPendentesApos)
+    @Index(name = "idx_pedidos_outbox_pedido_id", columnList = "pedido_id, id")
+})
+public class PedidoOutbox {
+
+    @Id
+    // IDENTITY: o id é alocado no insert, já com o lock do pedido (ver PedidoOutboxServiceImpl),
+    // e a ordem dos ids é a ordem dos eventos de cada pedido mesmo com várias instâncias
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "pedido_id", nullable = false)
+    private Long pedidoId;
+
+    @Column(name = "numero_pedido")
+    private String numeroPedido;
+
+    @Column(name = "cliente_id")
+    private Long clienteId;
+
+    @Column(name = "restaurante_id")
+    private Long restauranteId;
+
+    @Column(name = "status_anterior", length = 20)
+    private String statusAnterior;
+
+    @Column(length = 20)
+    private String status;
+
+    @Column(name = "data_evento", nullable = false)
+    private LocalDateTime dataEvento;
+
+    @Column(name = "data_publicacao")
+    private LocalDateTime dataPublicacao;
+
+    // esgotou delivery.pedidos.outbox.maximo-tentativas: fica na tabela para análise
+    @Column(name = "data_descarte")
+    private LocalDateTime dataDescarte;
+
+    private int tentativas;
+
+    // após uma falha o evento (e os seguintes do pedido) só volta a ser lido a partir daqui
+    @Column(name = "proxima_tentativa")
+    private LocalDateTime proximaTentativa;
+
+    @Column(length = 500)
+    private String erro;
+}
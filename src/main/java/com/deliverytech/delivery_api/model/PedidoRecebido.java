@@ -0,0 +1,61 @@
+package com.deliverytech.delivery_api.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.deliverytech.delivery_api.enums.StatusRecebimento;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pedido recebido no modo assíncrono (202), ainda como o JSON enviado pelo cliente.
+ * A linha é gravada antes da resposta, então nada se perde se a fila em memória
+ * estiver cheia ou a aplicação reiniciar: os PENDENTES são retomados pelos workers.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "pedidos_recebidos", indexes = {
+    @Index(name = "idx_pedidos_recebidos_status_data", columnList = "status, data_recebimento"),
+    @Index(name = "idx_pedidos_recebidos_lote", columnList = "lote")
+})
+public class PedidoRecebido {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID protocolo;
+
+    // PedidoRequestDTO serializado
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatusRecebimento status;
+
+    // lote do worker que reservou a linha
+    @Column(length = 36)
+    private String lote;
+
+    @Column(name = "pedido_id")
+    private Long pedidoId;
+
+    @Column(length = 500)
+    private String erro;
+
+    // falhas transitórias (ex.: banco indisponível); o protocolo segue PENDENTE até proximaTentativa
+    @Column(nullable = false)
+    private int tentativas;
+
+    @Column(name = "proxima_tentativa")
+    private LocalDateTime proximaTentativa;
+
+    @Column(name = "data_recebimento")
+    private LocalDateTime dataRecebimento;
+
+    @Column(name = "data_processamento")
+    private LocalDateTime dataProcessamento;
+}
@@ -0,0 +1,32 @@
+package com.deliverytech.delivery_api.model;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Consolidado de vendas por restaurante e dia, mantido a cada pedido criado,
+ * cancelado ou entregue. Pedidos cancelados não entram no total.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "vendas_diarias")
+public class VendaDiaria {
+
+    @EmbeddedId
+    private VendaDiariaId id;
+
+    @Column(name = "total_vendas", nullable = false)
+    private BigDecimal totalVendas;
+
+    @Column(name = "quantidade_pedidos", nullable = false)
+    private Long quantidadePedidos;
+
+    @Column(name = "quantidade_entregues", nullable = false)
+    private Long quantidadeEntregues;
+}
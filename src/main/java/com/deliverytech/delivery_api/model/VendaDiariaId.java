@@ -0,0 +1,23 @@
+package com.deliverytech.delivery_api.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VendaDiariaId implements Serializable {
+
+    @Column(name = "restaurante_id")
+    private Long restauranteId;
+
+    @Column(name = "data")
+    private LocalDate data;
+}
@@ -0,0 +1,18 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.model.Pedido;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Consulta da exportação de pedidos, com fetch size vindo da configuração
+ * (delivery.exportacao.fetch-size), que não cabe num @QueryHints. Implementada em
+ * PedidoExportacaoRepositoryImpl e exposta por PedidoRepository.
+ */
+public interface PedidoExportacaoRepository {
+
+    // Pedidos do período [inicio, fim) em ordem, lidos do banco à medida que o Stream é consumido.
+    // Quem consome deve fechar o Stream e limpar o contexto de persistência periodicamente.
+    Stream<Pedido> streamPorPeriodo(LocalDateTime inicio, LocalDateTime fim);
+}
@@ -0,0 +1,32 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.model.Pedido;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+public class PedidoExportacaoRepositoryImpl implements PedidoExportacaoRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Só esta consulta usa o fetch size: no MySQL, Integer.MIN_VALUE faz o Connector/J ler linha a linha
+    // sem useCursorFetch na URL, que deixaria todas as consultas da aplicação com cursor no servidor
+    @Value("${delivery.exportacao.fetch-size:500}")
+    private int fetchSize;
+
+    @Override
+    public Stream<Pedido> streamPorPeriodo(LocalDateTime inicio, LocalDateTime fim) {
+        return entityManager.createQuery("SELECT p FROM Pedido p LEFT JOIN FETCH p.cliente LEFT JOIN FETCH p.restaurante "
+                        + "WHERE p.dataPedido >= :inicio AND p.dataPedido < :fim ORDER BY p.dataPedido, p.id", Pedido.class)
+                .setParameter("inicio", inicio)
+                .setParameter("fim", fim)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
@@ -0,0 +1,46 @@
+package com.deliverytech.delivery_api.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.deliverytech.delivery_api.model.PedidoOutbox;
+
+@Repository
+public interface PedidoOutboxRepository extends JpaRepository<PedidoOutbox, Long> {
+
+    // Pendentes prontos para entrega: fora os que esperam a próxima tentativa e, para manter a
+    // ordem por pedido, os que vêm depois de um evento do mesmo pedido ainda em espera
+    @Query("SELECT o FROM PedidoOutbox o WHERE o.dataPublicacao IS NULL AND o.dataDescarte IS NULL "
+            + "AND o.id > :apos AND NOT EXISTS (SELECT a.id FROM PedidoOutbox a WHERE a.pedidoId = o.pedidoId "
+            + "AND a.id <= o.id AND a.dataPublicacao IS NULL AND a.dataDescarte IS NULL AND a.proximaTentativa > :agora) "
+            + "ORDER BY o.id")
+    List<PedidoOutbox> findPendentesApos(@Param("apos") Long apos, @Param("agora") LocalDateTime agora, Limit limit);
+
+    // dataEvento do pendente mais antigo, inclusive os que esperam a próxima tentativa
+    @Query("SELECT o.dataEvento FROM PedidoOutbox o WHERE o.dataPublicacao IS NULL AND o.dataDescarte IS NULL "
+            + "ORDER BY o.id")
+    List<LocalDateTime> findDataEventoPendentes(Limit limit);
+
+    @Modifying
+    @Query("UPDATE PedidoOutbox o SET o.dataPublicacao = :data WHERE o.id IN :ids")
+    int marcarPublicados(@Param("ids") Collection<Long> ids, @Param("data") LocalDateTime data);
+
+    @Modifying
+    @Query("UPDATE PedidoOutbox o SET o.tentativas = :tentativas, o.erro = :erro, o.dataDescarte = :dataDescarte, "
+            + "o.proximaTentativa = :proximaTentativa WHERE o.id = :id")
+    int registrarFalha(@Param("id") Long id, @Param("tentativas") int tentativas, @Param("erro") String erro,
+                       @Param("dataDescarte") LocalDateTime dataDescarte,
+                       @Param("proximaTentativa") LocalDateTime proximaTentativa);
+
+    @Modifying
+    @Query("DELETE FROM PedidoOutbox o WHERE o.dataPublicacao < :limite")
+    int removerPublicadosAntesDe(@Param("limite") LocalDateTime limite);
+}
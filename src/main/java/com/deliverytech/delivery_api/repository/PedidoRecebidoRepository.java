@@ -0,0 +1,38 @@
+package com.deliverytech.delivery_api.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.deliverytech.delivery_api.enums.StatusRecebimento;
+import com.deliverytech.delivery_api.model.PedidoRecebido;
+
+@Repository
+public interface PedidoRecebidoRepository extends JpaRepository<PedidoRecebido, UUID> {
+
+    // Reserva para o lote os protocolos ainda pendentes e fora da espera de retentativa. O lock
+    // de linha do UPDATE impede que dois workers processem o mesmo protocolo até o commit do lote.
+    @Modifying
+    @Query("UPDATE PedidoRecebido r SET r.lote = :lote WHERE r.protocolo IN :protocolos AND r.status = :status "
+            + "AND (r.proximaTentativa IS NULL OR r.proximaTentativa <= :agora)")
+    int reservar(@Param("protocolos") Collection<UUID> protocolos, @Param("lote") String lote,
+                 @Param("status") StatusRecebimento status, @Param("agora") LocalDateTime agora);
+
+    List<PedidoRecebido> findByLoteOrderByDataRecebimento(String lote);
+
+    @Query("SELECT r.protocolo FROM PedidoRecebido r WHERE r.status = :status "
+            + "AND (r.proximaTentativa IS NULL OR r.proximaTentativa <= :agora) ORDER BY r.dataRecebimento")
+    List<UUID> findProtocolosProntos(@Param("status") StatusRecebimento status, @Param("agora") LocalDateTime agora,
+                                     Limit limit);
+
+    // Há protocolos aguardando retentativa: o worker continua relendo a tabela
+    boolean existsByStatusAndProximaTentativaAfter(StatusRecebimento status, LocalDateTime agora);
+}
@@ -1,21 +1,105 @@
 package com.deliverytech.delivery_api.repository;
 
+import com.deliverytech.delivery_api.dto.response.PedidoResumoResponseDTO;
 import com.deliverytech.delivery_api.enums.StatusPedido;
 import com.deliverytech.delivery_api.model.Pedido;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface PedidoRepository extends JpaRepository<Pedido, Long> {
+public interface PedidoRepository extends JpaRepository<Pedido, Long>, PedidoExportacaoRepository {
     // Pedidos por cliente ID
     List<Pedido> findByClienteIdOrderByDataPedidoDesc(Long clienteId);
 
-    // Pedidos por cliente
+    // Pedidos por cliente (itens carregados depois com carregarItens)
+    @EntityGraph(attributePaths = {"cliente", "restaurante"})
     List<Pedido> findByClienteId(Long clienteId);
 
+    // Pedido completo (cliente, restaurante, itens e produtos) em um único SELECT
+    @EntityGraph(attributePaths = {"cliente", "restaurante", "itens", "itens.produto"})
+    @Query("SELECT p FROM Pedido p WHERE p.id = :id")
+    Optional<Pedido> findCompletoById(@Param("id") Long id);
+
+    // Troca de status só se o pedido ainda estiver no status lido (0 = alterado por outra transação).
+    // Um único statement: o lock da linha dura só até o commit, sem SELECT ... FOR UPDATE antes
+    @Modifying
+    @Query("UPDATE Pedido p SET p.status = :novo, p.versao = p.versao + 1 WHERE p.id = :id AND p.status = :atual")
+    int atualizarStatus(@Param("id") Long id, @Param("atual") StatusPedido atual, @Param("novo") StatusPedido novo);
+
+    // Atualização em lote: lê e trava as linhas (em ordem de id, para dois lotes não se travarem
+    // mutuamente), então o status lido não muda até o UPDATE em lote e o commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = {"cliente", "restaurante"})
+    @Query("SELECT p FROM Pedido p WHERE p.id IN :ids ORDER BY p.id")
+    List<Pedido> findParaAtualizarStatus(@Param("ids") Collection<Long> ids);
+
+    // Um único statement para todos os pedidos que vão para o mesmo status (já travados e validados)
+    @Modifying
+    @Query("UPDATE Pedido p SET p.status = :novo, p.versao = p.versao + 1 WHERE p.id IN :ids")
+    int atualizarStatusEmLote(@Param("ids") Collection<Long> ids, @Param("novo") StatusPedido novo);
+
+    // Segunda etapa das listagens: itens e produtos de todos os pedidos da página de uma vez.
+    // Coleções não entram na query paginada (o Hibernate paginaria em memória).
+    @Query("SELECT DISTINCT p FROM Pedido p LEFT JOIN FETCH p.itens i LEFT JOIN FETCH i.produto WHERE p IN :pedidos")
+    List<Pedido> carregarItens(@Param("pedidos") List<Pedido> pedidos);
+
+    // Histórico por cursor (keyset em dataPedido, id), usando o índice idx_pedidos_cliente_data_id.
+    // NULL é o menor valor no MySQL e no H2: pedidos sem data vêm por último no DESC, por id
+    @EntityGraph(attributePaths = {"cliente", "restaurante"})
+    @Query("SELECT p FROM Pedido p WHERE p.cliente.id = :clienteId ORDER BY p.dataPedido DESC, p.id DESC")
+    List<Pedido> findPrimeiraPaginaPorCliente(@Param("clienteId") Long clienteId, Limit limit);
+
+    @EntityGraph(attributePaths = {"cliente", "restaurante"})
+    @Query("SELECT p FROM Pedido p WHERE p.cliente.id = :clienteId "
+            + "AND (p.dataPedido < :dataPedido OR (p.dataPedido = :dataPedido AND p.id < :id) OR p.dataPedido IS NULL) "
+            + "ORDER BY p.dataPedido DESC, p.id DESC")
+    List<Pedido> findPaginaPorClienteApos(@Param("clienteId") Long clienteId,
+                                          @Param("dataPedido") LocalDateTime dataPedido,
+                                          @Param("id") Long id,
+                                          Limit limit);
+
+    // cursor já entre os pedidos sem data
+    @EntityGraph(attributePaths = {"cliente", "restaurante"})
+    @Query("SELECT p FROM Pedido p WHERE p.cliente.id = :clienteId AND p.dataPedido IS NULL AND p.id < :id "
+            + "ORDER BY p.id DESC")
+    List<Pedido> findPaginaSemDataPorClienteApos(@Param("clienteId") Long clienteId, @Param("id") Long id, Limit limit);
+
+    // Visão resumida (?view=summary): DTO montado na query, sem carregar entidades nem itens
+    String SELECT_RESUMO = "SELECT new com.deliverytech.delivery_api.dto.response.PedidoResumoResponseDTO("
+            + "p.id, p.numeroPedido, p.dataPedido, p.status, p.valorTotal, c.id, c.nome, r.id, r.nome, SIZE(p.itens)) "
+            + "FROM Pedido p LEFT JOIN p.cliente c LEFT JOIN p.restaurante r ";
+
+    @Query(SELECT_RESUMO + "WHERE p.id = :id")
+    Optional<PedidoResumoResponseDTO> findResumoById(@Param("id") Long id);
+
+    @Query(SELECT_RESUMO + "WHERE c.id = :clienteId ORDER BY p.dataPedido DESC, p.id DESC")
+    List<PedidoResumoResponseDTO> findResumoPrimeiraPaginaPorCliente(@Param("clienteId") Long clienteId, Limit limit);
+
+    @Query(SELECT_RESUMO + "WHERE c.id = :clienteId "
+            + "AND (p.dataPedido < :dataPedido OR (p.dataPedido = :dataPedido AND p.id < :id) OR p.dataPedido IS NULL) "
+            + "ORDER BY p.dataPedido DESC, p.id DESC")
+    List<PedidoResumoResponseDTO> findResumoPaginaPorClienteApos(@Param("clienteId") Long clienteId,
+                                                                @Param("dataPedido") LocalDateTime dataPedido,
+                                                                @Param("id") Long id,
+                                                                Limit limit);
+
+    @Query(SELECT_RESUMO + "WHERE c.id = :clienteId AND p.dataPedido IS NULL AND p.id < :id ORDER BY p.id DESC")
+    List<PedidoResumoResponseDTO> findResumoPaginaSemDataPorClienteApos(@Param("clienteId") Long clienteId,
+                                                                       @Param("id") Long id,
+                                                                       Limit limit);
+
     // Pedidos por status
     List<Pedido> findByStatus(StatusPedido status);
 
@@ -24,4 +108,4 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
 
     // Pedidos por período
     List<Pedido> findByDataPedidoBetween(LocalDateTime inicio, LocalDateTime fim);
-}
\ No newline at end of file
+}
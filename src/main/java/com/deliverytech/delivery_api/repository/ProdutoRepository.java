@@ -2,9 +2,12 @@ package com.deliverytech.delivery_api.repository;
 
 import com.deliverytech.delivery_api.model.Produto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -23,4 +26,10 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
 
     // Buscar produto por nome
     Produto findByNome(String nome);
+
+    // Produtos do pedido (com restaurante) em uma única consulta
+    @Query("SELECT p FROM Produto p JOIN FETCH p.restaurante r " +
+            "WHERE p.id IN :ids AND r.id = :restauranteId")
+    List<Produto> findByIdInAndRestauranteId(@Param("ids") Collection<Long> ids,
+                                             @Param("restauranteId") Long restauranteId);
 }
\ No newline at end of file
@@ -3,6 +3,9 @@ package com.deliverytech.delivery_api.repository;
 import com.deliverytech.delivery_api.model.Restaurante;
 import com.deliverytech.delivery_api.projection.RelatorioVendas;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -22,6 +25,12 @@ public interface RestauranteRepository extends JpaRepository<Restaurante, Long>
     // Buscar restaurantes ativos
     List<Restaurante> findByAtivoTrue();
 
+    // Restaurantes ativos paginados (com COUNT para o total)
+    Page<Restaurante> findByAtivoTrue(Pageable pageable);
+
+    // Restaurantes ativos paginados sem COUNT: busca size+1 só para saber se há próxima página
+    Slice<Restaurante> findSliceByAtivoTrue(Pageable pageable);
+
     // Buscar por categoria
     List<Restaurante> findByCategoria(String categoria);
 
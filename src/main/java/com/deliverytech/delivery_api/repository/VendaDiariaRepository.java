@@ -0,0 +1,66 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.model.VendaDiaria;
+import com.deliverytech.delivery_api.model.VendaDiariaId;
+import com.deliverytech.delivery_api.projection.RelatorioVendas;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface VendaDiariaRepository extends JpaRepository<VendaDiaria, VendaDiariaId> {
+
+    // Soma (ou subtrai, com valores negativos) no consolidado do dia, criando a linha se não existir.
+    // Upsert atômico: pedidos simultâneos do mesmo restaurante/dia não perdem incrementos.
+    @Modifying
+    @Query(value = "INSERT INTO vendas_diarias (restaurante_id, data, total_vendas, quantidade_pedidos, quantidade_entregues) "
+            + "VALUES (:restauranteId, :data, :valor, :pedidos, :entregues) "
+            + "ON DUPLICATE KEY UPDATE total_vendas = total_vendas + VALUES(total_vendas), "
+            + "quantidade_pedidos = quantidade_pedidos + VALUES(quantidade_pedidos), "
+            + "quantidade_entregues = quantidade_entregues + VALUES(quantidade_entregues)",
+            nativeQuery = true)
+    void registrar(@Param("restauranteId") Long restauranteId,
+                   @Param("data") LocalDate data,
+                   @Param("valor") BigDecimal valor,
+                   @Param("pedidos") long pedidos,
+                   @Param("entregues") long entregues);
+
+    // Linha que ficou sem pedidos (único pedido do dia cancelado); a condição é avaliada no DELETE,
+    // então um pedido registrado ao mesmo tempo mantém a linha
+    @Modifying
+    @Query(value = "DELETE FROM vendas_diarias WHERE restaurante_id = :restauranteId AND data = :data "
+            + "AND quantidade_pedidos <= 0",
+            nativeQuery = true)
+    void removerSemPedidos(@Param("restauranteId") Long restauranteId, @Param("data") LocalDate data);
+
+    // Relatório lido do consolidado; restaurantes sem vendas no período aparecem com total nulo
+    @Query("SELECT r.nome as nomeRestaurante, " +
+            "SUM(v.totalVendas) as totalVendas, " +
+            "COALESCE(SUM(v.quantidadePedidos), 0) as quantidePedidos " +
+            "FROM Restaurante r " +
+            "LEFT JOIN VendaDiaria v ON v.id.restauranteId = r.id AND v.id.data BETWEEN :inicio AND :fim " +
+            "GROUP BY r.id, r.nome")
+    List<RelatorioVendas> relatorioPorRestaurante(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+    // Reconstrução completa a partir da tabela de pedidos (carga inicial ou correção)
+    @Modifying
+    @Query(value = "DELETE FROM vendas_diarias", nativeQuery = true)
+    void limpar();
+
+    @Modifying
+    @Query(value = "INSERT INTO vendas_diarias (restaurante_id, data, total_vendas, quantidade_pedidos, quantidade_entregues) "
+            + "SELECT restaurante_id, CAST(data_pedido AS DATE), SUM(valor_total), COUNT(*), "
+            + "SUM(CASE WHEN status = 'ENTREGUE' THEN 1 ELSE 0 END) "
+            + "FROM pedidos "
+            + "WHERE (status IS NULL OR status <> 'CANCELADO') AND restaurante_id IS NOT NULL AND data_pedido IS NOT NULL "
+            + "GROUP BY restaurante_id, CAST(data_pedido AS DATE)",
+            nativeQuery = true)
+    int reconstruir();
+}
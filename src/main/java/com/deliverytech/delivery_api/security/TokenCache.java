@@ -0,0 +1,102 @@
+package com.deliverytech.delivery_api.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.deliverytech.delivery_api.config.CacheMetrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Cache de tokens JWT já verificados, indexado pelo hash SHA-256 do token.
+ * Cada entrada expira junto com o token ou após o TTL máximo, o que vier primeiro,
+ * para que mudanças no usuário (ex.: role) sejam refletidas sem esperar o token expirar.
+ */
+@Component
+public class TokenCache implements MeterBinder {
+
+    public record TokenVerificado(UserDetails usuario, Instant expiracao) {}
+
+    private final Cache<String, TokenVerificado> cache;
+
+    public TokenCache(@Value("${delivery.security.token-cache.maximum-size:10000}") long maximumSize,
+                      @Value("${delivery.security.token-cache.ttl-maximo:5m}") Duration ttlMaximo) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, TokenVerificado>() {
+                    @Override
+                    public long expireAfterCreate(String chave, TokenVerificado token, long agora) {
+                        Duration restante = Duration.between(Instant.now(), token.expiracao());
+                        if (restante.isNegative()) {
+                            return 0;
+                        }
+                        return Math.min(restante.toNanos(), ttlMaximo.toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String chave, TokenVerificado token, long agora, long duracaoAtual) {
+                        return expireAfterCreate(chave, token, agora);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String chave, TokenVerificado token, long agora, long duracaoAtual) {
+                        return duracaoAtual;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public TokenVerificado buscar(String token) {
+        TokenVerificado verificado = cache.getIfPresent(hash(token));
+        // a expiração da entrada é garantida pelo Expiry; a checagem cobre a janela até a limpeza
+        if (verificado != null && verificado.expiracao().isBefore(Instant.now())) {
+            return null;
+        }
+        return verificado;
+    }
+
+    public void guardar(String token, UserDetails usuario, Instant expiracao) {
+        cache.put(hash(token), new TokenVerificado(usuario, expiracao));
+    }
+
+    public void invalidarTodos() {
+        cache.invalidateAll();
+    }
+
+    public long tamanho() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats estatisticas() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CacheMetrics.monitorar(registry, cache, "tokens", "tokenCache");
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
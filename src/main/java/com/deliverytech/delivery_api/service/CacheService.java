@@ -0,0 +1,11 @@
+package com.deliverytech.delivery_api.service;
+
+import java.util.List;
+
+import com.deliverytech.delivery_api.dto.response.CacheEstatisticasResponseDTO;
+
+public interface CacheService {
+
+    List<CacheEstatisticasResponseDTO> estatisticas();
+
+}
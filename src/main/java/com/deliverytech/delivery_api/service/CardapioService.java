@@ -0,0 +1,15 @@
+package com.deliverytech.delivery_api.service;
+
+public interface CardapioService {
+
+    /**
+     * Cardápio (produtos disponíveis) de um restaurante já serializado em JSON.
+     * A versão muda sempre que um produto do restaurante é alterado.
+     */
+    record CardapioSnapshot(Long restauranteId, long versao, String etag, byte[] json) {}
+
+    CardapioSnapshot buscarCardapio(Long restauranteId);
+
+    void invalidar(Long restauranteId);
+
+}
@@ -0,0 +1,11 @@
+package com.deliverytech.delivery_api.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface PedidoEventoService {
+
+    SseEmitter assinarPedido(Long pedidoId, Long ultimoEventoId);
+
+    SseEmitter assinarRestaurante(Long restauranteId, Long ultimoEventoId);
+
+}
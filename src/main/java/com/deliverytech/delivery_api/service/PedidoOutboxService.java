@@ -0,0 +1,14 @@
+package com.deliverytech.delivery_api.service;
+
+public interface PedidoOutboxService {
+
+    /**
+     * Entrega os eventos pendentes aos assinantes, lote a lote, até o fim da tabela.
+     * @return quantidade de eventos entregues
+     */
+    int publicarPendentes();
+
+    /** Remove os eventos já publicados há mais tempo que a retenção configurada. */
+    int removerPublicados();
+
+}
@@ -0,0 +1,14 @@
+package com.deliverytech.delivery_api.service;
+
+import java.util.UUID;
+
+import com.deliverytech.delivery_api.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoRecebidoResponseDTO;
+
+public interface PedidoRecebimentoService {
+
+    PedidoRecebidoResponseDTO receber(PedidoRequestDTO dto);
+
+    PedidoRecebidoResponseDTO consultar(UUID protocolo);
+
+}
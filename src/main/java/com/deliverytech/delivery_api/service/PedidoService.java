@@ -1,11 +1,18 @@
 package com.deliverytech.delivery_api.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.deliverytech.delivery_api.dto.request.ItemPedidoRequestDTO;
 import com.deliverytech.delivery_api.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.request.PedidoStatusItemRequestDTO;
+import com.deliverytech.delivery_api.dto.response.CursorPageResponseWrapper;
+import com.deliverytech.delivery_api.dto.response.PedidoExportacaoDTO;
 import com.deliverytech.delivery_api.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoResumoResponseDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoStatusResultadoDTO;
 import com.deliverytech.delivery_api.enums.StatusPedido;
 
 public interface PedidoService {
@@ -16,8 +23,18 @@ public interface PedidoService {
 
     List<PedidoResponseDTO> listarPedidosPorCliente(Long clienteId);
 
+    CursorPageResponseWrapper<PedidoResponseDTO> listarPedidosPorCliente(Long clienteId, String cursor, Integer tamanho);
+
+    PedidoResumoResponseDTO buscarResumoPorId(Long id);
+
+    CursorPageResponseWrapper<PedidoResumoResponseDTO> listarResumoPorCliente(Long clienteId, String cursor, Integer tamanho);
+
+    long exportarPorPeriodo(LocalDate inicio, LocalDate fim, Consumer<PedidoExportacaoDTO> destino);
+
     PedidoResponseDTO atualizarStatusPedido(Long id, StatusPedido status);
 
+    List<PedidoStatusResultadoDTO> atualizarStatusEmLote(List<PedidoStatusItemRequestDTO> itens);
+
     BigDecimal calcularValorTotalPedido(List<ItemPedidoRequestDTO> itens );
 
     PedidoResponseDTO cancelarPedido(Long id);
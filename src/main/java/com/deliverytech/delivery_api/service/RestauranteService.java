@@ -1,8 +1,12 @@
 package com.deliverytech.delivery_api.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
 import com.deliverytech.delivery_api.dto.request.RestauranteRequestDTO;
 import com.deliverytech.delivery_api.dto.response.RestauranteResponseDTO;
 import com.deliverytech.delivery_api.projection.RelatorioVendas;
@@ -25,9 +29,13 @@ public interface RestauranteService {
 
     List<RestauranteResponseDTO> listarAtivos();
 
+    Slice<RestauranteResponseDTO> listarAtivos(Pageable pageable, boolean contarTotal);
+
     List<RestauranteResponseDTO> listarTop5PorNome();
 
-    List<RelatorioVendas> relatorioVendasPorRestaurante();
+    List<RelatorioVendas> relatorioVendasPorRestaurante(LocalDate inicio, LocalDate fim);
+
+    int reconstruirRelatorioVendas();
 
     List<RestauranteResponseDTO> buscarPorTaxaEntrega(BigDecimal taxaEntrega);
 
@@ -0,0 +1,57 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import com.deliverytech.delivery_api.dto.response.CacheEstatisticasResponseDTO;
+import com.deliverytech.delivery_api.security.TokenCache;
+import com.deliverytech.delivery_api.service.CacheService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+@Service
+public class CacheServiceImpl implements CacheService {
+
+    private static final double NANOS_POR_MS = 1_000_000.0;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TokenCache tokenCache;
+
+    @Override
+    public List<CacheEstatisticasResponseDTO> estatisticas() {
+        Stream<CacheEstatisticasResponseDTO> caches = cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(CaffeineCache.class::cast)
+                .map(cache -> toEstatisticas(cache.getName(), cache.getNativeCache().estimatedSize(),
+                        cache.getNativeCache().stats()));
+
+        // tokens JWT verificados (cache próprio, fora do CacheManager)
+        Stream<CacheEstatisticasResponseDTO> tokens = Stream.of(
+                toEstatisticas("tokens", tokenCache.tamanho(), tokenCache.estatisticas()));
+
+        return Stream.concat(caches, tokens).toList();
+    }
+
+    private CacheEstatisticasResponseDTO toEstatisticas(String nome, long tamanho, CacheStats stats) {
+        return new CacheEstatisticasResponseDTO(
+                nome,
+                tamanho,
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.missRate(),
+                stats.evictionCount(),
+                stats.loadCount(),
+                stats.averageLoadPenalty() / NANOS_POR_MS,
+                stats.totalLoadTime() / NANOS_POR_MS
+        );
+    }
+}
@@ -0,0 +1,136 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.deliverytech.delivery_api.dto.response.ProdutoResponseDTO;
+import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.mapper.ProdutoMapper;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.service.CardapioService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.deliverytech.delivery_api.config.CacheMetrics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+
+@Service
+public class CardapioServiceImpl implements CardapioService, MeterBinder {
+
+    // distingue versões de processos diferentes (as versões recomeçam a cada inicialização)
+    private final String epoca = Long.toString(System.currentTimeMillis(), 36);
+    // relógio único: uma versão despejada do cache e recriada nunca repete um ETag já emitido
+    private final AtomicLong relogio = new AtomicLong();
+    private final Cache<Long, Long> versoes;
+    private final Cache<Long, CardapioSnapshot> snapshots;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ProdutoMapper produtoMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transacao;
+
+    public CardapioServiceImpl(@Value("${delivery.cardapio.maximum-size:5000}") long maximumSize) {
+        this.versoes = Caffeine.newBuilder().maximumSize(maximumSize).build();
+        this.snapshots = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+
+    @PostConstruct
+    void configurar() {
+        transacao = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public CardapioSnapshot buscarCardapio(Long restauranteId) {
+        long versaoAtual = versoes.get(restauranteId, id -> relogio.incrementAndGet());
+        CardapioSnapshot snapshot = snapshots.getIfPresent(restauranteId);
+        if (snapshot != null && snapshot.versao() == versaoAtual) {
+            return snapshot;
+        }
+
+        // transação de escrita: o snapshot é lido do primário, nunca de uma réplica atrasada
+        CardapioSnapshot novo;
+        try {
+            novo = transacao.execute(status -> montar(restauranteId, versaoAtual));
+        } catch (BusinessException e) {
+            // restaurante inexistente ou sem cardápio não ocupa lugar no cache de versões
+            versoes.asMap().remove(restauranteId, versaoAtual);
+            throw e;
+        }
+        // só publica se nenhuma alteração (ou despejo da versão) aconteceu enquanto o snapshot era montado
+        if (Long.valueOf(versaoAtual).equals(versoes.getIfPresent(restauranteId))) {
+            snapshots.asMap().merge(restauranteId, novo,
+                    (atual, candidato) -> atual.versao() >= candidato.versao() ? atual : candidato);
+        }
+        return novo;
+    }
+
+    @Override
+    public void invalidar(Long restauranteId) {
+        if (restauranteId == null) {
+            return;
+        }
+        // dentro de transação, só após o commit: antes disso uma leitura ainda veria os dados antigos
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    incrementarVersao(restauranteId);
+                }
+            });
+        } else {
+            incrementarVersao(restauranteId);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CacheMetrics.monitorar(registry, snapshots, "cardapio", "cardapioService");
+    }
+
+    private void incrementarVersao(Long restauranteId) {
+        // sem versão registrada não há snapshot nem leitura em andamento a invalidar:
+        // a próxima leitura cria uma versão nova, maior que todas as anteriores
+        versoes.asMap().computeIfPresent(restauranteId, (id, versao) -> relogio.incrementAndGet());
+        snapshots.invalidate(restauranteId);
+    }
+
+    private CardapioSnapshot montar(Long restauranteId, long versao) {
+        List<ProdutoResponseDTO> produtos = produtoRepository.findByRestauranteId(restauranteId).stream()
+                .filter(Produto::getDisponivel)
+                .map(produtoMapper::toResponseDTO)
+                .toList();
+        if (produtos.isEmpty()) {
+            throw new BusinessException("Nenhum produto encontrado para o restaurante ID: " + restauranteId);
+        }
+
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(produtos);
+            String etag = "\"" + restauranteId + "-" + epoca + "-" + versao + "\"";
+            return new CardapioSnapshot(restauranteId, versao, etag, json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar cardápio do restaurante " + restauranteId, e);
+        }
+    }
+}
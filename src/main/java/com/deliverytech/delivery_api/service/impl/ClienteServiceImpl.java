@@ -4,7 +4,6 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,6 +12,7 @@ import com.deliverytech.delivery_api.dto.request.ClienteRequestDTO;
 import com.deliverytech.delivery_api.dto.response.ClienteResponseDTO;
 import com.deliverytech.delivery_api.exceptions.BusinessException;
 import com.deliverytech.delivery_api.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery_api.mapper.ClienteMapper;
 import com.deliverytech.delivery_api.model.Cliente;
 import com.deliverytech.delivery_api.repository.ClienteRepository;
 import com.deliverytech.delivery_api.service.ClienteService;
@@ -25,7 +25,7 @@ public class ClienteServiceImpl implements ClienteService{
     private ClienteRepository clienteRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private ClienteMapper clienteMapper;
 
     @Override
     public ClienteResponseDTO cadastrar(ClienteRequestDTO dto) {
@@ -33,19 +33,20 @@ public class ClienteServiceImpl implements ClienteService{
         if (clienteRepository.existsByEmail(dto.getEmail())) {
             throw new BusinessException("Email já cadastrado." + dto.getEmail());
         }
-        Cliente cliente = modelMapper.map(dto, Cliente.class);
+        Cliente cliente = clienteMapper.toEntity(dto);
         cliente.setAtivo(true);
         cliente.setDataCadastro(LocalDateTime.now());
         Cliente saveSalvo = clienteRepository.save(cliente);
 
-        return modelMapper.map(saveSalvo, ClienteResponseDTO.class);
+        return clienteMapper.toResponseDTO(saveSalvo);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ClienteResponseDTO buscarPorId(Long id) {
         Cliente cliente = clienteRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado com ID: " + id));
-        return modelMapper.map(cliente, ClienteResponseDTO.class);
+        return clienteMapper.toResponseDTO(cliente);
     }
 
     @Override
@@ -69,7 +70,7 @@ public class ClienteServiceImpl implements ClienteService{
 
         Cliente saveAtualizado = clienteRepository.save(clienteExistente);
 
-        return modelMapper.map(saveAtualizado, ClienteResponseDTO.class);
+        return clienteMapper.toResponseDTO(saveAtualizado);
     }
 
     @Override
@@ -78,36 +79,39 @@ public class ClienteServiceImpl implements ClienteService{
                 .orElseThrow(() -> new BusinessException("Cliente não encontrado com ID: " + id));
         clienteExistente.setAtivo(!clienteExistente.getAtivo());
         Cliente clienteAtualizado = clienteRepository.save(clienteExistente);
-        return modelMapper.map(clienteAtualizado, ClienteResponseDTO.class);
+        return clienteMapper.toResponseDTO(clienteAtualizado);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ClienteResponseDTO> listarAtivos() {
 
         List<Cliente> clientesAtivos = clienteRepository.findByAtivoTrue();
 
         return  clientesAtivos.stream()
-                .map(c -> modelMapper.map(c, ClienteResponseDTO.class))
+                .map(clienteMapper::toResponseDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ClienteResponseDTO> buscarPorNome(String nome) {
 
         List<Cliente> clientes = clienteRepository.findByNomeContainingIgnoreCase(nome);
 
         return  clientes.stream()
-                .map(c -> modelMapper.map(c, ClienteResponseDTO.class))
+                .map(clienteMapper::toResponseDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ClienteResponseDTO buscarPorEmail(String email) {
 
         Cliente cliente = clienteRepository.findByEmail(email)
                 .orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado com email: " + email));
 
-        return modelMapper.map(cliente, ClienteResponseDTO.class);
+        return clienteMapper.toResponseDTO(cliente);
     }
 
 }
@@ -0,0 +1,351 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.deliverytech.delivery_api.dto.response.PedidoResumoResponseDTO;
+import com.deliverytech.delivery_api.event.PedidoEventoAssinante;
+import com.deliverytech.delivery_api.event.PedidoStatusAlteradoEvent;
+import com.deliverytech.delivery_api.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.service.PedidoEventoService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Canais SSE de status de pedidos, por pedido e por restaurante, alimentados pelo relay do
+ * outbox; o id de cada evento SSE é o id do outbox. Conexões ociosas não ocupam threads
+ * (async do servlet); o custo de cada uma é o SseEmitter registrado aqui.
+ *
+ * Todo o estado (assinantes e eventos recentes) só é alterado na thread pedidoEventosExecutor,
+ * que não escreve nas conexões: cada uma tem uma fila limitada, esvaziada por uma tarefa no
+ * pedidoEventosEnvioExecutor. Um cliente que não lê trava só a própria escrita; quando a fila
+ * dele enche, a conexão é encerrada e o cliente reconecta com o Last-Event-ID.
+ *
+ * Os últimos eventos ficam em memória para o replay a partir do Last-Event-ID na reconexão.
+ * O outbox entrega os eventos de cada pedido em ordem de id, então um evento repetido pelo
+ * relay (entrega at-least-once) é o que não passa do último id já distribuído do pedido.
+ */
+@Slf4j
+@Service
+public class PedidoEventoServiceImpl implements PedidoEventoService, PedidoEventoAssinante, MeterBinder {
+
+    static final String EVENTO_STATUS = "status";
+
+    private record EventoEmitido(long id, PedidoStatusAlteradoEvent evento) {}
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    @Qualifier("pedidoEventosExecutor")
+    private ScheduledExecutorService executor;
+
+    @Autowired
+    @Qualifier("pedidoEventosEnvioExecutor")
+    private ExecutorService envioExecutor;
+
+    @Value("${delivery.pedidos.eventos.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${delivery.pedidos.eventos.heartbeat:15s}")
+    private Duration heartbeat;
+
+    @Value("${delivery.pedidos.eventos.historico:1000}")
+    private int historico;
+
+    @Value("${delivery.pedidos.eventos.fila-maxima:1000}")
+    private int filaMaxima;
+
+    private final AtomicInteger conexoes = new AtomicInteger();
+    private final AtomicLong lentas = new AtomicLong();
+    private final Deque<EventoEmitido> recentes = new ArrayDeque<>();
+    // id do último evento distribuído de cada pedido com eventos em recentes
+    private final Map<Long, Long> ultimoIdPorPedido = new HashMap<>();
+    private final Map<Long, Set<Conexao>> porPedido = new HashMap<>();
+    private final Map<Long, Set<Conexao>> porRestaurante = new HashMap<>();
+
+    @PostConstruct
+    void iniciarHeartbeat() {
+        executor.scheduleAtFixedRate(this::enviarHeartbeat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * A conexão é registrada antes da leitura do status atual: uma mudança com commit entre a
+     * leitura e o registro teria o evento distribuído sem esta conexão e o cliente ficaria com
+     * o status lido. Com o registro antes, o evento chega pela conexão e o status lido só é
+     * enviado se nenhum evento do pedido tiver sido enviado a ela nesse meio tempo (o evento
+     * já é tão novo quanto a leitura, e o status lido depois dele voltaria o cliente atrás).
+     */
+    @Override
+    public SseEmitter assinarPedido(Long pedidoId, Long ultimoEventoId) {
+        Conexao conexao = new Conexao(porPedido, pedidoId);
+        // sem Last-Event-ID, ou se os eventos perdidos já saíram da memória, envia o status atual
+        boolean enviarStatusAtual = CompletableFuture.supplyAsync(() -> {
+            registrar(conexao);
+            return ultimoEventoId == null || !repetir(conexao, ultimoEventoId, evento -> pedidoId.equals(evento.pedidoId()));
+        }, executor).join();
+
+        PedidoResumoResponseDTO pedido;
+        try {
+            pedido = pedidoRepository.findResumoById(pedidoId)
+                    .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado com ID: " + pedidoId));
+        } catch (RuntimeException e) {
+            executar(() -> remover(conexao));
+            throw e;
+        }
+
+        if (enviarStatusAtual) {
+            executar(() -> {
+                if (!conexao.recebeuEvento) {
+                    enviar(conexao, null, new PedidoStatusAlteradoEvent(pedido.getId(), pedido.getNumeroPedido(),
+                            pedido.getClienteId(), pedido.getRestauranteId(), null, pedido.getStatus().name(), LocalDateTime.now()));
+                }
+            });
+        }
+        return conexao.emitter;
+    }
+
+    @Override
+    public SseEmitter assinarRestaurante(Long restauranteId, Long ultimoEventoId) {
+        if (!restauranteRepository.existsById(restauranteId)) {
+            throw new EntityNotFoundException("Restaurante não encontrado com ID: " + restauranteId);
+        }
+
+        Conexao conexao = new Conexao(porRestaurante, restauranteId);
+        executar(() -> {
+            registrar(conexao);
+            if (ultimoEventoId != null) {
+                repetir(conexao, ultimoEventoId, evento -> restauranteId.equals(evento.restauranteId()));
+            }
+        });
+        return conexao.emitter;
+    }
+
+    @Override
+    public void receber(long eventoId, PedidoStatusAlteradoEvent evento) {
+        executar(() -> distribuir(new EventoEmitido(eventoId, evento)));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("delivery.pedidos.eventos.conexoes", conexoes, AtomicInteger::get)
+                .description("Conexões SSE abertas de status de pedidos")
+                .register(registry);
+        FunctionCounter.builder("delivery.pedidos.eventos.lentas", lentas, AtomicLong::get)
+                .description("Conexões SSE encerradas por não acompanhar os eventos")
+                .register(registry);
+    }
+
+    private void distribuir(EventoEmitido emitido) {
+        PedidoStatusAlteradoEvent evento = emitido.evento();
+        Long ultimoId = ultimoIdPorPedido.get(evento.pedidoId());
+        if (ultimoId != null && emitido.id() <= ultimoId) {
+            return;
+        }
+        ultimoIdPorPedido.put(evento.pedidoId(), emitido.id());
+        recentes.addLast(emitido);
+        if (recentes.size() > historico) {
+            EventoEmitido antigo = recentes.removeFirst();
+            ultimoIdPorPedido.remove(antigo.evento().pedidoId(), antigo.id());
+        }
+        enviarParaTodos(porPedido.get(evento.pedidoId()), emitido);
+        enviarParaTodos(porRestaurante.get(evento.restauranteId()), emitido);
+    }
+
+    // false quando pode haver eventos posteriores ao ultimoEventoId que não estão mais em memória
+    private boolean repetir(Conexao conexao, long ultimoEventoId, Predicate<PedidoStatusAlteradoEvent> doCanal) {
+        if (recentes.isEmpty()) {
+            // ex.: reinício da aplicação; não há como saber o que o cliente perdeu
+            return false;
+        }
+        long primeiroGuardado = recentes.peekFirst().id();
+        for (EventoEmitido emitido : recentes) {
+            if (emitido.id() > ultimoEventoId && doCanal.test(emitido.evento())) {
+                enviar(conexao, emitido.id(), emitido.evento());
+            }
+        }
+        return ultimoEventoId >= primeiroGuardado - 1;
+    }
+
+    private void enviarParaTodos(Set<Conexao> conexoesDoCanal, EventoEmitido emitido) {
+        if (conexoesDoCanal == null) {
+            return;
+        }
+        // cópia: uma conexão lenta é removida do conjunto no envio
+        for (Conexao conexao : List.copyOf(conexoesDoCanal)) {
+            enviar(conexao, emitido.id(), emitido.evento());
+        }
+    }
+
+    private void enviar(Conexao conexao, Long id, PedidoStatusAlteradoEvent evento) {
+        // id antes dos dados: quem lê a resposta aos pedaços já tem o id quando o evento aparece
+        SseEmitter.SseEventBuilder mensagem = SseEmitter.event();
+        if (id != null) {
+            mensagem.id(id.toString());
+            conexao.recebeuEvento = true;
+        }
+        enfileirar(conexao, mensagem.name(EVENTO_STATUS).data(evento, MediaType.APPLICATION_JSON));
+    }
+
+    private void enviarHeartbeat() {
+        // comentário SSE: mantém proxies com a conexão aberta e detecta clientes que saíram
+        for (Map<Long, Set<Conexao>> canal : List.of(porPedido, porRestaurante)) {
+            for (Set<Conexao> conexoesDoCanal : List.copyOf(canal.values())) {
+                for (Conexao conexao : List.copyOf(conexoesDoCanal)) {
+                    enfileirar(conexao, SseEmitter.event().comment(""));
+                }
+            }
+        }
+    }
+
+    private void enfileirar(Conexao conexao, SseEmitter.SseEventBuilder mensagem) {
+        if (!conexao.enfileirar(mensagem)) {
+            // fila cheia: a tarefa de envio encerra a conexão quando o write preso voltar
+            lentas.incrementAndGet();
+            log.debug("Conexão SSE encerrada por não acompanhar os eventos (canal {})", conexao.chave);
+            remover(conexao);
+        }
+    }
+
+    private void registrar(Conexao conexao) {
+        if (conexao.canal.computeIfAbsent(conexao.chave, c -> new LinkedHashSet<>()).add(conexao)) {
+            conexoes.incrementAndGet();
+        }
+    }
+
+    private void remover(Conexao conexao) {
+        Set<Conexao> conexoesDoCanal = conexao.canal.get(conexao.chave);
+        if (conexoesDoCanal != null && conexoesDoCanal.remove(conexao)) {
+            conexoes.decrementAndGet();
+            if (conexoesDoCanal.isEmpty()) {
+                conexao.canal.remove(conexao.chave);
+            }
+        }
+    }
+
+    private void executar(Runnable tarefa) {
+        try {
+            executor.execute(tarefa);
+        } catch (RejectedExecutionException e) {
+            // aplicação encerrando: as conexões serão fechadas junto com o servidor
+            log.debug("Evento de pedido descartado no encerramento", e);
+        }
+    }
+
+    /**
+     * Conexão SSE com a sua fila de envio. A thread dos canais só enfileira; a escrita, que
+     * bloqueia enquanto o cliente não lê, roda numa tarefa do envioExecutor, uma por vez.
+     */
+    private final class Conexao {
+
+        private final Map<Long, Set<Conexao>> canal;
+        private final Long chave;
+        private final SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        // guardados pelo monitor da conexão
+        private final Deque<SseEmitter.SseEventBuilder> fila = new ArrayDeque<>();
+        private boolean enviando;
+        private boolean encerrada;
+        // só na thread dos canais: algum evento com id já foi enfileirado nesta conexão
+        private boolean recebeuEvento;
+
+        Conexao(Map<Long, Set<Conexao>> canal, Long chave) {
+            this.canal = canal;
+            this.chave = chave;
+            Runnable remover = () -> executar(() -> remover(this));
+            emitter.onCompletion(remover);
+            emitter.onTimeout(remover);
+            emitter.onError(erro -> remover.run());
+        }
+
+        /** false quando a fila está cheia: a conexão passa a encerrada e a fila é descartada. */
+        synchronized boolean enfileirar(SseEmitter.SseEventBuilder mensagem) {
+            if (encerrada) {
+                return true;
+            }
+            if (fila.size() >= filaMaxima) {
+                encerrada = true;
+                fila.clear();
+                return false;
+            }
+            fila.addLast(mensagem);
+            if (!enviando) {
+                enviando = true;
+                try {
+                    envioExecutor.execute(this::enviarFila);
+                } catch (RejectedExecutionException e) {
+                    enviando = false;
+                    log.debug("Evento de pedido descartado no encerramento", e);
+                }
+            }
+            return true;
+        }
+
+        private void enviarFila() {
+            while (true) {
+                SseEmitter.SseEventBuilder mensagem;
+                boolean completar;
+                synchronized (this) {
+                    completar = encerrada;
+                    mensagem = completar ? null : fila.pollFirst();
+                    if (mensagem == null) {
+                        enviando = false;
+                    }
+                }
+                if (mensagem == null) {
+                    if (completar) {
+                        // cliente lento: fecha a resposta; o EventSource reconecta com o Last-Event-ID
+                        emitter.complete();
+                    }
+                    return;
+                }
+                try {
+                    emitter.send(mensagem);
+                } catch (IOException | IllegalStateException e) {
+                    // cliente desconectado: nada mais é enfileirado nem enviado, e a conexão sai do
+                    // canal sem esperar o onError/onCompletion, que nem sempre chega nesse caso
+                    synchronized (this) {
+                        encerrada = true;
+                        enviando = false;
+                        fila.clear();
+                    }
+                    executar(() -> remover(this));
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.deliverytech.delivery_api.event.PedidoEventoAssinante;
+import com.deliverytech.delivery_api.event.PedidoStatusAlteradoEvent;
+import com.deliverytech.delivery_api.model.PedidoOutbox;
+import com.deliverytech.delivery_api.repository.PedidoOutboxRepository;
+import com.deliverytech.delivery_api.service.PedidoOutboxService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Outbox dos eventos de pedido. Cada PedidoStatusAlteradoEvent vira uma linha em
+ * pedidos_outbox na mesma transação que alterou o pedido: rollback do pedido, nenhum evento;
+ * commit, o evento não se perde mesmo que a aplicação caia antes de entregá-lo.
+ *
+ * O relay (thread pedidoOutboxExecutor) percorre os pendentes em ordem de id, em lotes, e
+ * entrega a cada PedidoEventoAssinante. É acordado no commit e, sem commits, procura pendentes
+ * a cada intervalo (eventos que falharam). Entrega at-least-once: o evento só é marcado
+ * publicado depois que todos os assinantes o receberam. Quando um evento falha, a próxima
+ * tentativa é agendada com espera exponencial (proximaTentativa) e os seguintes do mesmo pedido
+ * esperam por ele, preservando a ordem por pedido; os lotes são paginados por id, então eventos
+ * retidos não impedem a leitura dos que vêm depois. Após maximo-tentativas o evento é
+ * descartado (dataDescarte) e o pedido volta a andar sem ele.
+ *
+ * Uma instância só: os assinantes (canais SSE) vivem na memória do processo e dataPublicacao
+ * é global, então com várias instâncias cada evento chegaria só aos clientes conectados na
+ * instância cujo relay o lesse primeiro.
+ */
+@Slf4j
+@Service
+public class PedidoOutboxServiceImpl implements PedidoOutboxService, MeterBinder {
+
+    private static final int TAMANHO_MAXIMO_ERRO = 500;
+
+    @Autowired
+    private PedidoOutboxRepository pedidoOutboxRepository;
+
+    @Autowired
+    private List<PedidoEventoAssinante> assinantes;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("pedidoOutboxExecutor")
+    private ExecutorService executor;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${delivery.pedidos.outbox.tamanho-lote:100}")
+    private int tamanhoLote;
+
+    @Value("${delivery.pedidos.outbox.intervalo:1s}")
+    private Duration intervalo;
+
+    @Value("${delivery.pedidos.outbox.maximo-tentativas:10}")
+    private int maximoTentativas;
+
+    @Value("${delivery.pedidos.outbox.espera-retentativa:1s}")
+    private Duration esperaRetentativa;
+
+    @Value("${delivery.pedidos.outbox.espera-retentativa-maxima:5m}")
+    private Duration esperaRetentativaMaxima;
+
+    @Value("${delivery.pedidos.outbox.retencao:24h}")
+    private Duration retencao;
+
+    @Value("${delivery.pedidos.outbox.intervalo-limpeza:1h}")
+    private Duration intervaloLimpeza;
+
+    private TransactionTemplate transacao;
+    // liberado a cada commit com evento; o relay drena as permissões e lê a tabela
+    private final Semaphore sinal = new Semaphore(0);
+    private final AtomicLong entregues = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong descartados = new AtomicLong();
+    // dataEvento do pendente mais antigo ao fim da última passada; nulo quando não há pendentes
+    private volatile LocalDateTime pendenteMaisAntigo;
+    private volatile boolean ativo;
+
+    @PostConstruct
+    void configurar() {
+        transacao = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        ativo = true;
+        executor.execute(this::executarRelay);
+    }
+
+    @PreDestroy
+    public void parar() {
+        ativo = false;
+        sinal.release();
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(PedidoStatusAlteradoEvent evento) {
+        if (evento.statusAnterior() != null) {
+            // grava o UPDATE do pedido antes: o id do outbox é alocado com o lock da linha,
+            // então dois eventos do mesmo pedido nunca recebem ids fora de ordem
+            entityManager.flush();
+        }
+
+        PedidoOutbox outbox = new PedidoOutbox();
+        outbox.setPedidoId(evento.pedidoId());
+        outbox.setNumeroPedido(evento.numeroPedido());
+        outbox.setClienteId(evento.clienteId());
+        outbox.setRestauranteId(evento.restauranteId());
+        outbox.setStatusAnterior(evento.statusAnterior());
+        outbox.setStatus(evento.status());
+        outbox.setDataEvento(evento.dataHora());
+        pedidoOutboxRepository.save(outbox);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void aoConfirmar(PedidoStatusAlteradoEvent evento) {
+        sinal.release();
+    }
+
+    @Override
+    public synchronized int publicarPendentes() {
+        Set<Long> pedidosRetidos = new HashSet<>();
+        LocalDateTime agora = LocalDateTime.now();
+        long ultimoId = 0;
+        int total = 0;
+        List<PedidoOutbox> lote;
+
+        do {
+            // página seguinte por id: os retidos já lidos não voltam a ocupar o lote
+            lote = pedidoOutboxRepository.findPendentesApos(ultimoId, agora, Limit.of(tamanhoLote));
+            List<Long> publicados = new ArrayList<>(lote.size());
+
+            for (PedidoOutbox outbox : lote) {
+                ultimoId = outbox.getId();
+                if (!pedidosRetidos.contains(outbox.getPedidoId()) && entregar(outbox)) {
+                    publicados.add(outbox.getId());
+                    continue;
+                }
+                pedidosRetidos.add(outbox.getPedidoId());
+            }
+
+            if (!publicados.isEmpty()) {
+                LocalDateTime publicacao = LocalDateTime.now();
+                transacao.executeWithoutResult(status -> pedidoOutboxRepository.marcarPublicados(publicados, publicacao));
+                entregues.addAndGet(publicados.size());
+                total += publicados.size();
+            }
+        } while (lote.size() == tamanhoLote);
+
+        // lido da tabela: os que esperam a próxima tentativa não passam pelo lote
+        pendenteMaisAntigo = pedidoOutboxRepository.findDataEventoPendentes(Limit.of(1)).stream().findFirst().orElse(null);
+        return total;
+    }
+
+    @Override
+    public int removerPublicados() {
+        LocalDateTime limite = LocalDateTime.now().minus(retencao);
+        return transacao.execute(status -> pedidoOutboxRepository.removerPublicadosAntesDe(limite));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("delivery.pedidos.outbox.atraso", this::atrasoSegundos)
+                .description("Idade em segundos do evento de pedido pendente mais antigo no outbox")
+                .baseUnit("seconds")
+                .register(registry);
+        FunctionCounter.builder("delivery.pedidos.outbox.entregues", entregues, AtomicLong::get)
+                .description("Eventos de pedido entregues a todos os assinantes")
+                .register(registry);
+        FunctionCounter.builder("delivery.pedidos.outbox.falhas", falhas, AtomicLong::get)
+                .description("Entregas de eventos de pedido com falha em algum assinante")
+                .register(registry);
+        FunctionCounter.builder("delivery.pedidos.outbox.descartados", descartados, AtomicLong::get)
+                .description("Eventos de pedido descartados após esgotar as tentativas de entrega")
+                .register(registry);
+    }
+
+    private double atrasoSegundos() {
+        LocalDateTime maisAntigo = pendenteMaisAntigo;
+        return maisAntigo == null ? 0 : Math.max(0, Duration.between(maisAntigo, LocalDateTime.now()).toMillis() / 1000.0);
+    }
+
+    private void executarRelay() {
+        long proximaLimpeza = System.nanoTime() + intervaloLimpeza.toNanos();
+        while (ativo) {
+            try {
+                sinal.tryAcquire(intervalo.toMillis(), TimeUnit.MILLISECONDS);
+                sinal.drainPermits();
+                publicarPendentes();
+                if (System.nanoTime() - proximaLimpeza >= 0) {
+                    int removidos = removerPublicados();
+                    log.debug("{} eventos publicados removidos do outbox", removidos);
+                    proximaLimpeza = System.nanoTime() + intervaloLimpeza.toNanos();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // ex.: banco indisponível; os eventos continuam pendentes na tabela
+                log.error("Falha no relay do outbox de pedidos", e);
+            }
+        }
+    }
+
+    private boolean entregar(PedidoOutbox outbox) {
+        PedidoStatusAlteradoEvent evento = new PedidoStatusAlteradoEvent(outbox.getPedidoId(), outbox.getNumeroPedido(),
+                outbox.getClienteId(), outbox.getRestauranteId(), outbox.getStatusAnterior(), outbox.getStatus(),
+                outbox.getDataEvento());
+        try {
+            for (PedidoEventoAssinante assinante : assinantes) {
+                assinante.receber(outbox.getId(), evento);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            falhas.incrementAndGet();
+            int tentativas = outbox.getTentativas() + 1;
+            log.warn("Falha ao entregar o evento {} do pedido {} (tentativa {})",
+                    outbox.getId(), outbox.getPedidoId(), tentativas, e);
+            LocalDateTime dataDescarte = tentativas >= maximoTentativas ? LocalDateTime.now() : null;
+            LocalDateTime proximaTentativa = null;
+            if (dataDescarte != null) {
+                descartados.incrementAndGet();
+                log.error("Evento {} do pedido {} descartado após {} tentativas; os seguintes do pedido serão entregues",
+                        outbox.getId(), outbox.getPedidoId(), tentativas);
+            } else {
+                proximaTentativa = LocalDateTime.now().plus(esperaRetentativa(tentativas));
+            }
+            String erro = e.toString();
+            LocalDateTime agendada = proximaTentativa;
+            transacao.executeWithoutResult(status -> pedidoOutboxRepository.registrarFalha(outbox.getId(), tentativas,
+                    erro.length() > TAMANHO_MAXIMO_ERRO ? erro.substring(0, TAMANHO_MAXIMO_ERRO) : erro, dataDescarte,
+                    agendada));
+            return false;
+        }
+    }
+
+    // Exponencial a partir de esperaRetentativa, limitada a esperaRetentativaMaxima
+    private Duration esperaRetentativa(int tentativas) {
+        Duration espera = esperaRetentativa.multipliedBy(1L << Math.min(tentativas - 1, 30));
+        return espera.compareTo(esperaRetentativaMaxima) > 0 ? esperaRetentativaMaxima : espera;
+    }
+}
@@ -0,0 +1,278 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.deliverytech.delivery_api.config.PedidoRecebimentoProperties;
+import com.deliverytech.delivery_api.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoRecebidoResponseDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery_api.enums.StatusRecebimento;
+import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery_api.mapper.PedidoRecebidoMapper;
+import com.deliverytech.delivery_api.model.PedidoRecebido;
+import com.deliverytech.delivery_api.repository.PedidoRecebidoRepository;
+import com.deliverytech.delivery_api.service.PedidoRecebimentoService;
+import com.deliverytech.delivery_api.service.PedidoService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Recebimento assíncrono de pedidos: a requisição só grava o JSON em pedidos_recebidos
+ * e enfileira o protocolo; os workers criam os pedidos em lotes, um lote por transação.
+ *
+ * A fila em memória é limitada. Quando está cheia o protocolo fica apenas na tabela e é
+ * relido pelos workers assim que houver espaço (o mesmo acontece na inicialização).
+ *
+ * Só o conteúdo do pedido o torna REJEITADO (regra de negócio, entidade inexistente ou JSON
+ * inválido). Outras falhas são tratadas como transitórias: o protocolo continua PENDENTE e
+ * volta após uma espera crescente, até delivery.pedidos.recebimento.maximo-tentativas.
+ */
+@Slf4j
+@Service
+public class PedidoRecebimentoServiceImpl implements PedidoRecebimentoService, MeterBinder {
+
+    @Autowired
+    private PedidoRecebidoRepository pedidoRecebidoRepository;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoRecebidoMapper pedidoRecebidoMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PedidoRecebimentoProperties properties;
+
+    @Autowired
+    @Qualifier("pedidoRecebimentoExecutor")
+    private ExecutorService executor;
+
+    private BlockingQueue<UUID> fila;
+    private TransactionTemplate transacao;
+    // há PENDENTES na tabela que não estão na fila (fila cheia ou reinicialização)
+    private final AtomicBoolean pendentesNaTabela = new AtomicBoolean(true);
+    private volatile boolean ativo;
+
+    @PostConstruct
+    void configurar() {
+        fila = new ArrayBlockingQueue<>(properties.getCapacidadeFila());
+        transacao = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        ativo = true;
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            executor.execute(this::processar);
+        }
+    }
+
+    @PreDestroy
+    public void parar() {
+        ativo = false;
+    }
+
+    @Override
+    public PedidoRecebidoResponseDTO receber(PedidoRequestDTO dto) {
+        PedidoRecebido recebido = new PedidoRecebido();
+        recebido.setPayload(serializar(dto));
+        recebido.setStatus(StatusRecebimento.PENDENTE);
+        recebido.setDataRecebimento(LocalDateTime.now());
+
+        // save com commit próprio: o worker só pode pegar o protocolo depois de gravado
+        PedidoRecebido salvo = pedidoRecebidoRepository.save(recebido);
+        enfileirar(salvo.getProtocolo());
+        return pedidoRecebidoMapper.toResponseDTO(salvo);
+    }
+
+    // Transação de escrita: o cliente consulta o protocolo logo após o 202, e a réplica de
+    // leitura (onde cairia um readOnly, inclusive o do findById) pode ainda não tê-lo
+    @Override
+    @Transactional
+    public PedidoRecebidoResponseDTO consultar(UUID protocolo) {
+        PedidoRecebido recebido = pedidoRecebidoRepository.findById(protocolo)
+                .orElseThrow(() -> new EntityNotFoundException("Protocolo não encontrado: " + protocolo));
+        return pedidoRecebidoMapper.toResponseDTO(recebido);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("delivery.pedidos.recebimento.fila", () -> fila.size())
+                .description("Protocolos de pedidos aguardando worker em memória")
+                .register(registry);
+    }
+
+    private void enfileirar(UUID protocolo) {
+        if (!fila.offer(protocolo)) {
+            pendentesNaTabela.set(true);
+        }
+    }
+
+    private void processar() {
+        List<UUID> protocolos = new ArrayList<>(properties.getTamanhoLote());
+        while (ativo) {
+            try {
+                UUID primeiro = fila.poll(properties.getEspera().toMillis(), TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    recarregarPendentes();
+                    continue;
+                }
+                protocolos.add(primeiro);
+                fila.drainTo(protocolos, properties.getTamanhoLote() - 1);
+                processarLote(protocolos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // ex.: banco indisponível; os protocolos continuam PENDENTES na tabela
+                log.error("Falha ao processar lote de {} pedidos recebidos", protocolos.size(), e);
+                pendentesNaTabela.set(true);
+            } finally {
+                protocolos.clear();
+            }
+        }
+    }
+
+    private void recarregarPendentes() {
+        int espaco = fila.remainingCapacity();
+        if (espaco == 0 || !pendentesNaTabela.compareAndSet(true, false)) {
+            return;
+        }
+        LocalDateTime agora = LocalDateTime.now();
+        List<UUID> pendentes = pedidoRecebidoRepository.findProtocolosProntos(StatusRecebimento.PENDENTE, agora,
+                Limit.of(espaco));
+        // um protocolo pode entrar duas vezes na fila; a reserva do lote descarta o repetido
+        pendentes.forEach(this::enfileirar);
+        // fila cheia ou protocolos ainda esperando a retentativa: relê na próxima ociosidade
+        if (pendentes.size() == espaco
+                || pedidoRecebidoRepository.existsByStatusAndProximaTentativaAfter(StatusRecebimento.PENDENTE, agora)) {
+            pendentesNaTabela.set(true);
+        }
+    }
+
+    private void processarLote(List<UUID> protocolos) {
+        try {
+            // pedidos do lote na mesma transação: inserts em batch e cliente/restaurante
+            // carregados uma vez por lote no contexto de persistência
+            transacao.executeWithoutResult(status -> reservar(protocolos).forEach(this::criarPedido));
+        } catch (RuntimeException e) {
+            // um pedido inválido desfaz o lote inteiro; refaz um a um para isolá-lo
+            if (protocolos.size() == 1) {
+                if (e instanceof BusinessException) {
+                    rejeitar(protocolos.get(0), e.getMessage());
+                } else {
+                    adiar(protocolos.get(0), e);
+                }
+                return;
+            }
+            for (UUID protocolo : protocolos) {
+                processarLote(List.of(protocolo));
+            }
+        }
+    }
+
+    private List<PedidoRecebido> reservar(List<UUID> protocolos) {
+        String lote = UUID.randomUUID().toString();
+        pedidoRecebidoRepository.reservar(protocolos, lote, StatusRecebimento.PENDENTE, LocalDateTime.now());
+        return pedidoRecebidoRepository.findByLoteOrderByDataRecebimento(lote);
+    }
+
+    private void criarPedido(PedidoRecebido recebido) {
+        PedidoResponseDTO pedido = pedidoService.criarPedido(desserializar(recebido.getPayload()));
+        recebido.setStatus(StatusRecebimento.PROCESSADO);
+        recebido.setPedidoId(pedido.getId());
+        recebido.setErro(null);
+        recebido.setProximaTentativa(null);
+        recebido.setDataProcessamento(LocalDateTime.now());
+    }
+
+    // BusinessException (inclui EntityNotFoundException e o JSON inválido de desserializar):
+    // o pedido nunca será aceito como está
+    private void rejeitar(UUID protocolo, String motivo) {
+        transacao.executeWithoutResult(status -> pedidoRecebidoRepository.findById(protocolo)
+                .filter(recebido -> recebido.getStatus() == StatusRecebimento.PENDENTE)
+                .ifPresent(recebido -> marcarRejeitado(recebido, motivo)));
+    }
+
+    // Falha transitória: continua PENDENTE e só volta à fila depois da espera
+    private void adiar(UUID protocolo, RuntimeException causa) {
+        log.warn("Falha ao criar pedido do protocolo {}, nova tentativa agendada", protocolo, causa);
+        transacao.executeWithoutResult(status -> pedidoRecebidoRepository.findById(protocolo)
+                .filter(recebido -> recebido.getStatus() == StatusRecebimento.PENDENTE)
+                .ifPresent(recebido -> {
+                    int tentativas = recebido.getTentativas() + 1;
+                    recebido.setTentativas(tentativas);
+                    if (tentativas >= properties.getMaximoTentativas()) {
+                        log.error("Protocolo {} rejeitado após {} tentativas", protocolo, tentativas, causa);
+                        marcarRejeitado(recebido, "Erro inesperado ao processar o pedido após " + tentativas + " tentativas");
+                    } else {
+                        recebido.setErro("Falha temporária ao processar o pedido, nova tentativa agendada");
+                        recebido.setProximaTentativa(LocalDateTime.now().plus(esperaRetentativa(tentativas)));
+                    }
+                }));
+        pendentesNaTabela.set(true);
+    }
+
+    private static void marcarRejeitado(PedidoRecebido recebido, String motivo) {
+        recebido.setStatus(StatusRecebimento.REJEITADO);
+        recebido.setErro(motivo);
+        recebido.setProximaTentativa(null);
+        recebido.setDataProcessamento(LocalDateTime.now());
+    }
+
+    // Exponencial a partir de esperaRetentativa, limitada a esperaRetentativaMaxima
+    private Duration esperaRetentativa(int tentativas) {
+        Duration espera = properties.getEsperaRetentativa().multipliedBy(1L << Math.min(tentativas - 1, 30));
+        Duration maxima = properties.getEsperaRetentativaMaxima();
+        return espera.compareTo(maxima) > 0 ? maxima : espera;
+    }
+
+    private String serializar(PedidoRequestDTO dto) {
+        try {
+            return objectMapper.writeValueAsString(dto);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("Pedido não pôde ser serializado", e);
+        }
+    }
+
+    private PedidoRequestDTO desserializar(String payload) {
+        try {
+            return objectMapper.readValue(payload, PedidoRequestDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("Pedido recebido com conteúdo inválido", e);
+        }
+    }
+}
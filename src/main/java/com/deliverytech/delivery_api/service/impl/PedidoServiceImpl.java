@@ -1,22 +1,51 @@
 package com.deliverytech.delivery_api.service.impl;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.deliverytech.delivery_api.dto.request.ItemPedidoRequestDTO;
 import com.deliverytech.delivery_api.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.request.PedidoStatusItemRequestDTO;
+import com.deliverytech.delivery_api.dto.response.CursorPageResponseWrapper;
+import com.deliverytech.delivery_api.dto.response.PedidoExportacaoDTO;
 import com.deliverytech.delivery_api.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoResumoResponseDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoStatusResultadoDTO;
 import com.deliverytech.delivery_api.enums.StatusPedido;
+import com.deliverytech.delivery_api.event.PedidoStatusAlteradoEvent;
 import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.exceptions.ConflictException;
 import com.deliverytech.delivery_api.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery_api.mapper.PedidoMapper;
 import com.deliverytech.delivery_api.model.Cliente;
 import com.deliverytech.delivery_api.model.ItemPedido;
 import com.deliverytech.delivery_api.model.Pedido;
@@ -26,12 +55,20 @@ import com.deliverytech.delivery_api.repository.ClienteRepository;
 import com.deliverytech.delivery_api.repository.PedidoRepository;
 import com.deliverytech.delivery_api.repository.ProdutoRepository;
 import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.repository.VendaDiariaRepository;
 import com.deliverytech.delivery_api.service.PedidoService;
+import com.deliverytech.delivery_api.statemachine.MaquinaEstados;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 @Service
 @Transactional
 public class PedidoServiceImpl implements PedidoService{
 
+    static final int TAMANHO_PAGINA_PADRAO = 20;
+    static final int TAMANHO_PAGINA_MAXIMO = 100;
+
     @Autowired
     private PedidoRepository pedidoRepository;
 
@@ -45,7 +82,31 @@ public class PedidoServiceImpl implements PedidoService{
     private ProdutoRepository produtoRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private VendaDiariaRepository vendaDiariaRepository;
+
+    @Autowired
+    private PedidoMapper pedidoMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // transições permitidas e seus efeitos (PedidoMaquinaEstadosConfig)
+    @Autowired
+    private MaquinaEstados<StatusPedido, Pedido> maquinaEstados;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // linhas da exportação entre uma limpeza e outra do contexto de persistência
+    @Value("${delivery.exportacao.tamanho-lote:500}")
+    private int tamanhoLoteExportacao;
+
+    // tentativas da troca de status quando outra requisição altera o pedido ao mesmo tempo
+    @Value("${delivery.pedidos.status.tentativas:3}")
+    private int tentativasStatus;
 
     @Override
     public PedidoResponseDTO criarPedido(PedidoRequestDTO dto) {
@@ -67,21 +128,18 @@ public class PedidoServiceImpl implements PedidoService{
         }
 
         // 3. Validar todos os produtos existem e estão disponíveis
+        Map<Long, Produto> produtos = carregarProdutosDoRestaurante(dto.getItens(), dto.getRestauranteId());
+
         List<ItemPedido> itensPedido = new ArrayList<>();
         BigDecimal subtotal = BigDecimal.ZERO;
 
         for (ItemPedidoRequestDTO itemDTO : dto.getItens()) {
-            Produto produto = produtoRepository.findById(itemDTO.getProdutoId())
-                    .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado: " + itemDTO.getProdutoId()));
+            Produto produto = produtos.get(itemDTO.getProdutoId());
 
             if (!produto.isAtivo()) {
                 throw new BusinessException("Produto indisponível: " + produto.getNome());
             }
 
-            if (!produto.getRestaurante().getId().equals(dto.getRestauranteId())) {
-                throw new BusinessException("Produto não pertence ao restaurante selecionado");
-            }
-
             // Criar item do pedido
             ItemPedido item = new ItemPedido();
             item.setProduto(produto);
@@ -104,34 +162,38 @@ public class PedidoServiceImpl implements PedidoService{
         pedido.setCliente(cliente);
         pedido.setRestaurante(restaurante);
         pedido.setDataPedido(LocalDateTime.now());
-        pedido.setStatus(StatusPedido.PENDENTE.name());
+        pedido.setStatus(StatusPedido.PENDENTE);
         pedido.setEnderecoEntrega(dto.getEnderecoEntrega());
         pedido.setTaxaEntrega(taxaEntrega);
         pedido.setValorTotal(valorTotal);
 
-        Pedido pedidoSalvo = pedidoRepository.save(pedido);
-
-        // 6. Salvar itens do pedido
+        // 6. Associar itens antes do save para que o cascade os insira no mesmo batch
         for (ItemPedido item : itensPedido) {
-            item.setPedido(pedidoSalvo);
+            item.setPedido(pedido);
         }
-        pedidoSalvo.setItens(itensPedido);
+        pedido.setItens(itensPedido);
+
+        Pedido pedidoSalvo = pedidoRepository.save(pedido);
+        vendaDiariaRepository.registrar(restaurante.getId(), pedidoSalvo.getDataPedido().toLocalDate(), valorTotal, 1, 0);
+        eventPublisher.publishEvent(PedidoStatusAlteradoEvent.de(pedidoSalvo, null));
 
         // 7. Atualizar estoque (se aplicável) - Simulação
         // Em um cenário real, aqui seria decrementado o estoque
 
         // 8. Retornar pedido criado
-        return modelMapper.map(pedidoSalvo, PedidoResponseDTO.class);
+        return pedidoMapper.toResponseDTO(pedidoSalvo);
     }
 
+    // Sem readOnly: lido logo após criar ou alterar o pedido, fica no primário (a réplica pode estar atrasada)
     @Override
     public PedidoResponseDTO buscarPorId(Long id) {
-        Pedido pedido = pedidoRepository.findById(id)
+        Pedido pedido = pedidoRepository.findCompletoById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado com ID: " + id));
-        return modelMapper.map(pedido, PedidoResponseDTO.class);
+        return pedidoMapper.toResponseDTO(pedido);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<PedidoResponseDTO> listarPedidosPorCliente(Long clienteId) {
 
         // Buscar pedidos por cliente ID
@@ -139,27 +201,204 @@ public class PedidoServiceImpl implements PedidoService{
         if (pedidos.isEmpty()) {
             throw new EntityNotFoundException("Nenhum pedido encontrado para o cliente com ID: " + clienteId);
         }
+        pedidoRepository.carregarItens(pedidos);
 
         return pedidos.stream()
-                .map(p -> modelMapper.map(p, PedidoResponseDTO.class))
+                .map(pedidoMapper::toResponseDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseWrapper<PedidoResponseDTO> listarPedidosPorCliente(Long clienteId, String cursor, Integer tamanho) {
+        if (!clienteRepository.existsById(clienteId)) {
+            throw new EntityNotFoundException("Cliente não encontrado: " + clienteId);
+        }
+
+        int tamanhoPagina = tamanhoPagina(tamanho);
+        // busca um a mais para saber se existe próxima página sem fazer count
+        Limit limite = Limit.of(tamanhoPagina + 1);
+
+        List<Pedido> pedidos;
+        if (cursor == null || cursor.isBlank()) {
+            pedidos = pedidoRepository.findPrimeiraPaginaPorCliente(clienteId, limite);
+        } else {
+            Pedido ultimo = decodificarCursor(cursor);
+            pedidos = ultimo.getDataPedido() == null
+                    ? pedidoRepository.findPaginaSemDataPorClienteApos(clienteId, ultimo.getId(), limite)
+                    : pedidoRepository.findPaginaPorClienteApos(clienteId, ultimo.getDataPedido(), ultimo.getId(), limite);
+        }
+
+        boolean temProxima = pedidos.size() > tamanhoPagina;
+        List<Pedido> pagina = temProxima ? pedidos.subList(0, tamanhoPagina) : pedidos;
+        String proximoCursor = temProxima ? codificarCursor(pagina.get(pagina.size() - 1).getDataPedido(),
+                pagina.get(pagina.size() - 1).getId()) : null;
+        if (!pagina.isEmpty()) {
+            pedidoRepository.carregarItens(pagina);
+        }
+
+        List<PedidoResponseDTO> content = pagina.stream()
+                .map(pedidoMapper::toResponseDTO)
+                .collect(Collectors.toList());
+        return new CursorPageResponseWrapper<>(content, tamanhoPagina, proximoCursor, temProxima);
+    }
+
+    // Primário, como buscarPorId
+    @Override
+    public PedidoResumoResponseDTO buscarResumoPorId(Long id) {
+        return pedidoRepository.findResumoById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado com ID: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseWrapper<PedidoResumoResponseDTO> listarResumoPorCliente(Long clienteId, String cursor, Integer tamanho) {
+        if (!clienteRepository.existsById(clienteId)) {
+            throw new EntityNotFoundException("Cliente não encontrado: " + clienteId);
+        }
+
+        int tamanhoPagina = tamanhoPagina(tamanho);
+        Limit limite = Limit.of(tamanhoPagina + 1);
+
+        List<PedidoResumoResponseDTO> resumos;
+        if (cursor == null || cursor.isBlank()) {
+            resumos = pedidoRepository.findResumoPrimeiraPaginaPorCliente(clienteId, limite);
+        } else {
+            Pedido ultimo = decodificarCursor(cursor);
+            resumos = ultimo.getDataPedido() == null
+                    ? pedidoRepository.findResumoPaginaSemDataPorClienteApos(clienteId, ultimo.getId(), limite)
+                    : pedidoRepository.findResumoPaginaPorClienteApos(clienteId, ultimo.getDataPedido(), ultimo.getId(), limite);
+        }
+
+        boolean temProxima = resumos.size() > tamanhoPagina;
+        List<PedidoResumoResponseDTO> pagina = temProxima ? resumos.subList(0, tamanhoPagina) : resumos;
+        String proximoCursor = temProxima ? codificarCursor(pagina.get(pagina.size() - 1).getDataPedido(),
+                pagina.get(pagina.size() - 1).getId()) : null;
+        return new CursorPageResponseWrapper<>(pagina, tamanhoPagina, proximoCursor, temProxima);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportarPorPeriodo(LocalDate inicio, LocalDate fim, Consumer<PedidoExportacaoDTO> destino) {
+        if (inicio == null || fim == null || fim.isBefore(inicio)) {
+            throw new BusinessException("Período inválido: informe inicio e fim, com fim igual ou posterior ao inicio");
+        }
+
+        long exportados = 0;
+        try (Stream<Pedido> pedidos = pedidoRepository.streamPorPeriodo(inicio.atStartOfDay(), fim.plusDays(1).atStartOfDay())) {
+            Iterator<Pedido> iterator = pedidos.iterator();
+            while (iterator.hasNext()) {
+                destino.accept(pedidoMapper.toExportacaoDTO(iterator.next()));
+                // sem o clear, todos os pedidos lidos ficariam no contexto até o fim da transação
+                if (++exportados % tamanhoLoteExportacao == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return exportados;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public PedidoResponseDTO atualizarStatusPedido(Long id, StatusPedido status) {
-        Pedido pedidoExistente = pedidoRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado: " + id));
-        
-        isTransicaoValida(status, status);
-        if (!isTransicaoValida(StatusPedido.valueOf(pedidoExistente.getStatus()), status)) {
-            throw new BusinessException("Transição de status inválida para o pedido com ID: " + id);
+        Pedido pedidoAtualizado = alterarStatus(id, status, atual -> {
+            if (!maquinaEstados.validar(atual, status)) {
+                throw new BusinessException("Transição de status inválida para o pedido com ID: " + id);
+            }
+        });
+        return pedidoMapper.toResponseDTO(pedidoAtualizado);
+    }
+
+    /**
+     * Troca de status de vários pedidos em uma transação: um SELECT trava todos os pedidos do
+     * lote, as transições são validadas de uma vez por status de destino (validarLote) e cada
+     * status de destino é gravado com um único UPDATE. Pedido inexistente, repetido no lote ou
+     * com transição inválida não impede os demais; o motivo vai no resultado dele.
+     */
+    @Override
+    public List<PedidoStatusResultadoDTO> atualizarStatusEmLote(List<PedidoStatusItemRequestDTO> itens) {
+        int quantidade = itens.size();
+        Set<Long> ids = itens.stream()
+                .map(PedidoStatusItemRequestDTO::getPedidoId)
+                .collect(Collectors.toSet());
+        Map<Long, Pedido> pedidos = pedidoRepository.findParaAtualizarStatus(ids).stream()
+                .collect(Collectors.toMap(Pedido::getId, Function.identity()));
+
+        PedidoStatusResultadoDTO[] resultados = new PedidoStatusResultadoDTO[quantidade];
+        // status atual de cada posição do lote; nulo = já rejeitado
+        StatusPedido[] atuais = new StatusPedido[quantidade];
+        Set<Long> vistos = new HashSet<>(quantidade * 2);
+        for (int i = 0; i < quantidade; i++) {
+            PedidoStatusItemRequestDTO item = itens.get(i);
+            PedidoStatusResultadoDTO resultado = new PedidoStatusResultadoDTO();
+            resultado.setPedidoId(item.getPedidoId());
+            resultado.setStatus(item.getStatus());
+            resultados[i] = resultado;
+
+            Pedido pedido = pedidos.get(item.getPedidoId());
+            if (pedido == null) {
+                resultado.setErro("Pedido não encontrado: " + item.getPedidoId());
+            } else if (!vistos.add(item.getPedidoId())) {
+                resultado.setStatusAnterior(pedido.getStatus());
+                resultado.setErro("Pedido repetido no lote: " + item.getPedidoId());
+            } else if (pedido.getStatus() == null) {
+                resultado.setErro("Pedido sem status atual: " + item.getPedidoId());
+            } else if (item.getStatus() == null) {
+                resultado.setStatusAnterior(pedido.getStatus());
+                resultado.setErro("Status de destino obrigatório: " + item.getPedidoId());
+            } else {
+                resultado.setStatusAnterior(pedido.getStatus());
+                atuais[i] = pedido.getStatus();
+            }
         }
 
-        pedidoExistente.setStatus(status.name());
+        // buffers reaproveitados entre os status de destino
+        StatusPedido[] origens = new StatusPedido[quantidade];
+        int[] posicoes = new int[quantidade];
+        BitSet validas = new BitSet(quantidade);
+        List<Long> idsValidos = new ArrayList<>(quantidade);
+        for (StatusPedido destino : StatusPedido.values()) {
+            int total = 0;
+            for (int i = 0; i < quantidade; i++) {
+                if (atuais[i] != null && itens.get(i).getStatus() == destino) {
+                    origens[total] = atuais[i];
+                    posicoes[total++] = i;
+                }
+            }
+            if (total == 0) {
+                continue;
+            }
+            int validos = maquinaEstados.validarLote(origens, total, destino, validas);
+            rejeitar(resultados, origens, posicoes, total, validas, destino);
+            if (validos == 0) {
+                continue;
+            }
 
-        Pedido pedidoAtualizado = pedidoRepository.save(pedidoExistente);
+            idsValidos.clear();
+            for (int j = validas.nextSetBit(0); j >= 0; j = validas.nextSetBit(j + 1)) {
+                idsValidos.add(itens.get(posicoes[j]).getPedidoId());
+            }
+            pedidoRepository.atualizarStatusEmLote(idsValidos, destino);
+
+            for (int j = validas.nextSetBit(0); j >= 0; j = validas.nextSetBit(j + 1)) {
+                Pedido pedido = pedidos.get(itens.get(posicoes[j]).getPedidoId());
+                // como em aplicarStatus: o UPDATE já gravou, a entidade sai do contexto antes de mudar
+                entityManager.detach(pedido);
+                pedido.setStatus(destino);
+                pedido.setVersao(pedido.getVersao() != null ? pedido.getVersao() + 1 : null);
+                maquinaEstados.transicionar(pedido, origens[j], destino);
+                eventPublisher.publishEvent(PedidoStatusAlteradoEvent.de(pedido, origens[j]));
+                resultados[posicoes[j]].setAtualizado(true);
+            }
+        }
+        return Arrays.asList(resultados);
+    }
 
-        return modelMapper.map(pedidoAtualizado, PedidoResponseDTO.class);
+    private static void rejeitar(PedidoStatusResultadoDTO[] resultados, StatusPedido[] origens, int[] posicoes,
+                                 int total, BitSet validas, StatusPedido destino) {
+        for (int j = validas.nextClearBit(0); j < total; j = validas.nextClearBit(j + 1)) {
+            resultados[posicoes[j]].setErro("Transição de status inválida: " + origens[j] + " -> " + destino);
+        }
     }
 
     @Override
@@ -175,44 +414,109 @@ public class PedidoServiceImpl implements PedidoService{
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public PedidoResponseDTO cancelarPedido(Long id) {
-        // Buscar pedido por ID
-        Pedido pedido = pedidoRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Pedido não encontrado com ID: " + id));
-        // Verificar se o pedido já está cancelado
-        if (pedido.getStatus().equals(StatusPedido.CANCELADO.name())) {
-            throw new RuntimeException("Pedido já está cancelado: " + id);
-        }
-        // Atualizar status do pedido para CANCELADO
-        podeSerCancelado(StatusPedido.valueOf(pedido.getStatus()));
-        if (!podeSerCancelado(StatusPedido.valueOf(pedido.getStatus()))) {  
-            throw new BusinessException("Pedido não pode ser cancelado, status atual: " + pedido.getStatus());
-        }
-        pedido.setStatus(StatusPedido.CANCELADO.name());
-        // Salvar pedido atualizado
-        pedidoRepository.save(pedido);
+        Pedido pedido = alterarStatus(id, StatusPedido.CANCELADO, atual -> {
+            if (!maquinaEstados.validar(atual, StatusPedido.CANCELADO)) {
+                throw new BusinessException(atual == StatusPedido.CANCELADO
+                        ? "Pedido já está cancelado: " + id
+                        : "Pedido não pode ser cancelado, status atual: " + atual);
+            }
+        });
         // Converter entidade para DTO
-        return modelMapper.map(pedido, PedidoResponseDTO.class);
+        return pedidoMapper.toResponseDTO(pedido);
+    }
+
+    /**
+     * Troca de status com controle otimista: lê o pedido, valida a transição e grava com o
+     * UPDATE condicional (WHERE status = lido). Se outra transação mudou o status no meio,
+     * repete com o pedido relido, até tentativasStatus vezes, e a transição é validada de novo.
+     *
+     * Cada tentativa é uma transação própria, para que a releitura veja o commit concorrente,
+     * e o mapeamento para DTO fica para depois do commit, sem o lock da linha. Dentro de uma
+     * transação já aberta pelo chamador a tentativa participa dela e não há repetição.
+     */
+    private Pedido alterarStatus(Long id, StatusPedido novoStatus, Consumer<StatusPedido> validarTransicao) {
+        boolean transacaoDoChamador = TransactionSynchronizationManager.isActualTransactionActive();
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return transacao.execute(status -> aplicarStatus(id, novoStatus, validarTransicao));
+            } catch (OptimisticLockingFailureException e) {
+                if (transacaoDoChamador || tentativa >= tentativasStatus) {
+                    throw new ConflictException("Pedido alterado por outra requisição, tente novamente: " + id,
+                            "status", novoStatus.name());
+                }
+            }
+        }
+    }
+
+    private Pedido aplicarStatus(Long id, StatusPedido novoStatus, Consumer<StatusPedido> validarTransicao) {
+        Pedido pedido = pedidoRepository.findCompletoById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado: " + id));
+
+        StatusPedido statusAnterior = pedido.getStatus();
+        validarTransicao.accept(statusAnterior);
+
+        if (pedidoRepository.atualizarStatus(id, statusAnterior, novoStatus) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Pedido.class, id);
+        }
+        // o UPDATE já gravou: a entidade (fora do contexto, para não gerar outro UPDATE) vira a resposta
+        entityManager.detach(pedido);
+        pedido.setStatus(novoStatus);
+        pedido.setVersao(pedido.getVersao() != null ? pedido.getVersao() + 1 : null);
+
+        // efeitos da transição (consolidado de vendas) e métrica
+        maquinaEstados.transicionar(pedido, statusAnterior, novoStatus);
+        eventPublisher.publishEvent(PedidoStatusAlteradoEvent.de(pedido, statusAnterior));
+        return pedido;
     }
 
-    private boolean isTransicaoValida(StatusPedido statusAtual, StatusPedido novoStatus) {
-        // Implementar lógica de transições válidas
-        switch (statusAtual) {
-            case PENDENTE:
-                return novoStatus == StatusPedido.CONFIRMADO || novoStatus == StatusPedido.CANCELADO;
-            case CONFIRMADO:
-                return novoStatus == StatusPedido.PREPARANDO || novoStatus == StatusPedido.CANCELADO;
-            case PREPARANDO:
-                return novoStatus == StatusPedido.SAIU_PARA_ENTREGA;
-            case SAIU_PARA_ENTREGA:
-                return novoStatus == StatusPedido.ENTREGUE;
-            default:
-                return false;
+    private Map<Long, Produto> carregarProdutosDoRestaurante(List<ItemPedidoRequestDTO> itens, Long restauranteId) {
+        Set<Long> ids = itens.stream()
+                .map(ItemPedidoRequestDTO::getProdutoId)
+                .collect(Collectors.toSet());
+
+        // Uma única consulta para todos os produtos do pedido, já com o restaurante
+        Map<Long, Produto> produtos = produtoRepository.findByIdInAndRestauranteId(ids, restauranteId).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+
+        if (produtos.size() < ids.size()) {
+            // Só no caminho de erro: distinguir produto inexistente de produto de outro restaurante
+            Set<Long> faltantes = new HashSet<>(ids);
+            faltantes.removeAll(produtos.keySet());
+            List<Produto> deOutroRestaurante = produtoRepository.findAllById(faltantes);
+            if (deOutroRestaurante.size() < faltantes.size()) {
+                deOutroRestaurante.forEach(p -> faltantes.remove(p.getId()));
+                throw new EntityNotFoundException("Produto não encontrado: " + faltantes.iterator().next());
+            }
+            throw new BusinessException("Produto não pertence ao restaurante selecionado");
         }
+
+        return produtos;
+    }
+
+    private int tamanhoPagina(Integer tamanho) {
+        return tamanho == null ? TAMANHO_PAGINA_PADRAO : Math.min(Math.max(tamanho, 1), TAMANHO_PAGINA_MAXIMO);
     }
 
-    private boolean podeSerCancelado(StatusPedido status) {
-        return status == StatusPedido.PENDENTE || status == StatusPedido.CONFIRMADO;
+    // Cursor opaco: posição (dataPedido, id) do último pedido da página, em Base64 URL-safe.
+    // Mesmo cursor para as visões completa e resumida. Pedido sem data: posição "|id".
+    private String codificarCursor(LocalDateTime dataPedido, Long id) {
+        String posicao = (dataPedido == null ? "" : dataPedido.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(posicao.getBytes(StandardCharsets.UTF_8));
     }
-    
+
+    private Pedido decodificarCursor(String cursor) {
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            Pedido posicao = new Pedido();
+            posicao.setDataPedido(partes[0].isEmpty() ? null : LocalDateTime.parse(partes[0]));
+            posicao.setId(Long.parseLong(partes[1]));
+            return posicao;
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            throw new BusinessException("Cursor de paginação inválido");
+        }
+    }
+
 }
@@ -4,7 +4,6 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
@@ -15,13 +14,17 @@ import com.deliverytech.delivery_api.dto.request.ProdutoRequestDTO;
 import com.deliverytech.delivery_api.dto.response.ProdutoResponseDTO;
 import com.deliverytech.delivery_api.exceptions.BusinessException;
 import com.deliverytech.delivery_api.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery_api.mapper.ProdutoMapper;
 import com.deliverytech.delivery_api.model.Produto;
 import com.deliverytech.delivery_api.model.Restaurante;
 import com.deliverytech.delivery_api.repository.ProdutoRepository;
 import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.service.CardapioService;
 import com.deliverytech.delivery_api.service.ProdutoService;
 
 @Service
+// Consultas em readOnly (réplica de leitura, se configurada); as que preenchem cache ficam no
+// primário: lidas de uma réplica atrasada, guardariam no cache o dado anterior ao @CacheEvict
 @Transactional
 public class ProdutoServiceImpl implements ProdutoService{
     
@@ -32,33 +35,41 @@ public class ProdutoServiceImpl implements ProdutoService{
     private RestauranteRepository restauranteRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private ProdutoMapper produtoMapper;
+
+    @Autowired
+    private CardapioService cardapioService;
 
     @Override
-    @CacheEvict(value = "produtos", key = "#dto.restauranteId")
+    // allEntries: a lista de disponíveis (chave true) também muda
+    @CacheEvict(value = "produtos", allEntries = true)
     public ProdutoResponseDTO cadastrar(ProdutoRequestDTO dto) {
 
-        Produto produto = modelMapper.map(dto, Produto.class);
+        Produto produto = produtoMapper.toEntity(dto);
 
         produto.setRestaurante(restauranteRepository.findById(dto.getRestauranteId()).get());
 
         Produto produtoSalvo = produtoRepository.save(produto);
+        cardapioService.invalidar(dto.getRestauranteId());
 
-        return modelMapper.map(produtoSalvo, ProdutoResponseDTO.class);
+        return produtoMapper.toResponseDTO(produtoSalvo);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ProdutoResponseDTO buscarPorId(Long id) {
         Produto produto = produtoRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado de ID: " + id));
         
-        return modelMapper.map(produto, ProdutoResponseDTO.class);
+        return produtoMapper.toResponseDTO(produto);
     }
 
     @Override
+    @CacheEvict(value = "produtos", allEntries = true)
     public ProdutoResponseDTO atualizar(Long id, ProdutoRequestDTO dto) {
         Produto produtoExistente = produtoRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado de ID: " + id));
+        Long restauranteAnteriorId = produtoExistente.getRestaurante() != null ? produtoExistente.getRestaurante().getId() : null;
 
         Optional<Restaurante> restaurante = restauranteRepository.findById(dto.getRestauranteId());
         // Validar dados do produto
@@ -83,12 +94,15 @@ public class ProdutoServiceImpl implements ProdutoService{
         produtoExistente.setRestaurante(restaurante.get());
 
         Produto produtoAtualizado = produtoRepository.save(produtoExistente);
+        // produto pode ter mudado de restaurante: os dois cardápios mudam
+        cardapioService.invalidar(restauranteAnteriorId);
+        cardapioService.invalidar(dto.getRestauranteId());
 
-        return modelMapper.map(produtoAtualizado, ProdutoResponseDTO.class);
+        return produtoMapper.toResponseDTO(produtoAtualizado);
     }
 
     @Override
-    @CacheEvict(value = "produtos", key = "#restauranteId")
+    @CacheEvict(value = "produtos", allEntries = true)
     public ProdutoResponseDTO ativarDesativarProduto(Long id) {
         // Buscar produto existente
         Produto produto = produtoRepository.findById(id)
@@ -97,11 +111,13 @@ public class ProdutoServiceImpl implements ProdutoService{
         produto.setDisponivel(!produto.getDisponivel());
         // Salvar produto atualizado
         Produto produtoAtualizado = produtoRepository.save(produto);
+        cardapioService.invalidar(produto.getRestaurante() != null ? produto.getRestaurante().getId() : null);
         // Retornar DTO de resposta
-        return modelMapper.map(produtoAtualizado, ProdutoResponseDTO.class);
+        return produtoMapper.toResponseDTO(produtoAtualizado);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ProdutoResponseDTO buscarPorNome(String nome) {
         // Buscar produto por nome
         Produto produto = produtoRepository.findByNome(nome);
@@ -109,11 +125,11 @@ public class ProdutoServiceImpl implements ProdutoService{
             throw new BusinessException ("Produto indisponível: " + nome);
         }
         // Converter entidade para DTO
-        return modelMapper.map(produto, ProdutoResponseDTO.class);
+        return produtoMapper.toResponseDTO(produto);
     }
 
     @Override
-    @Cacheable(value = "produtos", key = "#restauranteId")
+    @Cacheable(value = "produtos", key = "#restauranteId", sync = true)
     public List<ProdutoResponseDTO> buscarPorRestaurante(Long restauranteId) {
         // Buscar produtos por restaurante ID
         List<Produto> produtos = produtoRepository.findByRestauranteId(restauranteId);
@@ -123,11 +139,12 @@ public class ProdutoServiceImpl implements ProdutoService{
         // Converter lista de entidades para lista de DTOs
         return produtos.stream()
                 .filter(Produto::getDisponivel) // Filtrar apenas produtos disponíveis
-                .map(produto -> modelMapper.map(produto, ProdutoResponseDTO.class))
+                .map(produtoMapper::toResponseDTO)
                 .toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProdutoResponseDTO> buscarPorCategoria(String categoria) {
 
         List<Produto> produtos = produtoRepository.findByCategoria(categoria);
@@ -136,11 +153,12 @@ public class ProdutoServiceImpl implements ProdutoService{
         }
 
         return produtos.stream()
-                .map(c -> modelMapper.map(c, ProdutoResponseDTO.class))
+                .map(produtoMapper::toResponseDTO)
                 .toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProdutoResponseDTO> buscarPorPreco(BigDecimal precoMinimo, BigDecimal precoMaximo) {
         // Buscar produtos por faixa de preço
         List<Produto> produtos = produtoRepository.findByPrecoLessThanEqual(precoMaximo);
@@ -150,11 +168,12 @@ public class ProdutoServiceImpl implements ProdutoService{
         // Converter lista de entidades para lista de DTOs
         return produtos.stream()
                 .filter(produto -> produto.getPreco().compareTo(precoMinimo) >= 0)
-                .map(produto -> modelMapper.map(produto, ProdutoResponseDTO.class))
+                .map(produtoMapper::toResponseDTO)
                 .toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProdutoResponseDTO> buscarTodosProdutos() {
         // Buscar todos os produtos
         List<Produto> produtos = produtoRepository.findAll();
@@ -163,11 +182,12 @@ public class ProdutoServiceImpl implements ProdutoService{
         }
         // Converter lista de entidades para lista de DTOs
         return produtos.stream()
-                .map(produto -> modelMapper.map(produto, ProdutoResponseDTO.class))
+                .map(produtoMapper::toResponseDTO)
                 .toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProdutoResponseDTO> buscarPorPrecoMenorOuIgual(BigDecimal valor) {
         // Buscar produtos com preço menor ou igual ao valor especificado
         List<Produto> produtos = produtoRepository.findByPrecoLessThanEqual(valor);
@@ -176,12 +196,12 @@ public class ProdutoServiceImpl implements ProdutoService{
         }
         // Converter lista de entidades para lista de DTOs
         return produtos.stream()
-                .map(produto -> modelMapper.map(produto, ProdutoResponseDTO.class))
+                .map(produtoMapper::toResponseDTO)
                 .toList();
     }
 
     @Override
-    @Cacheable(value = "produtos", key = "true")
+    @Cacheable(value = "produtos", key = "true", sync = true)
     public List<ProdutoResponseDTO> listarDisponiveis() {
         // Buscar produtos disponíveis
         List<Produto> produtos = produtoRepository.findByDisponivelTrue();
@@ -190,7 +210,7 @@ public class ProdutoServiceImpl implements ProdutoService{
         }
         // Converter lista de entidades para lista de DTOs
         return produtos.stream()
-                .map(produto -> modelMapper.map(produto, ProdutoResponseDTO.class))
+                .map(produtoMapper::toResponseDTO)
                 .toList();
     }
  
@@ -1,13 +1,18 @@
 package com.deliverytech.delivery_api.service.impl;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,20 +20,33 @@ import com.deliverytech.delivery_api.dto.request.RestauranteRequestDTO;
 import com.deliverytech.delivery_api.dto.response.RestauranteResponseDTO;
 import com.deliverytech.delivery_api.exceptions.BusinessException;
 import com.deliverytech.delivery_api.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery_api.mapper.RestauranteMapper;
 import com.deliverytech.delivery_api.model.Restaurante;
 import com.deliverytech.delivery_api.projection.RelatorioVendas;
 import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.repository.VendaDiariaRepository;
 import com.deliverytech.delivery_api.service.RestauranteService;
 
 @Service
+// Consultas em readOnly (réplica de leitura, se configurada); as que preenchem cache ficam no
+// primário: lidas de uma réplica atrasada, guardariam no cache o dado anterior ao @CacheEvict
 @Transactional
 public class RestauranteServiceImpl implements RestauranteService{
 
+    static final int TAMANHO_PAGINA_MAXIMO = 100;
+    // limites do tipo DATE do MySQL, usados quando o período não é informado
+    private static final LocalDate DATA_MINIMA = LocalDate.of(1000, 1, 1);
+    private static final LocalDate DATA_MAXIMA = LocalDate.of(9999, 12, 31);
+    private static final Set<String> CAMPOS_ORDENACAO = Set.of("id", "nome", "categoria", "avaliacao", "taxaEntrega");
+
     @Autowired
     private RestauranteRepository restauranteRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private VendaDiariaRepository vendaDiariaRepository;
+
+    @Autowired
+    private RestauranteMapper restauranteMapper;
 
     @Override
     @CacheEvict(value = "restaurantes", allEntries = true)
@@ -39,15 +57,15 @@ public class RestauranteServiceImpl implements RestauranteService{
             throw new BusinessException("Restaurante já cadastrado: " + dto.getNome());
         }
         // Converter DTO para entidade
-        Restaurante restaurante = modelMapper.map(dto, Restaurante.class);
+        Restaurante restaurante = restauranteMapper.toEntity(dto);
 
         Restaurante novoRestaurante = restauranteRepository.save(restaurante);
 
-        return modelMapper.map(novoRestaurante, RestauranteResponseDTO.class);
+        return restauranteMapper.toResponseDTO(novoRestaurante);
     }
 
     @Override
-    @Cacheable(value = "restaurantes")
+    @Cacheable(value = "restaurantes", sync = true)
     public List<RestauranteResponseDTO> listarAtivos() {
 
         List<Restaurante> restaurantesAtivos = restauranteRepository.findByAtivoTrue();
@@ -56,19 +74,34 @@ public class RestauranteServiceImpl implements RestauranteService{
         }
 
         return restaurantesAtivos.stream()
-                .map(c -> modelMapper.map(c, RestauranteResponseDTO.class))
+                .map(restauranteMapper::toResponseDTO)
                 .toList();
     }
 
     @Override
+    @Cacheable(value = "restaurantes", key = "'pagina:' + #pageable + ':' + #contarTotal", sync = true)
+    public Slice<RestauranteResponseDTO> listarAtivos(Pageable pageable, boolean contarTotal) {
+        Pageable pagina = normalizarPaginacao(pageable);
+
+        // Page faz o COUNT(*) para o total; Slice só sabe se existe próxima página
+        Slice<Restaurante> restaurantes = contarTotal
+                ? restauranteRepository.findByAtivoTrue(pagina)
+                : restauranteRepository.findSliceByAtivoTrue(pagina);
+
+        return restaurantes.map(restauranteMapper::toResponseDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public RestauranteResponseDTO buscarPorId(Long id) {
         Restaurante restaurante = restauranteRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado com ID: " + id));
 
-        return modelMapper.map(restaurante, RestauranteResponseDTO.class);
+        return restauranteMapper.toResponseDTO(restaurante);
     }
 
     @Override
+    @CacheEvict(value = "restaurantes", allEntries = true)
     public RestauranteResponseDTO atualizar(Long id, RestauranteRequestDTO dto) {
         Restaurante restauranteExistente = restauranteRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado: " + id));
@@ -81,10 +114,11 @@ public class RestauranteServiceImpl implements RestauranteService{
 
         Restaurante restauranteAtualizado = restauranteRepository.save(restauranteExistente);
 
-        return modelMapper.map(restauranteAtualizado, RestauranteResponseDTO.class);
+        return restauranteMapper.toResponseDTO(restauranteAtualizado);
     }
 
     @Override
+    @CacheEvict(value = "restaurantes", allEntries = true)
     public RestauranteResponseDTO ativarDesativarRestaurante(Long id) {
         Restaurante restauranteExistente = restauranteRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado: " + id));
@@ -93,10 +127,11 @@ public class RestauranteServiceImpl implements RestauranteService{
 
         Restaurante restauranteAtualizado = restauranteRepository.save(restauranteExistente);
         
-        return modelMapper.map(restauranteAtualizado, RestauranteResponseDTO.class);
+        return restauranteMapper.toResponseDTO(restauranteAtualizado);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public RestauranteResponseDTO buscarPorNome(String nome) {
         // Buscar restaurante por nome
         Restaurante restaurante = restauranteRepository.findByNomeAndAtivoTrue(nome);
@@ -107,10 +142,11 @@ public class RestauranteServiceImpl implements RestauranteService{
             throw new BusinessException("Restaurante está desativado: " + nome);
         }
         // Converter entidade para DTO
-        return modelMapper.map(restaurante, RestauranteResponseDTO.class);
+        return restauranteMapper.toResponseDTO(restaurante);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RestauranteResponseDTO> buscarPorCategoria(String categoria) {
 
         List<Restaurante> restaurantes = restauranteRepository.findByCategoria(categoria);
@@ -119,11 +155,12 @@ public class RestauranteServiceImpl implements RestauranteService{
         }
 
         return restaurantes.stream()
-                .map(c -> modelMapper.map(c, RestauranteResponseDTO.class))
+                .map(restauranteMapper::toResponseDTO)
                 .toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RestauranteResponseDTO> buscarPorPreco(BigDecimal precoMinimo, BigDecimal precoMaximo) {
         // Buscar restaurantes por taxa de entrega dentro do intervalo
         List<Restaurante> restaurantes = restauranteRepository.findByTaxaEntregaBetween(precoMinimo, precoMaximo);
@@ -132,11 +169,12 @@ public class RestauranteServiceImpl implements RestauranteService{
         }
         // Converter lista de entidades para lista de DTOs
         return restaurantes.stream()
-                .map(restaurante -> modelMapper.map(restaurante, RestauranteResponseDTO.class))
+                .map(restauranteMapper::toResponseDTO)
                 .toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RestauranteResponseDTO> listarTop5PorNome() {
         // Buscar os 5 primeiros restaurantes por nome
         List<Restaurante> top5Restaurantes = restauranteRepository.findTop5ByOrderByNomeAsc();
@@ -145,24 +183,36 @@ public class RestauranteServiceImpl implements RestauranteService{
         }
         // Converter lista de entidades para lista de DTOs
         return top5Restaurantes.stream()
-                .map(restaurante -> modelMapper.map(restaurante, RestauranteResponseDTO.class))
+                .map(restauranteMapper::toResponseDTO)
                 .toList();
     }
 
     @Override
-    public List<RelatorioVendas> relatorioVendasPorRestaurante() {
-        // Buscar relatório de vendas por restaurante
-        List<RelatorioVendas> relatorio = restauranteRepository.relatorioVendasPorRestaurante();
+    @Transactional(readOnly = true)
+    public List<RelatorioVendas> relatorioVendasPorRestaurante(LocalDate inicio, LocalDate fim) {
+        LocalDate de = inicio != null ? inicio : DATA_MINIMA;
+        LocalDate ate = fim != null ? fim : DATA_MAXIMA;
+        if (de.isAfter(ate)) {
+            throw new BusinessException("Data inicial deve ser anterior ou igual à data final");
+        }
+        // Lido do consolidado diário (vendas_diarias), sem varrer a tabela de pedidos
+        List<RelatorioVendas> relatorio = vendaDiariaRepository.relatorioPorRestaurante(de, ate);
         if (relatorio.isEmpty()) {
             throw new BusinessException("Nenhum dado de vendas encontrado.");
         }
-        // Converter lista de entidades para lista de DTOs
-        return relatorio.stream()
-                .map(restaurante -> modelMapper.map(restaurante, RelatorioVendas.class))
-                .toList();
+        // A projeção já é o formato de resposta
+        return relatorio;
+    }
+
+    @Override
+    public int reconstruirRelatorioVendas() {
+        // Recalcula o consolidado inteiro a partir dos pedidos
+        vendaDiariaRepository.limpar();
+        return vendaDiariaRepository.reconstruir();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RestauranteResponseDTO> buscarPorTaxaEntrega(BigDecimal taxaEntrega) {
         // Buscar restaurantes por taxa de entrega
         List<Restaurante> restaurantes = restauranteRepository.findByTaxaEntregaLessThanEqual(taxaEntrega);
@@ -171,11 +221,12 @@ public class RestauranteServiceImpl implements RestauranteService{
         }
         // Converter lista de entidades para lista de DTOs
         return restaurantes.stream()
-                .map(restaurante -> modelMapper.map(restaurante, RestauranteResponseDTO.class))
+                .map(restauranteMapper::toResponseDTO)
                 .toList();
     }
 
     @Override
+    @CacheEvict(value = "restaurantes", allEntries = true)
     public RestauranteResponseDTO inativarRestaurante(Long id) {
         // Buscar restaurante por ID
         Restaurante restaurante = restauranteRepository.findById(id)
@@ -189,7 +240,21 @@ public class RestauranteServiceImpl implements RestauranteService{
         // Salvar as alterações
         Restaurante restauranteInativado = restauranteRepository.save(restaurante);
         // Retornar DTO atualizado
-        return modelMapper.map(restauranteInativado, RestauranteResponseDTO.class);
+        return restauranteMapper.toResponseDTO(restauranteInativado);
+    }
+
+    // Limita o tamanho da página, aceita só campos conhecidos na ordenação e desempata por id
+    private Pageable normalizarPaginacao(Pageable pageable) {
+        int tamanho = Math.min(pageable.getPageSize(), TAMANHO_PAGINA_MAXIMO);
+
+        List<Sort.Order> ordens = pageable.getSort().stream()
+                .filter(ordem -> CAMPOS_ORDENACAO.contains(ordem.getProperty()))
+                .toList();
+        Sort sort = ordens.isEmpty() ? Sort.by("nome") : Sort.by(ordens);
+        if (sort.getOrderFor("id") == null) {
+            sort = sort.and(Sort.by("id"));
+        }
+
+        return PageRequest.of(pageable.getPageNumber(), tamanho, sort);
     }
-    
 }
@@ -7,11 +7,11 @@ import com.deliverytech.delivery_api.dto.response.UsuarioResponseDTO;
 import com.deliverytech.delivery_api.model.Usuario;
 import com.deliverytech.delivery_api.enums.Role;
 import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.mapper.UsuarioMapper;
 import com.deliverytech.delivery_api.repository.UsuarioRepository;
 import com.deliverytech.delivery_api.security.JwtUtil;
 import com.deliverytech.delivery_api.service.UsuarioService;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -26,7 +26,7 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class UsuarioServiceImpl implements UsuarioService {
     @Autowired
-    private ModelMapper modelMapper;
+    private UsuarioMapper usuarioMapper;
 
     @Autowired
     private UsuarioRepository usuarioRepository;
@@ -51,7 +51,7 @@ public class UsuarioServiceImpl implements UsuarioService {
                 .build();
         usuarioRepository.save(usuario);
 
-        return modelMapper.map(usuario, UsuarioResponseDTO.class);
+        return usuarioMapper.toResponseDTO(usuario);
 
     }
 
@@ -62,7 +62,7 @@ public class UsuarioServiceImpl implements UsuarioService {
                 .orElseThrow(() -> new BusinessException("Usuário inválido", String.valueOf(HttpStatus.UNAUTHORIZED)));
 
         LoginResponseDTO responseDTO = new LoginResponseDTO();
-        responseDTO.setUsuario(modelMapper.map(usuario, UsuarioResponseDTO.class));
+        responseDTO.setUsuario(usuarioMapper.toResponseDTO(usuario));
         responseDTO.setTipo("Bearer");
         responseDTO.setExpiracao(86400000L); // 1 dia em segundos
         responseDTO.setToken(jwtUtil.generateToken(User.withUsername(usuario.getEmail()).password(usuario.getSenha()).authorities("ROLE_" + usuario.getRole().name()).build(), usuario));
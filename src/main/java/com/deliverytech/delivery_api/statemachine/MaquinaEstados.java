@@ -0,0 +1,193 @@
+package com.deliverytech.delivery_api.statemachine;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Máquina de estados sobre um enum, montada uma vez pelo Builder e imutável depois.
+ *
+ * As transições permitidas ficam numa máscara de bits por estado de origem (bit i = destino
+ * de ordinal i), então validar uma transição é um AND sem alocação nem busca em mapa. As
+ * ações de transição rodam na ordem de registro, ao entrar no estado de destino.
+ *
+ * Métricas (com bindTo): {nome}{de, para, resultado=aplicada|rejeitada}, contadas em
+ * LongAdder pré-alocados por par de estados.
+ *
+ * @param <E> enum dos estados (até 64 constantes)
+ * @param <T> objeto que muda de estado, repassado às ações
+ */
+public final class MaquinaEstados<E extends Enum<E>, T> implements MeterBinder {
+
+    /** Efeito de uma transição já validada, executado por transicionar. */
+    @FunctionalInterface
+    public interface AcaoTransicao<E, T> {
+        void executar(T alvo, E de, E para);
+    }
+
+    private final Class<E> tipo;
+    private final E[] estados;
+    private final long[] destinos;
+    private final AcaoTransicao<E, T>[][] acoesAoEntrar;
+    private final String nomeMetrica;
+    private final LongAdder[][] aplicadas;
+    private final LongAdder[][] rejeitadas;
+
+    @SuppressWarnings("unchecked")
+    private MaquinaEstados(Builder<E, T> builder) {
+        this.tipo = builder.tipo;
+        this.estados = builder.tipo.getEnumConstants();
+        this.destinos = builder.destinos.clone();
+        this.nomeMetrica = builder.nomeMetrica;
+        this.acoesAoEntrar = new AcaoTransicao[estados.length][];
+        this.aplicadas = new LongAdder[estados.length][estados.length];
+        this.rejeitadas = new LongAdder[estados.length][estados.length];
+        for (int i = 0; i < estados.length; i++) {
+            acoesAoEntrar[i] = builder.acoesAoEntrar.get(i).toArray(new AcaoTransicao[0]);
+            for (int j = 0; j < estados.length; j++) {
+                aplicadas[i][j] = new LongAdder();
+                rejeitadas[i][j] = new LongAdder();
+            }
+        }
+    }
+
+    public static <E extends Enum<E>, T> Builder<E, T> builder(Class<E> tipo) {
+        return new Builder<>(tipo);
+    }
+
+    /** Consulta pura, sem métricas. */
+    public boolean permite(E de, E para) {
+        return (destinos[de.ordinal()] & (1L << para.ordinal())) != 0;
+    }
+
+    /** Como permite, mas conta a transição rejeitada na métrica. */
+    public boolean validar(E de, E para) {
+        if (permite(de, para)) {
+            return true;
+        }
+        rejeitadas[de.ordinal()][para.ordinal()].increment();
+        return false;
+    }
+
+    /**
+     * Valida a transição de cada origem para o mesmo destino, sem alocar: o resultado vai no
+     * BitSet do chamador (bit i = origens[i] pode ir para destino), que deve ter ao menos
+     * quantidade bits para não crescer. Origens nulas são rejeitadas.
+     *
+     * @return quantidade de transições válidas
+     */
+    public int validarLote(E[] origens, int quantidade, E destino, BitSet validas) {
+        validas.clear();
+        long bitDestino = 1L << destino.ordinal();
+        int validos = 0;
+        for (int i = 0; i < quantidade; i++) {
+            E origem = origens[i];
+            if (origem != null && (destinos[origem.ordinal()] & bitDestino) != 0) {
+                validas.set(i);
+                validos++;
+            } else if (origem != null) {
+                rejeitadas[origem.ordinal()][destino.ordinal()].increment();
+            }
+        }
+        return validos;
+    }
+
+    /**
+     * Registra a transição já gravada: conta na métrica e executa as ações do destino.
+     * A validação é do chamador (validar), normalmente antes de gravar.
+     */
+    public void transicionar(T alvo, E de, E para) {
+        if (!permite(de, para)) {
+            throw new IllegalStateException("Transição não permitida: " + de + " -> " + para);
+        }
+        for (AcaoTransicao<E, T> acao : acoesAoEntrar[para.ordinal()]) {
+            acao.executar(alvo, de, para);
+        }
+        aplicadas[de.ordinal()][para.ordinal()].increment();
+    }
+
+    /** Destinos possíveis a partir de um estado (aloca um EnumSet; fora do caminho crítico). */
+    public Set<E> destinos(E de) {
+        Set<E> resultado = EnumSet.noneOf(tipo);
+        for (E estado : estados) {
+            if (permite(de, estado)) {
+                resultado.add(estado);
+            }
+        }
+        return resultado;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (nomeMetrica == null) {
+            return;
+        }
+        for (E de : estados) {
+            for (E para : estados) {
+                // rejeições são registradas para todos os pares; aplicações só para os permitidos
+                if (permite(de, para)) {
+                    registrar(registry, de, para, "aplicada", aplicadas[de.ordinal()][para.ordinal()]);
+                }
+                registrar(registry, de, para, "rejeitada", rejeitadas[de.ordinal()][para.ordinal()]);
+            }
+        }
+    }
+
+    private void registrar(MeterRegistry registry, E de, E para, String resultado, LongAdder contador) {
+        FunctionCounter.builder(nomeMetrica, contador, LongAdder::sum)
+                .description("Transições de estado de " + tipo.getSimpleName())
+                .tag("de", de.name())
+                .tag("para", para.name())
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+
+    public static final class Builder<E extends Enum<E>, T> {
+
+        private final Class<E> tipo;
+        private final long[] destinos;
+        private final List<List<AcaoTransicao<E, T>>> acoesAoEntrar = new ArrayList<>();
+        private String nomeMetrica;
+
+        private Builder(Class<E> tipo) {
+            int quantidade = tipo.getEnumConstants().length;
+            if (quantidade > Long.SIZE) {
+                throw new IllegalArgumentException(tipo.getSimpleName() + " tem mais de 64 estados");
+            }
+            this.tipo = tipo;
+            this.destinos = new long[quantidade];
+            for (int i = 0; i < quantidade; i++) {
+                acoesAoEntrar.add(new ArrayList<>());
+            }
+        }
+
+        @SafeVarargs
+        public final Builder<E, T> transicao(E de, E... para) {
+            for (E destino : para) {
+                destinos[de.ordinal()] |= 1L << destino.ordinal();
+            }
+            return this;
+        }
+
+        public Builder<E, T> aoEntrar(E estado, AcaoTransicao<E, T> acao) {
+            acoesAoEntrar.get(estado.ordinal()).add(acao);
+            return this;
+        }
+
+        public Builder<E, T> metricas(String nome) {
+            this.nomeMetrica = nome;
+            return this;
+        }
+
+        public MaquinaEstados<E, T> build() {
+            return new MaquinaEstados<>(this);
+        }
+    }
+}
@@ -34,6 +34,7 @@ CREATE TABLE IF NOT EXISTS pedidos (
     numero_pedido VARCHAR(20) NOT NULL,
     data_pedido TIMESTAMP,
     status VARCHAR(20),
+    versao BIGINT NOT NULL DEFAULT 0,
     valor_total DECIMAL(10,2),
     observacoes VARCHAR(200),
     cliente_id INT,
@@ -41,4 +42,52 @@ CREATE TABLE IF NOT EXISTS pedidos (
     itens VARCHAR(200),
     FOREIGN KEY (cliente_id) REFERENCES clientes(id),
     FOREIGN KEY (restaurante_id) REFERENCES restaurantes(id)
-);
\ No newline at end of file
+);
+
+CREATE TABLE IF NOT EXISTS item_pedido (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    quantidade INT NOT NULL,
+    preco_unitario DECIMAL(10,2),
+    subtotal DECIMAL(10,2),
+    pedido_id INT,
+    produto_id INT,
+    FOREIGN KEY (pedido_id) REFERENCES pedidos(id),
+    FOREIGN KEY (produto_id) REFERENCES produtos(id)
+);
+
+-- Sequences pooled de Pedido e ItemPedido (allocationSize = 50).
+-- No MySQL são emuladas por tabela; next_val fica sempre após o maior id da própria tabela
+-- (ids da época do IDENTITY). Só roda com spring.sql.init.mode=always, uma vez na migração;
+-- repetir é seguro: o UPDATE só avança, nunca volta.
+CREATE TABLE IF NOT EXISTS pedidos_seq (
+    next_val BIGINT
+);
+
+INSERT INTO pedidos_seq (next_val)
+SELECT inicial.next_val FROM (SELECT COALESCE(MAX(id), 0) + 50 AS next_val FROM pedidos) inicial
+WHERE NOT EXISTS (SELECT 1 FROM pedidos_seq);
+
+UPDATE pedidos_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM pedidos));
+
+CREATE TABLE IF NOT EXISTS item_pedido_seq (
+    next_val BIGINT
+);
+
+INSERT INTO item_pedido_seq (next_val)
+SELECT inicial.next_val FROM (SELECT COALESCE(MAX(id), 0) + 50 AS next_val FROM item_pedido) inicial
+WHERE NOT EXISTS (SELECT 1 FROM item_pedido_seq);
+
+UPDATE item_pedido_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM item_pedido));
+
+-- Consolidado diário de vendas por restaurante (relatório de vendas).
+-- Mantido pelo PedidoService; pode ser recalculado via POST /restaurantes/relatorio-vendas/reconstruir.
+CREATE TABLE IF NOT EXISTS vendas_diarias (
+    restaurante_id BIGINT NOT NULL,
+    data DATE NOT NULL,
+    total_vendas DECIMAL(14,2) NOT NULL,
+    quantidade_pedidos BIGINT NOT NULL,
+    quantidade_entregues BIGINT NOT NULL,
+    PRIMARY KEY (restaurante_id, data)
+);
@@ -0,0 +1,92 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gerador de carga HTTP simples: N clientes concorrentes (um por virtual thread,
+ * para que o cliente não seja o gargalo) repetindo GET na URL durante o tempo informado.
+ *
+ * Uso: java -cp ... CargaHttp <url> [clientes=2000] [segundos=30]
+ * O token JWT, se necessário, vem da variável de ambiente DELIVERY_TOKEN.
+ *
+ * Para comparar os modos, rode a API duas vezes, com
+ * --spring.threads.virtual.enabled=false e depois =true, contra o mesmo MySQL.
+ */
+public class CargaHttp {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Uso: CargaHttp <url> [clientes] [segundos]");
+            System.exit(1);
+        }
+        URI uri = URI.create(args[0]);
+        int clientes = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        String token = System.getenv("DELIVERY_TOKEN");
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET();
+        if (token != null && !token.isBlank()) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = builder.build();
+
+        LongAdder sucesso = new LongAdder();
+        LongAdder erros = new LongAdder();
+        List<Long> latencias = Collections.synchronizedList(new ArrayList<>());
+        long fim = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clientes; i++) {
+                executor.submit(() -> {
+                    List<Long> locais = new ArrayList<>();
+                    while (System.nanoTime() < fim) {
+                        long inicio = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() < 400) {
+                                sucesso.increment();
+                            } else {
+                                erros.increment();
+                            }
+                        } catch (Exception e) {
+                            erros.increment();
+                        }
+                        locais.add(System.nanoTime() - inicio);
+                    }
+                    latencias.addAll(locais);
+                });
+            }
+        }
+
+        List<Long> ordenadas = new ArrayList<>(latencias);
+        Collections.sort(ordenadas);
+        System.out.printf("URL: %s | clientes: %d | duração: %ds%n", uri, clientes, segundos);
+        System.out.printf("Requisições: %d ok, %d erros | vazão: %.1f req/s%n",
+                sucesso.sum(), erros.sum(), (double) sucesso.sum() / segundos);
+        System.out.printf("Latência (ms): p50 %.1f | p95 %.1f | p99 %.1f | máx %.1f%n",
+                percentil(ordenadas, 50), percentil(ordenadas, 95), percentil(ordenadas, 99), percentil(ordenadas, 100));
+    }
+
+    private static double percentil(List<Long> ordenadas, int p) {
+        if (ordenadas.isEmpty()) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(p / 100.0 * ordenadas.size()) - 1;
+        return ordenadas.get(Math.max(indice, 0)) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,362 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import com.deliverytech.delivery_api.enums.Role;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.model.Usuario;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga HTTP de ponta a ponta contra a API real (Tomcat + H2, perfil test).
+ *
+ * Reproduz o tráfego da coleção Postman (login, listagem de restaurantes, cardápio,
+ * criação de pedido e mudança de status) com vários clientes concorrentes, mede
+ * p50/p95/p99 e vazão por endpoint e falha se algum SLO de carga-slo.properties
+ * for violado.
+ *
+ * Uso: mvn -Pcarga verify [-Dcarga.clientes=20] [-Dcarga.segundos=20] [-Dcarga.aquecimento=5]
+ * O relatório também é gravado em target/carga-resultado.txt.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("Teste de carga HTTP com SLOs de latência")
+@Slf4j
+class CargaHttpIT {
+
+    private static final String SENHA = "senha123";
+
+    /** Endpoints e pesos do tráfego simulado (soma = 100). */
+    private static final Map<String, Integer> PESOS = new LinkedHashMap<>();
+
+    static {
+        PESOS.put("login", 5);
+        PESOS.put("restaurantes", 30);
+        PESOS.put("cardapio", 30);
+        PESOS.put("criar-pedido", 20);
+        PESOS.put("atualizar-status", 15);
+    }
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private final AtomicLong sequencia = new AtomicLong();
+
+    private String email;
+    private Long clienteId;
+    private Long restauranteId;
+    private List<Long> produtos;
+
+    @BeforeEach
+    void setup() {
+        email = "carga" + System.nanoTime() + "@teste.com";
+        Usuario usuario = new Usuario();
+        usuario.setNome("Usuário Carga");
+        usuario.setEmail(email);
+        usuario.setSenha(passwordEncoder.encode(SENHA));
+        usuario.setRole(Role.CLIENTE);
+        usuario.setAtivo(true);
+        usuario.setDataCriacao(LocalDateTime.now());
+        usuarioRepository.save(usuario);
+
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Carga");
+        cliente.setEmail(email);
+        cliente.setAtivo(true);
+        clienteId = clienteRepository.save(cliente).getId();
+
+        for (int i = 0; i < 10; i++) {
+            Restaurante restaurante = new Restaurante();
+            restaurante.setNome("Restaurante Carga " + i);
+            restaurante.setCategoria(i % 2 == 0 ? "Italiana" : "Japonesa");
+            restaurante.setTaxaEntrega(BigDecimal.valueOf(5.0));
+            restaurante.setAtivo(true);
+            restauranteRepository.save(restaurante);
+            restauranteId = restaurante.getId();
+        }
+
+        Restaurante restaurante = restauranteRepository.findById(restauranteId).orElseThrow();
+        produtos = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Produto produto = new Produto();
+            produto.setNome("Produto Carga " + i);
+            produto.setCategoria("Pizza");
+            produto.setPreco(BigDecimal.valueOf(10 + i));
+            produto.setDisponivel(true);
+            produto.setRestaurante(restaurante);
+            produtos.add(produtoRepository.save(produto).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Tráfego misto deve respeitar os SLOs de latência e de erros")
+    void trafegoMisto_deveRespeitarSlos() throws Exception {
+        int clientes = Integer.getInteger("carga.clientes", 20);
+        int segundos = Integer.getInteger("carga.segundos", 20);
+        int aquecimento = Integer.getInteger("carga.aquecimento", 5);
+        Properties slos = carregarSlos();
+        String token = login();
+
+        Map<String, Medicoes> medicoes = new LinkedHashMap<>();
+        PESOS.keySet().forEach(endpoint -> medicoes.put(endpoint, new Medicoes()));
+
+        long inicioMedicao = System.nanoTime() + Duration.ofSeconds(aquecimento).toNanos();
+        long fim = inicioMedicao + Duration.ofSeconds(segundos).toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clientes; i++) {
+                executor.submit(() -> simularCliente(token, medicoes, inicioMedicao, fim));
+            }
+        }
+
+        String relatorio = relatorio(medicoes, clientes, segundos);
+        log.info("Resultado da carga:\n{}", relatorio);
+        Files.writeString(Path.of("target", "carga-resultado.txt"), relatorio);
+
+        List<Executable> verificacoes = new ArrayList<>();
+        medicoes.forEach((endpoint, m) -> {
+            verificacoes.add(() -> assertTrue(m.total() > 0, endpoint + ": nenhuma requisição medida"));
+            verificarSlo(verificacoes, slos, endpoint, "p95", m.percentil(95));
+            verificarSlo(verificacoes, slos, endpoint, "p99", m.percentil(99));
+            verificarSlo(verificacoes, slos, endpoint, "erros", m.percentualErros());
+        });
+        assertAll("SLOs de carga", verificacoes);
+    }
+
+    /** Um cliente: escolhe a próxima chamada pelos pesos até o fim do teste. */
+    private void simularCliente(String token, Map<String, Medicoes> medicoes, long inicioMedicao, long fim) {
+        Deque<Long> pendentes = new ArrayDeque<>();
+        Map<String, Medicoes> locais = new LinkedHashMap<>();
+        PESOS.keySet().forEach(endpoint -> locais.put(endpoint, new Medicoes()));
+
+        while (System.nanoTime() < fim) {
+            String endpoint = sortear();
+            if (endpoint.equals("atualizar-status") && pendentes.isEmpty()) {
+                endpoint = "criar-pedido";
+            }
+            long inicio = System.nanoTime();
+            boolean ok;
+            try {
+                ok = switch (endpoint) {
+                    case "login" -> executar(post("/auth/login", null,
+                            "{\"email\":\"" + email + "\",\"senha\":\"" + SENHA + "\"}")).statusCode() == 200;
+                    case "restaurantes" -> executar(get("/restaurantes?page=0&size=20", token)).statusCode() == 200;
+                    case "cardapio" -> executar(get("/produtos/restaurante/" + restauranteId, token)).statusCode() == 200;
+                    case "criar-pedido" -> criarPedido(token, pendentes);
+                    default -> executar(patch("/pedidos/" + pendentes.poll() + "/status?status=CONFIRMADO", token))
+                            .statusCode() == 200;
+                };
+            } catch (IOException | InterruptedException e) {
+                ok = false;
+            }
+            if (inicio >= inicioMedicao) {
+                locais.get(endpoint).registrar(System.nanoTime() - inicio, ok);
+            }
+        }
+        locais.forEach((endpoint, m) -> medicoes.get(endpoint).juntar(m));
+    }
+
+    private boolean criarPedido(String token, Deque<Long> pendentes) throws IOException, InterruptedException {
+        int quantidadeItens = ThreadLocalRandom.current().nextInt(1, 6);
+        StringBuilder itens = new StringBuilder();
+        for (int i = 0; i < quantidadeItens; i++) {
+            Long produtoId = produtos.get(ThreadLocalRandom.current().nextInt(produtos.size()));
+            itens.append(i == 0 ? "" : ",")
+                    .append("{\"produtoId\":").append(produtoId).append(",\"quantidade\":2}");
+        }
+        String corpo = "{\"numeroPedido\":\"CARGA" + sequencia.incrementAndGet() + "\","
+                + "\"dataPedido\":\"" + LocalDateTime.now() + "\",\"valorTotal\":0,"
+                + "\"clienteId\":" + clienteId + ",\"restauranteId\":" + restauranteId + ","
+                + "\"cep\":\"01310-100\",\"enderecoEntrega\":\"Rua das Flores, 123\","
+                + "\"itens\":[" + itens + "]}";
+
+        HttpResponse<String> response = executar(post("/pedidos", token, corpo));
+        if (response.statusCode() != 201) {
+            return false;
+        }
+        pendentes.add(objectMapper.readTree(response.body()).get("id").asLong());
+        return true;
+    }
+
+    private String login() throws Exception {
+        HttpResponse<String> response = executar(post("/auth/login", null,
+                "{\"email\":\"" + email + "\",\"senha\":\"" + SENHA + "\"}"));
+        JsonNode corpo = objectMapper.readTree(response.body());
+        return corpo.get("token").asText();
+    }
+
+    private static String sortear() {
+        int sorteio = ThreadLocalRandom.current().nextInt(100);
+        for (Map.Entry<String, Integer> peso : PESOS.entrySet()) {
+            sorteio -= peso.getValue();
+            if (sorteio < 0) {
+                return peso.getKey();
+            }
+        }
+        return "restaurantes";
+    }
+
+    private HttpResponse<String> executar(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(String caminho, String token) {
+        return requisicao(caminho, token).GET().build();
+    }
+
+    private HttpRequest post(String caminho, String token, String json) {
+        return requisicao(caminho, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest patch(String caminho, String token) {
+        return requisicao(caminho, token).method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private HttpRequest.Builder requisicao(String caminho, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private static Properties carregarSlos() throws IOException {
+        String arquivo = System.getProperty("carga.slo", "carga-slo.properties");
+        Properties slos = new Properties();
+        try (InputStream in = CargaHttpIT.class.getClassLoader().getResourceAsStream(arquivo)) {
+            if (in == null) {
+                throw new IOException("Arquivo de SLOs não encontrado no classpath: " + arquivo);
+            }
+            slos.load(in);
+        }
+        return slos;
+    }
+
+    private static void verificarSlo(List<Executable> verificacoes, Properties slos, String endpoint,
+                                     String metrica, double medido) {
+        String chave = endpoint + "." + metrica;
+        String limite = System.getProperty("carga.slo." + chave, slos.getProperty(chave));
+        if (limite == null) {
+            return;
+        }
+        double maximo = Double.parseDouble(limite);
+        verificacoes.add(() -> assertTrue(medido <= maximo,
+                String.format("SLO violado: %s = %.1f (máximo %.1f)", chave, medido, maximo)));
+    }
+
+    private static String relatorio(Map<String, Medicoes> medicoes, int clientes, int segundos) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Carga HTTP | clientes: %d | duração medida: %ds%n", clientes, segundos));
+        sb.append(String.format("%-18s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "req", "erros%", "req/s", "p50 ms", "p95 ms", "p99 ms", "máx ms"));
+        medicoes.forEach((endpoint, m) -> sb.append(String.format("%-18s %8d %7.2f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                endpoint, m.total(), m.percentualErros(), (double) m.total() / segundos,
+                m.percentil(50), m.percentil(95), m.percentil(99), m.percentil(100))));
+        return sb.toString();
+    }
+
+    /** Latências (ns) e erros de um endpoint. */
+    private static final class Medicoes {
+
+        private final List<Long> latencias = new ArrayList<>();
+        private long erros;
+
+        void registrar(long nanos, boolean ok) {
+            latencias.add(nanos);
+            if (!ok) {
+                erros++;
+            }
+        }
+
+        synchronized void juntar(Medicoes outras) {
+            latencias.addAll(outras.latencias);
+            erros += outras.erros;
+        }
+
+        synchronized long total() {
+            return latencias.size();
+        }
+
+        synchronized double percentualErros() {
+            return latencias.isEmpty() ? 0 : 100.0 * erros / latencias.size();
+        }
+
+        synchronized double percentil(int p) {
+            if (latencias.isEmpty()) {
+                return 0;
+            }
+            List<Long> ordenadas = new ArrayList<>(latencias);
+            Collections.sort(ordenadas);
+            int indice = (int) Math.ceil(p / 100.0 * ordenadas.size()) - 1;
+            return ordenadas.get(Math.max(indice, 0)) / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import com.deliverytech.delivery_api.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery_api.dto.response.ProdutoResponseDTO;
+import com.deliverytech.delivery_api.mapper.MapperFixtures;
+import com.deliverytech.delivery_api.mapper.PedidoMapper;
+import com.deliverytech.delivery_api.mapper.ProdutoMapper;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o ModelMapper (configuração antiga, LOOSE + acesso a campos privados)
+ * com os mappers gerados pelo MapStruct.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeamentoBenchmark {
+
+    @Param({"1000"})
+    private int quantidadeProdutos;
+
+    private ModelMapper modelMapper;
+    private ProdutoMapper produtoMapper;
+    private PedidoMapper pedidoMapper;
+
+    private List<Produto> produtos;
+    private Pedido pedido;
+
+    @Setup
+    public void setup() {
+        modelMapper = MapperFixtures.modelMapperLegado();
+        produtoMapper = Mappers.getMapper(ProdutoMapper.class);
+        pedidoMapper = Mappers.getMapper(PedidoMapper.class);
+        produtos = MapperFixtures.produtos(quantidadeProdutos);
+        pedido = MapperFixtures.pedido(10);
+    }
+
+    @Benchmark
+    public List<ProdutoResponseDTO> listaProdutosModelMapper() {
+        return produtos.stream()
+                .map(produto -> modelMapper.map(produto, ProdutoResponseDTO.class))
+                .toList();
+    }
+
+    @Benchmark
+    public List<ProdutoResponseDTO> listaProdutosMapStruct() {
+        return produtos.stream()
+                .map(produtoMapper::toResponseDTO)
+                .toList();
+    }
+
+    @Benchmark
+    public PedidoResponseDTO pedidoModelMapper() {
+        return modelMapper.map(pedido, PedidoResponseDTO.class);
+    }
+
+    @Benchmark
+    public PedidoResponseDTO pedidoMapStruct() {
+        return pedidoMapper.toResponseDTO(pedido);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MapeamentoBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
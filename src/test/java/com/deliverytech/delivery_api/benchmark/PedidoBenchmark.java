@@ -0,0 +1,121 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import com.deliverytech.delivery_api.DeliveryApiApplication;
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.service.PedidoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PedidoServiceImpl.criarPedido de ponta a ponta (validações, consulta de produtos,
+ * inserts em batch e consolidado de vendas) contra o H2 embarcado do profile "test".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PedidoBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int quantidadeItens;
+
+    private ConfigurableApplicationContext context;
+    private PedidoService pedidoService;
+    private PedidoRequestDTO pedido;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(DeliveryApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("logging.level.root=WARN",
+                        "logging.level.org.springframework.web=WARN",
+                        "spring.devtools.restart.enabled=false")
+                .run();
+        pedidoService = context.getBean(PedidoService.class);
+
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Benchmark");
+        cliente.setEmail("benchmark@teste.com");
+        cliente.setAtivo(true);
+        context.getBean(ClienteRepository.class).save(cliente);
+
+        Restaurante restaurante = new Restaurante();
+        restaurante.setNome("Restaurante Benchmark");
+        restaurante.setTaxaEntrega(BigDecimal.valueOf(5.0));
+        restaurante.setAtivo(true);
+        context.getBean(RestauranteRepository.class).save(restaurante);
+
+        List<Produto> produtos = new ArrayList<>();
+        for (int i = 0; i < quantidadeItens; i++) {
+            Produto produto = new Produto();
+            produto.setNome("Produto " + i);
+            produto.setPreco(BigDecimal.valueOf(10.0));
+            produto.setDisponivel(true);
+            produto.setRestaurante(restaurante);
+            produtos.add(produto);
+        }
+        context.getBean(ProdutoRepository.class).saveAll(produtos);
+
+        List<ItemPedidoRequestDTO> itens = new ArrayList<>();
+        for (Produto produto : produtos) {
+            ItemPedidoRequestDTO item = new ItemPedidoRequestDTO();
+            item.setProdutoId(produto.getId());
+            item.setQuantidade(1);
+            itens.add(item);
+        }
+        pedido = new PedidoRequestDTO();
+        pedido.setNumeroPedido("BENCH");
+        pedido.setClienteId(cliente.getId());
+        pedido.setRestauranteId(restaurante.getId());
+        pedido.setItens(itens);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PedidoResponseDTO criarPedido() {
+        return pedidoService.criarPedido(pedido);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PedidoBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
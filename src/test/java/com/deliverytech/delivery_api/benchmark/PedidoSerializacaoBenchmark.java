@@ -0,0 +1,85 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import com.deliverytech.delivery_api.dto.response.CursorPageResponseWrapper;
+import com.deliverytech.delivery_api.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoResumoResponseDTO;
+import com.deliverytech.delivery_api.mapper.MapperFixtures;
+import com.deliverytech.delivery_api.mapper.PedidoMapper;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização JSON de uma página do histórico de pedidos nas visões
+ * full (PedidoResponseDTO com entidades Cliente/Restaurante e itens) e
+ * summary (PedidoResumoResponseDTO). O tamanho de cada payload vai para o log no setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Slf4j
+public class PedidoSerializacaoBenchmark {
+
+    @Param({"20"})
+    private int quantidadePedidos;
+
+    @Param({"5"})
+    private int itensPorPedido;
+
+    private ObjectMapper objectMapper;
+    private CursorPageResponseWrapper<PedidoResponseDTO> paginaCompleta;
+    private CursorPageResponseWrapper<PedidoResumoResponseDTO> paginaResumida;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        // mesma configuração padrão do ObjectMapper do Spring Boot
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        PedidoMapper pedidoMapper = Mappers.getMapper(PedidoMapper.class);
+
+        List<PedidoResponseDTO> completos = new ArrayList<>();
+        List<PedidoResumoResponseDTO> resumos = new ArrayList<>();
+        for (int i = 0; i < quantidadePedidos; i++) {
+            Pedido pedido = MapperFixtures.pedido(itensPorPedido);
+            completos.add(pedidoMapper.toResponseDTO(pedido));
+            resumos.add(new PedidoResumoResponseDTO(pedido.getId(), pedido.getNumeroPedido(), pedido.getDataPedido(),
+                    pedido.getStatus(), pedido.getValorTotal(), pedido.getCliente().getId(), pedido.getCliente().getNome(),
+                    pedido.getRestaurante().getId(), pedido.getRestaurante().getNome(), pedido.getItens().size()));
+        }
+        paginaCompleta = new CursorPageResponseWrapper<>(completos, quantidadePedidos, "MjAyNS0wMS0wMVQxMjowMHwx", true);
+        paginaResumida = new CursorPageResponseWrapper<>(resumos, quantidadePedidos, "MjAyNS0wMS0wMVQxMjowMHwx", true);
+
+        log.info("Payload da página ({} pedidos): full {} bytes, summary {} bytes",
+                quantidadePedidos, paginaCompleta().length, paginaResumida().length);
+    }
+
+    @Benchmark
+    public byte[] paginaCompleta() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(paginaCompleta);
+    }
+
+    @Benchmark
+    public byte[] paginaResumida() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(paginaResumida);
+    }
+}
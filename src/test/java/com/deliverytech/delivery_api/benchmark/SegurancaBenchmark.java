@@ -0,0 +1,80 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import com.deliverytech.delivery_api.enums.Role;
+import com.deliverytech.delivery_api.model.Usuario;
+import com.deliverytech.delivery_api.security.JwtUtil;
+import com.deliverytech.delivery_api.security.TokenCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminho quente da autenticação: geração e validação de JWT (HMAC) e
+ * a consulta ao cache de tokens já verificados usado pelo JwtAuthenticationFilter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SegurancaBenchmark {
+
+    private JwtUtil jwtUtil;
+    private TokenCache tokenCache;
+    private Usuario usuario;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil();
+        tokenCache = new TokenCache(10_000, Duration.ofMinutes(5));
+
+        usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setEmail("benchmark@teste.com");
+        usuario.setRole(Role.CLIENTE);
+        userDetails = User.withUsername(usuario.getEmail()).password("hash").authorities("ROLE_CLIENTE").build();
+
+        token = jwtUtil.generateToken(userDetails, usuario);
+        tokenCache.guardar(token, userDetails, Instant.now().plus(Duration.ofHours(1)));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(userDetails, usuario);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public TokenCache.TokenVerificado tokenVerificadoEmCache() {
+        return tokenCache.buscar(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SegurancaBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
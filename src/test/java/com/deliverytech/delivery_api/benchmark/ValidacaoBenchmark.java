@@ -0,0 +1,77 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import com.deliverytech.delivery_api.validation.CEPValidator;
+import com.deliverytech.delivery_api.validation.CategoriaValidator;
+import com.deliverytech.delivery_api.validation.TelefoneValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validadores customizados do pacote validation, executados a cada request validado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoBenchmark {
+
+    @Param({"valido", "invalido"})
+    private String caso;
+
+    private CEPValidator cepValidator;
+    private TelefoneValidator telefoneValidator;
+    private CategoriaValidator categoriaValidator;
+
+    private String cep;
+    private String telefone;
+    private String categoria;
+
+    @Setup
+    public void setup() {
+        cepValidator = new CEPValidator();
+        telefoneValidator = new TelefoneValidator();
+        categoriaValidator = new CategoriaValidator();
+
+        boolean valido = caso.equals("valido");
+        cep = valido ? "01310-100" : "0131-0100";
+        telefone = valido ? "(11) 99999-8888" : "11 99999 8888";
+        categoria = valido ? "Italiana" : "   ";
+    }
+
+    @Benchmark
+    public boolean cep() {
+        return cepValidator.isValid(cep, null);
+    }
+
+    @Benchmark
+    public boolean telefone() {
+        return telefoneValidator.isValid(telefone, null);
+    }
+
+    @Benchmark
+    public boolean categoria() {
+        return categoriaValidator.isValid(categoria, null);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ValidacaoBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
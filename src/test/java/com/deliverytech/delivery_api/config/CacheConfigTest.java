@@ -0,0 +1,74 @@
+package com.deliverytech.delivery_api.config;
+
+import com.deliverytech.delivery_api.dto.response.CacheEstatisticasResponseDTO;
+import com.deliverytech.delivery_api.security.TokenCache;
+import com.deliverytech.delivery_api.service.impl.CacheServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes de configuração do cache")
+class CacheConfigTest {
+
+    private CacheManager cacheManager() {
+        CacheProperties.Spec produtos = new CacheProperties.Spec();
+        produtos.setMaximumSize(2L);
+        produtos.setExpireAfterWrite(Duration.ofMinutes(1));
+
+        CacheProperties properties = new CacheProperties();
+        properties.getPadrao().setMaximumSize(100L);
+        properties.getCaches().put("produtos", produtos);
+        return new CacheConfig().cacheManager(properties);
+    }
+
+    @Test
+    @DisplayName("Cache deve respeitar o tamanho máximo configurado")
+    void cacheLimitadoPorTamanho() {
+        Cache cache = cacheManager().getCache("produtos");
+        for (long restauranteId = 1; restauranteId <= 10; restauranteId++) {
+            cache.put(restauranteId, "menu " + restauranteId);
+        }
+
+        var nativeCache = ((CaffeineCache) cache).getNativeCache();
+        nativeCache.cleanUp();
+        assertTrue(nativeCache.estimatedSize() <= 2);
+        assertTrue(nativeCache.stats().evictionCount() >= 8);
+    }
+
+    @Test
+    @DisplayName("Somente os caches da aplicação devem existir")
+    void cacheDesconhecidoNaoECriado() {
+        CacheManager cacheManager = cacheManager();
+        assertNotNull(cacheManager.getCache("restaurantes"));
+        assertNull(cacheManager.getCache("desconhecido"));
+    }
+
+    @Test
+    @DisplayName("Estatísticas devem contar acertos, falhas e cargas")
+    void estatisticasPorCache() {
+        CacheManager cacheManager = cacheManager();
+        CacheServiceImpl cacheService = new CacheServiceImpl();
+        ReflectionTestUtils.setField(cacheService, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(cacheService, "tokenCache", new TokenCache(100, Duration.ofMinutes(5)));
+
+        Cache cache = cacheManager.getCache("restaurantes");
+        cache.get("ativos", () -> "lista");
+        cache.get("ativos", () -> "lista");
+
+        CacheEstatisticasResponseDTO estatisticas = cacheService.estatisticas().stream()
+                .filter(e -> e.getNome().equals("restaurantes"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1, estatisticas.getAcertos());
+        assertEquals(1, estatisticas.getFalhas());
+        assertEquals(1, estatisticas.getCargas());
+        assertEquals(0.5, estatisticas.getTaxaAcerto());
+    }
+}
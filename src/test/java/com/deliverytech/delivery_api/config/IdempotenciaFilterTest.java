@@ -0,0 +1,241 @@
+package com.deliverytech.delivery_api.config;
+
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Idempotency-Key no POST /pedidos")
+class IdempotenciaFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    private Cliente cliente;
+    private Restaurante restaurante;
+    private Produto produto;
+
+    @BeforeEach
+    void setup() {
+        cliente = new Cliente();
+        cliente.setNome("Cliente Idempotência");
+        cliente.setEmail("idempotencia" + System.nanoTime() + "@teste.com");
+        cliente.setAtivo(true);
+        clienteRepository.save(cliente);
+
+        restaurante = new Restaurante();
+        restaurante.setNome("Restaurante Idempotência");
+        restaurante.setTaxaEntrega(BigDecimal.ONE);
+        restaurante.setAtivo(true);
+        restauranteRepository.save(restaurante);
+
+        produto = new Produto();
+        produto.setNome("Produto Idempotência");
+        produto.setPreco(BigDecimal.TEN);
+        produto.setDisponivel(true);
+        produto.setRestaurante(restaurante);
+        produtoRepository.save(produto);
+    }
+
+    @Test
+    @DisplayName("Repetição com a mesma chave deve receber a primeira resposta sem criar outro pedido")
+    void repeticao_devolveRespostaGuardada() throws Exception {
+        String chave = UUID.randomUUID().toString();
+        String numero = "IDEM-" + System.nanoTime();
+
+        MvcResult primeira = mockMvc.perform(pedido(chave, numero, 1))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotenciaFilter.HEADER_REPETIDA))
+                .andReturn();
+        MvcResult repetida = mockMvc.perform(pedido(chave, numero, 1))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotenciaFilter.HEADER_REPETIDA, "true"))
+                .andReturn();
+
+        assertEquals(primeira.getResponse().getContentAsString(), repetida.getResponse().getContentAsString());
+        assertEquals(1, pedidosComNumero(numero));
+    }
+
+    @Test
+    @DisplayName("Mesma chave com outro corpo deve ser rejeitada com 422")
+    void mesmaChaveOutroCorpo_422() throws Exception {
+        String chave = UUID.randomUUID().toString();
+        String numero = "IDEM-" + System.nanoTime();
+
+        mockMvc.perform(pedido(chave, numero, 1)).andExpect(status().isCreated());
+        mockMvc.perform(pedido(chave, numero, 2)).andExpect(status().isUnprocessableEntity());
+
+        assertEquals(1, pedidosComNumero(numero));
+    }
+
+    @Test
+    @DisplayName("A chave é separada por usuário")
+    void chavePorUsuario() throws Exception {
+        String chave = UUID.randomUUID().toString();
+        String numero = "IDEM-" + System.nanoTime();
+
+        mockMvc.perform(pedido(chave, numero, 1)).andExpect(status().isCreated());
+        mockMvc.perform(pedido(chave, numero, 1).with(user("outro-usuario")))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotenciaFilter.HEADER_REPETIDA));
+
+        assertEquals(2, pedidosComNumero(numero));
+    }
+
+    @Test
+    @DisplayName("Repetições simultâneas devem executar uma única vez")
+    void repeticoesSimultaneas_executamUmaVez() throws Exception {
+        int requisicoes = 8;
+        String chave = UUID.randomUUID().toString();
+        String numero = "IDEM-" + System.nanoTime();
+
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Callable<MvcResult>> tarefas = new ArrayList<>();
+        for (int i = 0; i < requisicoes; i++) {
+            tarefas.add(() -> {
+                largada.await();
+                return mockMvc.perform(pedido(chave, numero, 1)).andReturn();
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(requisicoes);
+        try {
+            List<Future<MvcResult>> futuros = new ArrayList<>();
+            for (Callable<MvcResult> tarefa : tarefas) {
+                futuros.add(executor.submit(tarefa));
+            }
+            largada.countDown();
+
+            String corpo = null;
+            for (Future<MvcResult> futuro : futuros) {
+                MvcResult resultado = futuro.get();
+                assertEquals(201, resultado.getResponse().getStatus());
+                if (corpo == null) {
+                    corpo = resultado.getResponse().getContentAsString();
+                }
+                assertEquals(corpo, resultado.getResponse().getContentAsString());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, pedidosComNumero(numero));
+    }
+
+    @Test
+    @DisplayName("Chave acima de 255 caracteres deve ser rejeitada")
+    void chaveLonga_400() throws Exception {
+        mockMvc.perform(pedido("x".repeat(256), "IDEM-LONGA", 1)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Leitura assíncrona do corpo (ReadListener) deve receber o corpo já lido")
+    void leituraAssincronaDoCorpo() throws Exception {
+        IdempotenciaFilter filtro = new IdempotenciaFilter(new IdempotenciaCache(10, Duration.ofMinutes(1)),
+                new ObjectMapper(), Duration.ofSeconds(1));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/pedidos");
+        request.addHeader(IdempotenciaFilter.HEADER_CHAVE, "IDEM-ASSINCRONO");
+        request.setContent("{\"numeroPedido\":\"A1\"}".getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream lido = new ByteArrayOutputStream();
+        AtomicBoolean fim = new AtomicBoolean();
+
+        filtro.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            ServletInputStream entrada = req.getInputStream();
+            entrada.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    byte[] buffer = new byte[4];
+                    while (entrada.isReady() && !entrada.isFinished()) {
+                        lido.write(buffer, 0, entrada.read(buffer));
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    fim.set(true);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail(t);
+                }
+            });
+        });
+
+        assertTrue(fim.get());
+        assertEquals("{\"numeroPedido\":\"A1\"}", lido.toString(StandardCharsets.UTF_8));
+    }
+
+    private MockHttpServletRequestBuilder pedido(String chave, String numero, int quantidade) {
+        String corpo = """
+                {"numeroPedido":"%s","dataPedido":"2025-01-01","valorTotal":0,
+                 "clienteId":%d,"restauranteId":%d,"cep":"01310-100",
+                 "itens":[{"produtoId":%d,"quantidade":%d}]}
+                """.formatted(numero, cliente.getId(), restaurante.getId(), produto.getId(), quantidade);
+        // usuário explícito: as requisições simultâneas rodam fora da thread do teste
+        return post("/pedidos")
+                .with(user("cliente-app"))
+                .header(IdempotenciaFilter.HEADER_CHAVE, chave)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(corpo);
+    }
+
+    private long pedidosComNumero(String numero) {
+        return pedidoRepository.findAll().stream().filter(p -> numero.equals(p.getNumeroPedido())).count();
+    }
+}
@@ -0,0 +1,105 @@
+package com.deliverytech.delivery_api.config;
+
+import com.deliverytech.delivery_api.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.service.CardapioService;
+import com.deliverytech.delivery_api.service.ClienteService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@DisplayName("Métricas Micrometer/Prometheus")
+class MetricasTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private CardapioService cardapioService;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Test
+    @DisplayName("Métodos de serviço devem ter timer por método, inclusive com exceção")
+    void servicoMedidoPorMetodo() {
+        double antes = contagem("listarAtivos", "none");
+        clienteService.listarAtivos();
+        assertThrows(EntityNotFoundException.class, () -> clienteService.buscarPorId(-1L));
+
+        assertEquals(antes + 1, contagem("listarAtivos", "none"));
+        assertEquals(1, contagem("buscarPorId", "EntityNotFoundException"));
+    }
+
+    @Test
+    @DisplayName("Endpoint Prometheus deve expor serviços, repositórios, mapeamento, caches e pool")
+    void endpointPrometheus() throws Exception {
+        Restaurante restaurante = new Restaurante();
+        restaurante.setNome("Restaurante Métricas");
+        restaurante.setTaxaEntrega(BigDecimal.ONE);
+        restaurante.setAtivo(true);
+        restauranteRepository.save(restaurante);
+        Produto produto = new Produto();
+        produto.setNome("Produto Métricas");
+        produto.setPreco(BigDecimal.TEN);
+        produto.setDisponivel(true);
+        produto.setRestaurante(restaurante);
+        produtoRepository.save(produto);
+        cardapioService.buscarCardapio(restaurante.getId());
+        clienteService.listarAtivos();
+
+        // sem token o scrape é recusado, como o resto da API
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/actuator/prometheus").with(user("prometheus")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("delivery_servico_seconds_bucket")))
+                .andExpect(content().string(containsString("classe=\"ClienteServiceImpl\"")))
+                .andExpect(content().string(containsString("delivery_mapeamento_seconds_bucket")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket")))
+                .andExpect(content().string(containsString("cache=\"cardapio\"")))
+                .andExpect(content().string(containsString("cache=\"tokens\"")))
+                .andExpect(content().string(containsString("cache=\"produtos\"")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")));
+    }
+
+    private double contagem(String metodo, String excecao) {
+        Timer timer = registry.find("delivery.servico")
+                .tags("classe", "ClienteServiceImpl", "metodo", metodo, "excecao", excecao)
+                .timer();
+        return timer != null ? timer.count() : 0;
+    }
+}
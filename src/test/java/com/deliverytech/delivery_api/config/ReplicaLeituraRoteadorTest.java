@@ -0,0 +1,119 @@
+package com.deliverytech.delivery_api.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Roteamento de leituras para a réplica")
+class ReplicaLeituraRoteadorTest {
+
+    private JdbcTemplate primario;
+    private JdbcTemplate replica;
+    private ReplicaLeituraRoteador roteador;
+    private JdbcTemplate jdbc;
+    private DataSourceTransactionManager transactionManager;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        // dois bancos H2 independentes, cada um dizendo quem é
+        String sufixo = UUID.randomUUID().toString();
+        DataSource dataSourcePrimario = new DriverManagerDataSource("jdbc:h2:mem:primario-" + sufixo + ";DB_CLOSE_DELAY=-1");
+        DataSource dataSourceReplica = new DriverManagerDataSource(
+                "jdbc:h2:mem:replica-" + sufixo + ";DB_CLOSE_DELAY=-1;IFEXISTS=TRUE");
+        new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:replica-" + sufixo + ";DB_CLOSE_DELAY=-1"))
+                .execute("SELECT 1");
+
+        primario = new JdbcTemplate(dataSourcePrimario);
+        replica = new JdbcTemplate(dataSourceReplica);
+        primario.execute("CREATE TABLE origem (nome VARCHAR(20))");
+        primario.update("INSERT INTO origem VALUES ('primario')");
+        replica.execute("CREATE TABLE origem (nome VARCHAR(20))");
+        replica.update("INSERT INTO origem VALUES ('replica')");
+        replica.execute("CREATE TABLE atraso_replica (segundos INT)");
+        replica.update("INSERT INTO atraso_replica VALUES (0)");
+
+        roteador = new ReplicaLeituraRoteador(dataSourcePrimario, dataSourceReplica, Duration.ofSeconds(5),
+                "SELECT segundos FROM atraso_replica", "segundos");
+        DataSource dataSource = new ReplicaLeituraConfig().dataSource(roteador);
+        jdbc = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        registry = new SimpleMeterRegistry();
+        roteador.bindTo(registry);
+    }
+
+    @Test
+    @DisplayName("Transações somente leitura devem ir para a réplica e as demais para o primário")
+    void somenteLeituraNaReplica() {
+        // até a primeira verificação do atraso, tudo no primário
+        assertEquals("primario", origem(true));
+
+        roteador.verificarAtraso();
+
+        assertEquals("replica", origem(true));
+        // o proxy já pegou uma conexão do primário para ler os padrões (autocommit, isolamento)
+        double escritas = conexoes("escrita");
+        assertEquals("primario", origem(false));
+        assertEquals(1.0, conexoes("leitura-primario"));
+        assertEquals(1.0, conexoes("leitura-replica"));
+        assertEquals(escritas + 1, conexoes("escrita"));
+        assertEquals(0.0, registry.get("delivery.datasource.replica.atraso").gauge().value());
+        assertEquals(1.0, registry.get("delivery.datasource.replica.disponivel").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Réplica atrasada ou com replicação parada deve devolver as leituras ao primário")
+    void replicaAtrasadaDesviaLeituras() {
+        replica.update("UPDATE atraso_replica SET segundos = 30");
+        roteador.verificarAtraso();
+        assertEquals("primario", origem(true));
+        assertEquals(30.0, registry.get("delivery.datasource.replica.atraso").gauge().value());
+
+        replica.update("UPDATE atraso_replica SET segundos = NULL");
+        roteador.verificarAtraso();
+        assertEquals("primario", origem(true));
+        assertTrue(Double.isNaN(registry.get("delivery.datasource.replica.atraso").gauge().value()));
+
+        replica.update("UPDATE atraso_replica SET segundos = 2");
+        roteador.verificarAtraso();
+        assertEquals("replica", origem(true));
+        assertEquals(2.0, conexoes("leitura-primario"));
+    }
+
+    @Test
+    @DisplayName("Réplica fora do ar deve desviar as leituras para o primário sem erro")
+    void replicaForaDoAr() {
+        roteador.verificarAtraso();
+        assertTrue(roteador.isReplicaDisponivel());
+
+        replica.execute("SHUTDOWN");
+
+        assertEquals("primario", origem(true));
+        assertFalse(roteador.isReplicaDisponivel());
+        roteador.verificarAtraso();
+        assertFalse(roteador.isReplicaDisponivel());
+        assertEquals("primario", origem(true));
+        assertEquals(0.0, conexoes("leitura-replica"));
+    }
+
+    private String origem(boolean somenteLeitura) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(somenteLeitura);
+        return transacao.execute(status -> jdbc.queryForObject("SELECT nome FROM origem", String.class));
+    }
+
+    private double conexoes(String rota) {
+        return registry.get("delivery.datasource.conexoes").tag("rota", rota).functionCounter().count();
+    }
+}
@@ -0,0 +1,138 @@
+package com.deliverytech.delivery_api.config;
+
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "delivery.sql.orcamento-statements=3",
+        "delivery.sql.limiar-lenta=0ms"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+@ExtendWith(OutputCaptureExtension.class)
+@DisplayName("Monitor de SQL por requisição")
+class SqlMonitorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private SqlMonitor sqlMonitor;
+
+    @Test
+    @DisplayName("Resposta deve trazer quantidade de statements e tempo de banco")
+    void headersDeSql() throws Exception {
+        Restaurante restaurante = restaurante();
+
+        MvcResult resultado = mockMvc.perform(get("/restaurantes/" + restaurante.getId()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String statements = resultado.getResponse().getHeader(SqlMonitorFilter.HEADER_STATEMENTS);
+        assertNotNull(statements);
+        assertTrue(Integer.parseInt(statements) >= 1);
+        assertNotNull(resultado.getResponse().getHeader(SqlMonitorFilter.HEADER_TEMPO));
+    }
+
+    @Test
+    @DisplayName("Requisição acima do orçamento e queries lentas devem ir para o log")
+    void orcamentoEQueriesLentas(CapturedOutput output) throws Exception {
+        Restaurante restaurante = restaurante();
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente SQL");
+        cliente.setEmail("sql" + System.nanoTime() + "@teste.com");
+        cliente.setAtivo(true);
+        clienteRepository.save(cliente);
+        Produto produto = new Produto();
+        produto.setNome("Produto SQL");
+        produto.setPreco(BigDecimal.TEN);
+        produto.setDisponivel(true);
+        produto.setRestaurante(restaurante);
+        produtoRepository.save(produto);
+
+        String pedido = """
+                {"numeroPedido":"SQL1","dataPedido":"2025-01-01T12:00:00","valorTotal":0,
+                 "clienteId":%d,"restauranteId":%d,"cep":"01310-100",
+                 "itens":[{"produtoId":%d,"quantidade":2}]}
+                """.formatted(cliente.getId(), restaurante.getId(), produto.getId());
+
+        MvcResult resultado = mockMvc.perform(post("/pedidos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(pedido))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        int statements = Integer.parseInt(resultado.getResponse().getHeader(SqlMonitorFilter.HEADER_STATEMENTS));
+        assertTrue(statements > 3, "esperado acima do orçamento, foram " + statements);
+        assertTrue(output.getOut().contains("sql.orcamento_excedido metodo=POST uri=/pedidos status=201 statements=" + statements));
+        // limiar 0ms: toda query é "lenta"; parâmetros aparecem só pelo tipo
+        assertTrue(output.getOut().contains("Query lenta"));
+        assertTrue(output.getOut().contains("parâmetros: (Long"));
+        assertFalse(output.getOut().contains(cliente.getEmail()));
+    }
+
+    @Test
+    @DisplayName("SQL fora da thread da requisição deve ir para a métrica fora-requisicao")
+    void sqlForaDaRequisicao() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        sqlMonitor.bindTo(registry);
+        Restaurante restaurante = restaurante();
+        double requisicao = contagem(registry, "requisicao");
+
+        mockMvc.perform(get("/restaurantes/" + restaurante.getId())).andExpect(status().isOk());
+        assertTrue(contagem(registry, "requisicao") > requisicao);
+
+        // relay do outbox e workers também contam aqui, então só o aumento é verificado
+        double foraRequisicao = contagem(registry, "fora-requisicao");
+        Thread worker = Thread.ofPlatform().start(() -> restauranteRepository.findById(restaurante.getId()));
+        worker.join();
+        assertTrue(contagem(registry, "fora-requisicao") > foraRequisicao);
+    }
+
+    private static double contagem(SimpleMeterRegistry registry, String contexto) {
+        return registry.get("delivery.sql").tag("contexto", contexto).functionTimer().count();
+    }
+
+    private Restaurante restaurante() {
+        Restaurante restaurante = new Restaurante();
+        restaurante.setNome("Restaurante SQL " + System.nanoTime());
+        restaurante.setTaxaEntrega(BigDecimal.ONE);
+        restaurante.setAtivo(true);
+        return restauranteRepository.save(restaurante);
+    }
+}
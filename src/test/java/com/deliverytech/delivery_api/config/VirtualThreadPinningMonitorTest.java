@@ -0,0 +1,53 @@
+package com.deliverytech.delivery_api.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Monitor de pinning de virtual threads")
+class VirtualThreadPinningMonitorTest {
+
+    private final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(Duration.ofMillis(10));
+    private final Object lock = new Object();
+
+    @AfterEach
+    void tearDown() {
+        monitor.parar();
+    }
+
+    @Test
+    @DisplayName("Deve registrar virtual thread bloqueada dentro de synchronized")
+    void deveRegistrarPinning() throws Exception {
+        monitor.iniciar();
+
+        // sleep dentro de synchronized prende a virtual thread à carrier (JDK 21)
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                dormir(50);
+            }
+        }).join();
+
+        // o RecordingStream entrega os eventos a cada flush (~1s)
+        long limite = System.currentTimeMillis() + 10_000;
+        while (monitor.getTotal() == 0 && System.currentTimeMillis() < limite) {
+            Thread.sleep(100);
+        }
+
+        assertTrue(monitor.getTotal() > 0, "Nenhum evento de pinning registrado");
+        assertTrue(monitor.getPorOrigem().keySet().stream()
+                        .anyMatch(origem -> origem.startsWith(VirtualThreadPinningMonitorTest.class.getName())),
+                "Origem do pinning não identificada: " + monitor.getPorOrigem());
+    }
+
+    private static void dormir(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.deliverytech.delivery_api.controller;
+
+import com.deliverytech.delivery_api.service.CardapioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Cardápio com ETag - ProdutoController")
+class ProdutoControllerTest {
+
+    private static final String ETAG = "\"1-0-10\"";
+    private static final byte[] JSON = "[]".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private CardapioService cardapioService;
+
+    @InjectMocks
+    private ProdutoController produtoController;
+
+    @BeforeEach
+    void cardapio() {
+        when(cardapioService.buscarCardapio(1L)).thenReturn(new CardapioService.CardapioSnapshot(1L, 10, ETAG, JSON));
+    }
+
+    @Test
+    @DisplayName("Sem If-None-Match deve devolver o cardápio com ETag")
+    void semCondicao() {
+        ResponseEntity<byte[]> resposta = produtoController.buscarPorRestaurante(1L, null);
+
+        assertEquals(HttpStatus.OK, resposta.getStatusCode());
+        assertEquals(ETAG, resposta.getHeaders().getETag());
+        assertArrayEquals(JSON, resposta.getBody());
+    }
+
+    @Test
+    @DisplayName("If-None-Match com o ETag atual (forte, fraco ou em lista) deve devolver 304")
+    void etagAtualNaoModificado() {
+        for (String ifNoneMatch : new String[] {ETAG, "W/" + ETAG, "\"1-0-9\", " + ETAG}) {
+            ResponseEntity<byte[]> resposta = produtoController.buscarPorRestaurante(1L, ifNoneMatch);
+
+            assertEquals(HttpStatus.NOT_MODIFIED, resposta.getStatusCode(), ifNoneMatch);
+            assertEquals(ETAG, resposta.getHeaders().getETag());
+            assertNull(resposta.getBody());
+        }
+    }
+
+    @Test
+    @DisplayName("If-None-Match: * deve corresponder a qualquer representação atual")
+    void asteriscoNaoModificado() {
+        ResponseEntity<byte[]> resposta = produtoController.buscarPorRestaurante(1L, "*");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, resposta.getStatusCode());
+        assertEquals(ETAG, resposta.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("ETag antigo ou que só contém o atual como prefixo deve devolver o cardápio")
+    void etagDiferenteDevolveCardapio() {
+        for (String ifNoneMatch : new String[] {"\"1-0-9\"", "\"1-0-10\"x", "\"1-0-100\""}) {
+            ResponseEntity<byte[]> resposta = produtoController.buscarPorRestaurante(1L, ifNoneMatch);
+
+            assertEquals(HttpStatus.OK, resposta.getStatusCode(), ifNoneMatch);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.deliverytech.delivery_api.controller;
+
+import com.deliverytech.delivery_api.enums.Role;
+import com.deliverytech.delivery_api.model.Usuario;
+import com.deliverytech.delivery_api.service.RestauranteService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Reconstrução do relatório de vendas - RestauranteController")
+class RestauranteControllerTest {
+
+    @Mock
+    private RestauranteService restauranteService;
+
+    @InjectMocks
+    private RestauranteController restauranteController;
+
+    @AfterEach
+    void limparAutenticacao() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Administrador deve reconstruir o consolidado")
+    void administradorReconstroi() {
+        autenticar(Role.ADMIN);
+        when(restauranteService.reconstruirRelatorioVendas()).thenReturn(7);
+
+        ResponseEntity<Integer> resposta = restauranteController.reconstruirRelatorioVendas();
+
+        assertEquals(HttpStatus.OK, resposta.getStatusCode());
+        assertEquals(7, resposta.getBody());
+    }
+
+    @Test
+    @DisplayName("Demais perfis devem receber 403 sem reconstruir")
+    void demaisPerfisProibidos() {
+        autenticar(Role.RESTAURANTE);
+
+        ResponseEntity<Integer> resposta = restauranteController.reconstruirRelatorioVendas();
+
+        assertEquals(HttpStatus.FORBIDDEN, resposta.getStatusCode());
+        verify(restauranteService, never()).reconstruirRelatorioVendas();
+    }
+
+    private void autenticar(Role role) {
+        Usuario usuario = Usuario.builder().id(1L).email("usuario@teste.com").role(role).ativo(true).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities()));
+    }
+}
@@ -0,0 +1,96 @@
+package com.deliverytech.delivery_api.mapper;
+
+import com.deliverytech.delivery_api.dto.request.ClienteRequestDTO;
+import com.deliverytech.delivery_api.dto.request.ProdutoRequestDTO;
+import com.deliverytech.delivery_api.dto.request.RestauranteRequestDTO;
+import com.deliverytech.delivery_api.dto.response.ClienteResponseDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery_api.dto.response.ProdutoResponseDTO;
+import com.deliverytech.delivery_api.dto.response.RestauranteResponseDTO;
+import com.deliverytech.delivery_api.dto.response.UsuarioResponseDTO;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Compatibilidade dos mappers gerados com o ModelMapper")
+class MapperCompatibilidadeTest {
+
+    private final ModelMapper modelMapper = MapperFixtures.modelMapperLegado();
+    private final ObjectMapper objectMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+
+    private final ClienteMapper clienteMapper = Mappers.getMapper(ClienteMapper.class);
+    private final ProdutoMapper produtoMapper = Mappers.getMapper(ProdutoMapper.class);
+    private final RestauranteMapper restauranteMapper = Mappers.getMapper(RestauranteMapper.class);
+    private final PedidoMapper pedidoMapper = Mappers.getMapper(PedidoMapper.class);
+    private final UsuarioMapper usuarioMapper = Mappers.getMapper(UsuarioMapper.class);
+
+    @Test
+    @DisplayName("Cliente deve gerar o mesmo JSON de resposta")
+    void cliente() throws Exception {
+        Cliente cliente = MapperFixtures.cliente();
+        assertMesmoJson(modelMapper.map(cliente, ClienteResponseDTO.class), clienteMapper.toResponseDTO(cliente));
+
+        ClienteRequestDTO dto = new ClienteRequestDTO();
+        dto.setNome("Maria");
+        dto.setEmail("maria@email.com");
+        dto.setTelefone("11999999999");
+        dto.setEndereco("Rua C, 789");
+        assertEquals(modelMapper.map(dto, Cliente.class), clienteMapper.toEntity(dto));
+    }
+
+    @Test
+    @DisplayName("Produto deve gerar o mesmo JSON de resposta")
+    void produto() throws Exception {
+        for (Produto produto : MapperFixtures.produtos(4)) {
+            assertMesmoJson(modelMapper.map(produto, ProdutoResponseDTO.class), produtoMapper.toResponseDTO(produto));
+        }
+
+        ProdutoRequestDTO dto = new ProdutoRequestDTO("Pizza", "Calabresa", BigDecimal.TEN, "Pizza", true, 1L);
+        Produto esperado = modelMapper.map(dto, Produto.class);
+        esperado.setRestaurante(null); // o service sempre substitui pelo restaurante carregado
+        esperado.setId(null); // LOOSE copiava restauranteId para o id do produto (sobrescrevia outro produto no save)
+        assertEquals(esperado, produtoMapper.toEntity(dto));
+    }
+
+    @Test
+    @DisplayName("Restaurante deve gerar o mesmo JSON de resposta")
+    void restaurante() throws Exception {
+        Restaurante restaurante = MapperFixtures.restaurante();
+        assertMesmoJson(modelMapper.map(restaurante, RestauranteResponseDTO.class),
+                restauranteMapper.toResponseDTO(restaurante));
+
+        RestauranteRequestDTO dto = new RestauranteRequestDTO("Sushi", "Japonesa", "01000-000", "Rua D",
+                "11977777777", BigDecimal.ONE, BigDecimal.valueOf(4.0), true);
+        assertEquals(modelMapper.map(dto, Restaurante.class), restauranteMapper.toEntity(dto));
+    }
+
+    @Test
+    @DisplayName("Pedido deve gerar o mesmo JSON de resposta")
+    void pedido() throws Exception {
+        Pedido pedido = MapperFixtures.pedido(3);
+        assertMesmoJson(modelMapper.map(pedido, PedidoResponseDTO.class), pedidoMapper.toResponseDTO(pedido));
+    }
+
+    @Test
+    @DisplayName("Usuário deve gerar o mesmo JSON de resposta")
+    void usuario() throws Exception {
+        var usuario = MapperFixtures.usuario();
+        assertMesmoJson(modelMapper.map(usuario, UsuarioResponseDTO.class), usuarioMapper.toResponseDTO(usuario));
+    }
+
+    private void assertMesmoJson(Object esperado, Object atual) throws Exception {
+        assertEquals(objectMapper.writeValueAsString(esperado), objectMapper.writeValueAsString(atual));
+    }
+}
@@ -0,0 +1,124 @@
+package com.deliverytech.delivery_api.mapper;
+
+import com.deliverytech.delivery_api.enums.Role;
+import com.deliverytech.delivery_api.enums.StatusPedido;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.ItemPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.model.Usuario;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entidades de exemplo e o ModelMapper com a configuração usada antes dos mappers gerados.
+ */
+public final class MapperFixtures {
+
+    private MapperFixtures() {
+    }
+
+    public static ModelMapper modelMapperLegado() {
+        ModelMapper modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setMatchingStrategy(MatchingStrategies.LOOSE)
+                .setFieldMatchingEnabled(true)
+                .setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PRIVATE);
+        return modelMapper;
+    }
+
+    public static Restaurante restaurante() {
+        Restaurante restaurante = new Restaurante();
+        restaurante.setId(1L);
+        restaurante.setNome("Pizzaria Bella");
+        restaurante.setCategoria("Italiana");
+        restaurante.setEndereco("Rua A, 123");
+        restaurante.setCep("01000-000");
+        restaurante.setTelefone("11999999999");
+        restaurante.setTaxaEntrega(BigDecimal.valueOf(5.0));
+        restaurante.setAvaliacao(BigDecimal.valueOf(4.5));
+        restaurante.setAtivo(true);
+        return restaurante;
+    }
+
+    public static Cliente cliente() {
+        Cliente cliente = new Cliente();
+        cliente.setId(1L);
+        cliente.setNome("Maria Silva");
+        cliente.setEmail("maria@email.com");
+        cliente.setTelefone("11988888888");
+        cliente.setEndereco("Rua B, 456");
+        cliente.setDataCadastro(LocalDateTime.of(2025, 1, 1, 12, 0));
+        cliente.setAtivo(true);
+        return cliente;
+    }
+
+    public static Produto produto(long id, Restaurante restaurante) {
+        Produto produto = new Produto();
+        produto.setId(id);
+        produto.setNome("Produto " + id);
+        produto.setDescricao("Descrição " + id);
+        produto.setPreco(BigDecimal.valueOf(10 + id));
+        produto.setCategoria("Pizza");
+        produto.setDisponivel(id % 2 == 0);
+        produto.setRestaurante(restaurante);
+        return produto;
+    }
+
+    public static List<Produto> produtos(int quantidade) {
+        Restaurante restaurante = restaurante();
+        List<Produto> produtos = new ArrayList<>(quantidade);
+        for (long i = 1; i <= quantidade; i++) {
+            produtos.add(produto(i, restaurante));
+        }
+        return produtos;
+    }
+
+    public static Pedido pedido(int quantidadeItens) {
+        Restaurante restaurante = restaurante();
+        Pedido pedido = new Pedido();
+        pedido.setId(1L);
+        pedido.setNumeroPedido("PED123");
+        pedido.setDataPedido(LocalDateTime.of(2025, 1, 1, 12, 0));
+        pedido.setStatus(StatusPedido.PENDENTE);
+        pedido.setValorTotal(BigDecimal.valueOf(100));
+        pedido.setObservacoes("Sem cebola");
+        pedido.setEnderecoEntrega("Rua B, 456");
+        pedido.setTaxaEntrega(BigDecimal.valueOf(5.0));
+        pedido.setCliente(cliente());
+        pedido.setRestaurante(restaurante);
+
+        List<ItemPedido> itens = new ArrayList<>(quantidadeItens);
+        for (long i = 1; i <= quantidadeItens; i++) {
+            ItemPedido item = new ItemPedido();
+            item.setId(i);
+            item.setQuantidade((int) i);
+            item.setPrecoUnitario(BigDecimal.TEN);
+            item.setSubtotal(BigDecimal.TEN.multiply(BigDecimal.valueOf(i)));
+            item.setProduto(produto(i, restaurante));
+            item.setPedido(pedido);
+            itens.add(item);
+        }
+        pedido.setItens(itens);
+        return pedido;
+    }
+
+    public static Usuario usuario() {
+        return Usuario.builder()
+                .id(1L)
+                .email("admin@email.com")
+                .senha("hash")
+                .nome("Admin")
+                .role(Role.RESTAURANTE)
+                .ativo(true)
+                .dataCriacao(LocalDateTime.of(2025, 1, 1, 12, 0))
+                .restauranteId(1L)
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.deliverytech.delivery_api.security;
+
+import com.deliverytech.delivery_api.enums.Role;
+import com.deliverytech.delivery_api.model.Usuario;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes Unitários JwtAuthenticationFilter")
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+    private TokenCache tokenCache;
+    private JwtAuthenticationFilter filter;
+    private Usuario usuario;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        tokenCache = new TokenCache(100, Duration.ofMinutes(5));
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, tokenCache);
+
+        usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setEmail("admin@teste.com");
+        usuario.setSenha("hash");
+        usuario.setRole(Role.ADMIN);
+        usuario.setAtivo(true);
+
+        // mesmo formato usado no login e pelo UsuarioDetailsServiceImpl
+        userDetails = User.withUsername(usuario.getEmail()).password(usuario.getSenha()).authorities("ROLE_ADMIN").build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Token repetido deve ser autenticado pelo cache, sem nova busca do usuário")
+    void tokenRepetido_deveUsarCache() throws Exception {
+        when(userDetailsService.loadUserByUsername("admin@teste.com")).thenReturn(userDetails);
+        String token = jwtUtil.generateToken(userDetails, usuario);
+
+        for (int i = 0; i < 3; i++) {
+            Authentication autenticacao = filtrar(token);
+            assertNotNull(autenticacao);
+            assertSame(userDetails, autenticacao.getPrincipal());
+        }
+
+        verify(userDetailsService, times(1)).loadUserByUsername(anyString());
+        assertEquals(2, tokenCache.estatisticas().hitCount());
+    }
+
+    @Test
+    @DisplayName("Token com assinatura inválida não deve autenticar nem ir para o cache")
+    void tokenInvalido_naoDeveAutenticar() throws Exception {
+        String token = jwtUtil.generateToken(userDetails, usuario);
+        String adulterado = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertNull(filtrar(adulterado));
+        assertEquals(0, tokenCache.tamanho());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    private Authentication filtrar(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
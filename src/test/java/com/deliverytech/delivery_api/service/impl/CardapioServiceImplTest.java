@@ -0,0 +1,104 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.dto.response.ProdutoResponseDTO;
+import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.mapper.ProdutoMapper;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.service.CardapioService.CardapioSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes Unitários Cardápio Service")
+class CardapioServiceImplTest {
+
+    private ProdutoRepository produtoRepository;
+    private CardapioServiceImpl cardapioService;
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        produtoRepository = mock(ProdutoRepository.class);
+        cardapioService = new CardapioServiceImpl(100);
+        ReflectionTestUtils.setField(cardapioService, "produtoRepository", produtoRepository);
+        ReflectionTestUtils.setField(cardapioService, "produtoMapper", Mappers.getMapper(ProdutoMapper.class));
+        ReflectionTestUtils.setField(cardapioService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(cardapioService, "transacao", new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+        Restaurante restaurante = new Restaurante();
+        restaurante.setId(1L);
+
+        produto = new Produto();
+        produto.setId(10L);
+        produto.setNome("Pizza");
+        produto.setPreco(BigDecimal.valueOf(45.9));
+        produto.setDisponivel(true);
+        produto.setRestaurante(restaurante);
+        when(produtoRepository.findByRestauranteId(1L)).thenReturn(List.of(produto));
+    }
+
+    @Test
+    @DisplayName("Leituras repetidas devem usar o snapshot sem consultar o repositório")
+    void snapshotReutilizado() throws Exception {
+        CardapioSnapshot primeiro = cardapioService.buscarCardapio(1L);
+        CardapioSnapshot segundo = cardapioService.buscarCardapio(1L);
+
+        assertSame(primeiro, segundo);
+        verify(produtoRepository, times(1)).findByRestauranteId(1L);
+
+        ProdutoResponseDTO[] produtos = new ObjectMapper().readValue(primeiro.json(), ProdutoResponseDTO[].class);
+        assertEquals(1, produtos.length);
+        assertEquals("Pizza", produtos[0].getNome());
+    }
+
+    @Test
+    @DisplayName("Alteração de produto deve gerar nova versão e novo ETag")
+    void invalidacaoPorVersao() {
+        CardapioSnapshot antes = cardapioService.buscarCardapio(1L);
+
+        produto.setNome("Pizza Grande");
+        cardapioService.invalidar(1L);
+        CardapioSnapshot depois = cardapioService.buscarCardapio(1L);
+
+        assertEquals(antes.versao() + 1, depois.versao());
+        assertNotEquals(antes.etag(), depois.etag());
+        assertTrue(new String(depois.json(), StandardCharsets.UTF_8).contains("Pizza Grande"));
+        verify(produtoRepository, times(2)).findByRestauranteId(1L);
+    }
+
+    @Test
+    @DisplayName("Invalidação de um restaurante não deve afetar outro")
+    void invalidacaoIsoladaPorRestaurante() {
+        CardapioSnapshot antes = cardapioService.buscarCardapio(1L);
+
+        cardapioService.invalidar(2L);
+
+        assertSame(antes, cardapioService.buscarCardapio(1L));
+        verify(produtoRepository, times(1)).findByRestauranteId(1L);
+    }
+
+    @Test
+    @DisplayName("Restaurante sem cardápio não deve manter versão registrada")
+    void restauranteSemCardapioSemVersao() {
+        cardapioService.invalidar(2L);
+        assertThrows(BusinessException.class, () -> cardapioService.buscarCardapio(99L));
+
+        Cache<?, ?> versoes = (Cache<?, ?>) ReflectionTestUtils.getField(cardapioService, "versoes");
+        assertEquals(0, versoes.asMap().size());
+    }
+}
@@ -2,6 +2,7 @@ package com.deliverytech.delivery_api.service.impl;
 
 import com.deliverytech.delivery_api.dto.request.ClienteRequestDTO;
 import com.deliverytech.delivery_api.dto.response.ClienteResponseDTO;
+import com.deliverytech.delivery_api.mapper.ClienteMapper;
 import com.deliverytech.delivery_api.model.Cliente;
 import com.deliverytech.delivery_api.repository.ClienteRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,7 +12,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.test.context.ActiveProfiles;
 import static org.mockito.Mockito.eq;
@@ -38,7 +38,7 @@ class ClienteServiceImplTest {
     private ClienteServiceImpl clienteService;
 
     @Mock
-    private ModelMapper modelMapper;
+    private ClienteMapper clienteMapper;
 
     private Cliente cliente;
 
@@ -65,7 +65,7 @@ class ClienteServiceImplTest {
         when(clienteRepository.existsByEmail(anyString())).thenReturn(false);
         when(clienteRepository.save(any(Cliente.class))).thenReturn(cliente);
         // No teste ClienteServiceImplTest.java
-        when(modelMapper.map(any(ClienteRequestDTO.class), eq(Cliente.class)))
+        when(clienteMapper.toEntity(any(ClienteRequestDTO.class)))
                 .thenReturn(new Cliente());
         // When
         clienteResponseDTO = clienteService.cadastrar(clienteRequestDTO);
@@ -93,7 +93,7 @@ class ClienteServiceImplTest {
         when(clienteRepository.findById(clienteId)).thenReturn(Optional.of(cliente));
         when(clienteRepository.save(any(Cliente.class))).thenReturn(cliente);
 
-        when(modelMapper.map(any(Cliente.class), eq(ClienteResponseDTO.class)))
+        when(clienteMapper.toResponseDTO(any(Cliente.class)))
                 .thenReturn(new ClienteResponseDTO() {{
                     setNome("Maria Silva Atualizado");
                     setEmail("maria@maria.com");
@@ -111,7 +111,7 @@ class ClienteServiceImplTest {
         assertEquals("maria@maria.com", responseDTO.getEmail());
         verify(clienteRepository).findById(clienteId);
         verify(clienteRepository).save(any(Cliente.class));
-        verify(modelMapper).map(any(Cliente.class), eq(ClienteResponseDTO.class));
+        verify(clienteMapper).toResponseDTO(any(Cliente.class));
 
     }
 
@@ -131,7 +131,7 @@ class ClienteServiceImplTest {
         when(clienteRepository.findById(clienteId)).thenReturn(Optional.of(cliente));
         when(clienteRepository.save(any(Cliente.class))).thenReturn(cliente);
 
-        when(modelMapper.map(any(Cliente.class), eq(ClienteResponseDTO.class)))
+        when(clienteMapper.toResponseDTO(any(Cliente.class)))
                 .thenReturn(new ClienteResponseDTO() {{
                     setNome("Maria Silva");
                     setEmail("maria@maria.com");
@@ -148,7 +148,7 @@ class ClienteServiceImplTest {
         assertFalse(responseDTO.isAtivo()); // Verifica se o status foi invertido
         verify(clienteRepository).findById(clienteId);
         verify(clienteRepository).save(any(Cliente.class));
-        verify(modelMapper).map(any(Cliente.class), eq(ClienteResponseDTO.class));
+        verify(clienteMapper).toResponseDTO(any(Cliente.class));
 
     }
 
@@ -166,7 +166,7 @@ class ClienteServiceImplTest {
         cliente.setEndereco("Rua Exemplo, 123, São Paulo, SP");
 
         when(clienteRepository.findById(clienteId)).thenReturn(Optional.of(cliente));
-        when(modelMapper.map(any(Cliente.class), eq(ClienteResponseDTO.class)))
+        when(clienteMapper.toResponseDTO(any(Cliente.class)))
                 .thenReturn(new ClienteResponseDTO() {{
                     setNome("Maria Silva");
                     setEmail("maria@maria.com");
@@ -182,7 +182,7 @@ class ClienteServiceImplTest {
         assertEquals("maria@maria.com", responseDTO.getEmail());
         assertTrue(responseDTO.isAtivo());
         verify(clienteRepository).findById(clienteId);
-        verify(modelMapper).map(any(Cliente.class), eq(ClienteResponseDTO.class));
+        verify(clienteMapper).toResponseDTO(any(Cliente.class));
 
     }
 
@@ -199,7 +199,7 @@ class ClienteServiceImplTest {
         cliente.setEndereco("Rua Exemplo, 123, São Paulo, SP");
 
         when(clienteRepository.findByEmail(email)).thenReturn(Optional.of(cliente));
-        when(modelMapper.map(any(Cliente.class), eq(ClienteResponseDTO.class)))
+        when(clienteMapper.toResponseDTO(any(Cliente.class)))
                 .thenReturn(new ClienteResponseDTO() {{
                     setNome("Maria Silva");
                     setEmail("maria@maria.com");
@@ -215,7 +215,7 @@ class ClienteServiceImplTest {
         assertEquals("maria@maria.com", responseDTO.getEmail());
         assertTrue(responseDTO.isAtivo());
         verify(clienteRepository).findByEmail(email);
-        verify(modelMapper).map(any(Cliente.class), eq(ClienteResponseDTO.class));
+        verify(clienteMapper).toResponseDTO(any(Cliente.class));
 
     }
 
@@ -231,7 +231,7 @@ class ClienteServiceImplTest {
         cliente.setEndereco("Rua Exemplo, 123, São Paulo, SP");
 
         when(clienteRepository.findByAtivoTrue()).thenReturn(List.of(cliente));
-        when(modelMapper.map(any(Cliente.class), eq(ClienteResponseDTO.class)))
+        when(clienteMapper.toResponseDTO(any(Cliente.class)))
                 .thenReturn(new ClienteResponseDTO() {{
                     setNome("Maria Silva");
                     setEmail("maria@maria.com");
@@ -249,7 +249,7 @@ class ClienteServiceImplTest {
         assertEquals("maria@maria.com", responseList.get(0).getEmail());
         assertTrue(responseList.get(0).isAtivo());
         verify(clienteRepository).findByAtivoTrue();
-        verify(modelMapper).map(any(Cliente.class), eq(ClienteResponseDTO.class));
+        verify(clienteMapper).toResponseDTO(any(Cliente.class));
 
     }
 
@@ -267,7 +267,7 @@ class ClienteServiceImplTest {
         cliente.setEndereco("Rua Exemplo, 123, São Paulo, SP");
 
         when(clienteRepository.findByNomeContainingIgnoreCase(nome)).thenReturn(List.of(cliente));
-        when(modelMapper.map(any(Cliente.class), eq(ClienteResponseDTO.class)))
+        when(clienteMapper.toResponseDTO(any(Cliente.class)))
                 .thenReturn(new ClienteResponseDTO() {{
                     setNome("Maria Silva");
                     setEmail("maria@maria.com");
@@ -285,7 +285,7 @@ class ClienteServiceImplTest {
         assertEquals("maria@maria.com", responseList.get(0).getEmail());
         assertTrue(responseList.get(0).isAtivo());
         verify(clienteRepository).findByNomeContainingIgnoreCase(nome);
-        verify(modelMapper).map(any(Cliente.class), eq(ClienteResponseDTO.class));
+        verify(clienteMapper).toResponseDTO(any(Cliente.class));
 
     }
 }
\ No newline at end of file
@@ -0,0 +1,397 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoResumoResponseDTO;
+import com.deliverytech.delivery_api.enums.StatusPedido;
+import com.deliverytech.delivery_api.event.PedidoStatusAlteradoEvent;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.service.PedidoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "delivery.pedidos.eventos.fila-maxima=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+@DisplayName("Eventos SSE de status de pedidos")
+class PedidoEventoServiceImplTest {
+
+    private static final Duration LIMITE = Duration.ofSeconds(10);
+    private static final Pattern ID_EVENTO = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+    private static final String CLIENTE_LENTO = "X-Cliente-Lento";
+    private static final String CLIENTE_DESCONECTADO = "X-Cliente-Desconectado";
+
+    // enquanto verdadeiro, as respostas com o header CLIENTE_LENTO travam no write, como um
+    // cliente que parou de ler com o buffer do socket cheio
+    private static volatile boolean travarLentos;
+
+    static class ClienteLentoFilter implements Filter {
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse servletResponse, FilterChain chain)
+                throws ServletException, IOException {
+            HttpServletResponse response = (HttpServletResponse) servletResponse;
+            boolean desconectado = ((HttpServletRequest) request).getHeader(CLIENTE_DESCONECTADO) != null;
+            if (((HttpServletRequest) request).getHeader(CLIENTE_LENTO) == null && !desconectado) {
+                chain.doFilter(request, response);
+                return;
+            }
+            ServletOutputStream original = response.getOutputStream();
+            ServletOutputStream lento = new ServletOutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    esperar(desconectado);
+                    original.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    esperar(desconectado);
+                    original.write(b, off, len);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    original.setWriteListener(writeListener);
+                }
+            };
+            chain.doFilter(request, new HttpServletResponseWrapper(response) {
+                @Override
+                public ServletOutputStream getOutputStream() {
+                    return lento;
+                }
+            });
+        }
+
+        private static void esperar(boolean desconectado) throws IOException {
+            if (desconectado) {
+                throw new IOException("Broken pipe");
+            }
+            try {
+                while (travarLentos) {
+                    Thread.sleep(10);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        ClienteLentoFilter clienteLentoFilter() {
+            return new ClienteLentoFilter();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @MockitoSpyBean
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private PedidoEventoServiceImpl pedidoEventoService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    private Cliente cliente;
+    private Restaurante restaurante;
+    private Produto produto;
+
+    @BeforeEach
+    void setup() {
+        cliente = new Cliente();
+        cliente.setNome("Cliente Eventos");
+        cliente.setEmail("eventos" + System.nanoTime() + "@teste.com");
+        cliente.setAtivo(true);
+        clienteRepository.save(cliente);
+
+        restaurante = new Restaurante();
+        restaurante.setNome("Restaurante Eventos");
+        restaurante.setTaxaEntrega(BigDecimal.ONE);
+        restaurante.setAtivo(true);
+        restauranteRepository.save(restaurante);
+
+        produto = new Produto();
+        produto.setNome("Produto Eventos");
+        produto.setPreco(BigDecimal.TEN);
+        produto.setDisponivel(true);
+        produto.setRestaurante(restaurante);
+        produtoRepository.save(produto);
+    }
+
+    @Test
+    @DisplayName("Canal do pedido deve enviar o status atual e as mudanças após o commit")
+    void canalDoPedido() throws Exception {
+        PedidoResponseDTO pedido = criarPedido();
+        MockHttpServletResponse canal = assinar(get("/pedidos/" + pedido.getId() + "/eventos"));
+
+        aguardar(canal, "\"status\":\"PENDENTE\"");
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.CONFIRMADO);
+
+        String conteudo = aguardar(canal, "\"status\":\"CONFIRMADO\"");
+        assertTrue(conteudo.contains("event:status"));
+        assertTrue(conteudo.contains("\"statusAnterior\":\"PENDENTE\""));
+        assertEquals(1, ids(conteudo).size(), "só a mudança tem id; o status inicial não");
+    }
+
+    @Test
+    @DisplayName("Canal do restaurante deve receber pedidos criados e cancelamentos")
+    void canalDoRestaurante() throws Exception {
+        MockHttpServletResponse canal = assinar(get("/pedidos/restaurante/" + restaurante.getId() + "/eventos"));
+
+        PedidoResponseDTO pedido = criarPedido();
+        aguardar(canal, "\"pedidoId\":" + pedido.getId());
+        pedidoService.cancelarPedido(pedido.getId());
+
+        String conteudo = aguardar(canal, "\"status\":\"CANCELADO\"");
+        assertEquals(2, ids(conteudo).size());
+    }
+
+    @Test
+    @DisplayName("Reconexão com Last-Event-ID deve repetir só os eventos perdidos")
+    void reconexaoComLastEventId() throws Exception {
+        PedidoResponseDTO pedido = criarPedido();
+        MockHttpServletResponse primeira = assinar(get("/pedidos/" + pedido.getId() + "/eventos"));
+        aguardar(primeira, "\"status\":\"PENDENTE\"");
+
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.CONFIRMADO);
+        long ultimoRecebido = ids(aguardar(primeira, "\"status\":\"CONFIRMADO\"")).get(0);
+        // eventos enquanto o cliente estava desconectado
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.PREPARANDO);
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.SAIU_PARA_ENTREGA);
+
+        MockHttpServletResponse reconexao = assinar(get("/pedidos/" + pedido.getId() + "/eventos")
+                .header("Last-Event-ID", ultimoRecebido));
+
+        String conteudo = aguardar(reconexao, "\"status\":\"SAIU_PARA_ENTREGA\"");
+        assertTrue(conteudo.contains("\"status\":\"PREPARANDO\""));
+        assertFalse(conteudo.contains("\"status\":\"CONFIRMADO\""));
+        List<Long> ids = ids(conteudo);
+        assertEquals(2, ids.size());
+        assertTrue(ids.get(0) > ultimoRecebido && ids.get(1) > ids.get(0));
+    }
+
+    @AfterEach
+    void liberarLentos() {
+        travarLentos = false;
+    }
+
+    @Test
+    @DisplayName("Cliente que não lê não deve atrasar os demais e deve ter a conexão encerrada")
+    void clienteLentoNaoTravaOsDemais() throws Exception {
+        double lentasAntes = lentas();
+        PedidoResponseDTO pedido = criarPedido();
+        MockHttpServletResponse lento = assinar(get("/pedidos/" + pedido.getId() + "/eventos").header(CLIENTE_LENTO, "1"));
+        MockHttpServletResponse normal = assinar(get("/pedidos/" + pedido.getId() + "/eventos"));
+        aguardar(lento, "\"status\":\"PENDENTE\"");
+        aguardar(normal, "\"status\":\"PENDENTE\"");
+        double conexoesAntes = meterRegistry.get("delivery.pedidos.eventos.conexoes").gauge().value();
+
+        travarLentos = true;
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.CONFIRMADO);
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.PREPARANDO);
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.SAIU_PARA_ENTREGA);
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.ENTREGUE);
+
+        // com o write do lento ainda preso, o outro cliente recebe tudo
+        aguardar(normal, "\"status\":\"ENTREGUE\"");
+        assertTrue(travarLentos);
+        assertFalse(lento.getContentAsString().contains("\"status\":\"ENTREGUE\""));
+        aguardar(() -> lentas() == lentasAntes + 1);
+        assertEquals(conexoesAntes - 1, meterRegistry.get("delivery.pedidos.eventos.conexoes").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Evento repetido pelo relay deve ser descartado sem barrar eventos retidos de outros pedidos")
+    void eventoRepetidoDescartado() throws Exception {
+        PedidoResponseDTO retido = criarPedido();
+        PedidoResponseDTO pedido = criarPedido();
+        MockHttpServletResponse canal = assinar(get("/pedidos/restaurante/" + restaurante.getId() + "/eventos"));
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.CONFIRMADO);
+        long ultimoId = ids(aguardar(canal, "\"status\":\"CONFIRMADO\"")).get(0);
+
+        // nova entrega do mesmo evento (at-least-once) e, depois dele, um evento de outro pedido
+        // com id menor, que ficou retido no outbox por falha de algum assinante; o id do último
+        // evento já distribuído desse outro pedido, o de criação, é anterior aos dois
+        PedidoStatusAlteradoEvent confirmado = new PedidoStatusAlteradoEvent(pedido.getId(), pedido.getNumeroPedido(),
+                cliente.getId(), restaurante.getId(), "PENDENTE", "CONFIRMADO", LocalDateTime.now());
+        pedidoEventoService.receber(ultimoId, confirmado);
+        pedidoEventoService.receber(ultimoId - 1, new PedidoStatusAlteradoEvent(retido.getId(), retido.getNumeroPedido(),
+                cliente.getId(), restaurante.getId(), "PENDENTE", "RETIDO", LocalDateTime.now()));
+
+        String conteudo = aguardar(canal, "\"status\":\"RETIDO\"");
+        assertEquals(List.of(ultimoId, ultimoId - 1), ids(conteudo));
+    }
+
+    @Test
+    @DisplayName("Mudança com commit durante a assinatura não deve se perder nem ser sobrescrita pelo status lido")
+    void mudancaDuranteAssinatura() throws Exception {
+        PedidoResponseDTO pedido = criarPedido();
+        MockHttpServletResponse canalRestaurante = assinar(get("/pedidos/restaurante/" + restaurante.getId() + "/eventos"));
+        // o status atual é lido (PENDENTE) e, antes de a assinatura terminar, o pedido é confirmado
+        // e o evento distribuído
+        PedidoResumoResponseDTO lido = new PedidoResumoResponseDTO(pedido.getId(), pedido.getNumeroPedido(),
+                pedido.getDataPedido(), StatusPedido.PENDENTE, pedido.getValorTotal(), cliente.getId(), cliente.getNome(),
+                restaurante.getId(), restaurante.getNome(), 1);
+        doAnswer(invocacao -> {
+            pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.CONFIRMADO);
+            aguardar(canalRestaurante, "\"status\":\"CONFIRMADO\"");
+            return Optional.of(lido);
+        }).when(pedidoRepository).findResumoById(pedido.getId());
+
+        MockHttpServletResponse canal = assinar(get("/pedidos/" + pedido.getId() + "/eventos"));
+
+        String conteudo = aguardar(canal, "\"status\":\"CONFIRMADO\"");
+        assertFalse(conteudo.contains("\"status\":\"PENDENTE\""), "status lido antes do evento não deve ser enviado");
+        assertEquals(1, ids(conteudo).size());
+    }
+
+    @Test
+    @DisplayName("Cliente desconectado deve ter a conexão removida na falha de escrita")
+    void clienteDesconectadoRemovido() throws Exception {
+        PedidoResponseDTO pedido = criarPedido();
+        double conexoesAntes = meterRegistry.get("delivery.pedidos.eventos.conexoes").gauge().value();
+
+        assinar(get("/pedidos/" + pedido.getId() + "/eventos").header(CLIENTE_DESCONECTADO, "1"));
+
+        // o envio do status atual falha e a conexão sai do canal
+        aguardar(() -> meterRegistry.get("delivery.pedidos.eventos.conexoes").gauge().value() == conexoesAntes);
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.CONFIRMADO);
+        MockHttpServletResponse normal = assinar(get("/pedidos/" + pedido.getId() + "/eventos"));
+        aguardar(normal, "\"status\":\"CONFIRMADO\"");
+        assertEquals(conexoesAntes + 1, meterRegistry.get("delivery.pedidos.eventos.conexoes").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Pedido inexistente deve responder 404")
+    void pedidoInexistente() throws Exception {
+        // Accept de um EventSource do navegador
+        mockMvc.perform(get("/pedidos/999999/eventos").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isNotFound());
+    }
+
+    private MockHttpServletResponse assinar(MockHttpServletRequestBuilder requisicao) throws Exception {
+        return mockMvc.perform(requisicao)
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private String aguardar(MockHttpServletResponse canal, String trecho) throws Exception {
+        long limite = System.nanoTime() + LIMITE.toNanos();
+        while (System.nanoTime() < limite) {
+            String conteudo = canal.getContentAsString();
+            if (conteudo.contains(trecho)) {
+                return conteudo;
+            }
+            Thread.sleep(20);
+        }
+        return fail("Evento com " + trecho + " não chegou: " + canal.getContentAsString());
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + LIMITE.toNanos();
+        while (System.nanoTime() < limite) {
+            if (condicao.getAsBoolean()) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        fail("Condição não atendida em " + LIMITE);
+    }
+
+    private double lentas() {
+        return meterRegistry.get("delivery.pedidos.eventos.lentas").functionCounter().count();
+    }
+
+    private static List<Long> ids(String conteudo) {
+        Matcher matcher = ID_EVENTO.matcher(conteudo);
+        return matcher.results().map(resultado -> Long.parseLong(resultado.group(1))).toList();
+    }
+
+    private PedidoResponseDTO criarPedido() {
+        ItemPedidoRequestDTO item = new ItemPedidoRequestDTO();
+        item.setProdutoId(produto.getId());
+        item.setQuantidade(1);
+
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setNumeroPedido("SSE" + System.nanoTime() % 1_000_000);
+        dto.setClienteId(cliente.getId());
+        dto.setRestauranteId(restaurante.getId());
+        dto.setItens(List.of(item));
+        return pedidoService.criarPedido(dto);
+    }
+}
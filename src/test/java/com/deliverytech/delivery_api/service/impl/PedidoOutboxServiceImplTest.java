@@ -0,0 +1,328 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery_api.enums.StatusPedido;
+import com.deliverytech.delivery_api.event.PedidoEventoAssinante;
+import com.deliverytech.delivery_api.event.PedidoStatusAlteradoEvent;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.PedidoOutbox;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.PedidoOutboxRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.service.PedidoOutboxService;
+import com.deliverytech.delivery_api.service.PedidoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// lote pequeno para que os eventos retidos de um pedido ocupem lotes inteiros; esperas de
+// 100ms, 200ms, 400ms, 400ms entre as 5 tentativas
+@SpringBootTest(properties = {
+        "delivery.pedidos.outbox.tamanho-lote=2",
+        "delivery.pedidos.outbox.intervalo=200ms",
+        "delivery.pedidos.outbox.maximo-tentativas=5",
+        "delivery.pedidos.outbox.espera-retentativa=100ms",
+        "delivery.pedidos.outbox.espera-retentativa-maxima=400ms"
+})
+@ActiveProfiles("test")
+@DisplayName("Outbox de eventos de pedidos")
+class PedidoOutboxServiceImplTest {
+
+    private static final Duration LIMITE = Duration.ofSeconds(10);
+
+    record Recebido(long id, PedidoStatusAlteradoEvent evento) {}
+
+    /** Guarda tudo que recebe; falha nos eventos marcados (numeroPedido:status). */
+    static class AssinanteDeTeste implements PedidoEventoAssinante {
+
+        private final List<Recebido> recebidos = new CopyOnWriteArrayList<>();
+        private final Set<String> eventosComFalha = ConcurrentHashMap.newKeySet();
+        // instantes (nanoTime) de cada tentativa com falha, por id do evento
+        private final Map<Long, List<Long>> falhas = new ConcurrentHashMap<>();
+
+        @Override
+        public void receber(long eventoId, PedidoStatusAlteradoEvent evento) {
+            if (eventosComFalha.contains(evento.numeroPedido() + ":" + evento.status())) {
+                falhas.computeIfAbsent(eventoId, id -> new CopyOnWriteArrayList<>()).add(System.nanoTime());
+                throw new IllegalStateException("Assinante indisponível");
+            }
+            recebidos.add(new Recebido(eventoId, evento));
+        }
+
+        public List<Long> falhasDoEvento(long eventoId) {
+            return falhas.getOrDefault(eventoId, List.of());
+        }
+
+        public List<Recebido> doPedido(Long pedidoId) {
+            return recebidos.stream().filter(r -> pedidoId.equals(r.evento().pedidoId())).toList();
+        }
+
+        public void falharEm(String numeroPedido, String status) {
+            eventosComFalha.add(numeroPedido + ":" + status);
+        }
+
+        public void normalizar() {
+            eventosComFalha.clear();
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        AssinanteDeTeste assinanteDeTeste() {
+            return new AssinanteDeTeste();
+        }
+    }
+
+    @Autowired
+    private AssinanteDeTeste assinante;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoOutboxService pedidoOutboxService;
+
+    @Autowired
+    private PedidoOutboxRepository pedidoOutboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    private Cliente cliente;
+    private Restaurante restaurante;
+    private Produto produto;
+
+    @BeforeEach
+    void setup() {
+        cliente = new Cliente();
+        cliente.setNome("Cliente Outbox");
+        cliente.setEmail("outbox" + System.nanoTime() + "@teste.com");
+        cliente.setAtivo(true);
+        clienteRepository.save(cliente);
+
+        restaurante = new Restaurante();
+        restaurante.setNome("Restaurante Outbox");
+        restaurante.setTaxaEntrega(BigDecimal.ONE);
+        restaurante.setAtivo(true);
+        restauranteRepository.save(restaurante);
+
+        produto = new Produto();
+        produto.setNome("Produto Outbox");
+        produto.setPreco(BigDecimal.TEN);
+        produto.setDisponivel(true);
+        produto.setRestaurante(restaurante);
+        produtoRepository.save(produto);
+    }
+
+    @Test
+    @DisplayName("Eventos do pedido devem ser entregues em ordem e marcados como publicados")
+    void entregaEmOrdem() throws Exception {
+        PedidoResponseDTO pedido = pedidoService.criarPedido(novoPedido());
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.CONFIRMADO);
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.PREPARANDO);
+
+        aguardar(() -> assinante.doPedido(pedido.getId()).size() == 3);
+
+        List<Recebido> recebidos = assinante.doPedido(pedido.getId());
+        assertEquals(List.of("PENDENTE", "CONFIRMADO", "PREPARANDO"),
+                recebidos.stream().map(r -> r.evento().status()).toList());
+        assertNull(recebidos.get(0).evento().statusAnterior());
+        assertTrue(recebidos.get(0).id() < recebidos.get(1).id() && recebidos.get(1).id() < recebidos.get(2).id());
+
+        aguardar(() -> outboxDoPedido(pedido.getId()).stream().allMatch(o -> o.getDataPublicacao() != null));
+        assertNotNull(meterRegistry.find("delivery.pedidos.outbox.atraso").gauge());
+    }
+
+    @Test
+    @DisplayName("Rollback da alteração do pedido não deve gravar evento")
+    void rollbackSemEvento() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        Long pedidoId = transacao.execute(status -> {
+            PedidoResponseDTO pedido = pedidoService.criarPedido(novoPedido());
+            status.setRollbackOnly();
+            return pedido.getId();
+        });
+
+        assertTrue(outboxDoPedido(pedidoId).isEmpty());
+        assertTrue(assinante.doPedido(pedidoId).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Falha na entrega deve reter os eventos seguintes do pedido até a nova tentativa")
+    void falhaRetemEventosDoPedido() throws Exception {
+        PedidoRequestDTO comFalha = novoPedido();
+        // só o evento de criação falha: o de confirmação poderia ser entregue, mas fica retido
+        assinante.falharEm(comFalha.getNumeroPedido(), "PENDENTE");
+        PedidoResponseDTO pedido = pedidoService.criarPedido(comFalha);
+        PedidoResponseDTO outro = pedidoService.criarPedido(novoPedido());
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.CONFIRMADO);
+
+        aguardar(() -> outboxDoPedido(pedido.getId()).get(0).getTentativas() > 0);
+        // o evento seguinte do mesmo pedido não passa na frente; os de outros pedidos seguem
+        aguardar(() -> assinante.doPedido(outro.getId()).size() == 1);
+        assertTrue(assinante.doPedido(pedido.getId()).isEmpty());
+        PedidoOutbox falhou = outboxDoPedido(pedido.getId()).get(0);
+        assertNull(falhou.getDataPublicacao());
+        assertTrue(falhou.getErro().contains("Assinante indisponível"));
+
+        assinante.normalizar();
+
+        aguardar(() -> assinante.doPedido(pedido.getId()).size() == 2);
+        assertEquals(List.of("PENDENTE", "CONFIRMADO"),
+                assinante.doPedido(pedido.getId()).stream().map(r -> r.evento().status()).toList());
+    }
+
+    @Test
+    @DisplayName("Eventos retidos que enchem o lote não devem travar os pedidos seguintes")
+    void retidosNaoTravamOsLotes() throws Exception {
+        PedidoRequestDTO comFalha = novoPedido();
+        assinante.falharEm(comFalha.getNumeroPedido(), "PENDENTE");
+        PedidoResponseDTO pedido = pedidoService.criarPedido(comFalha);
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.CONFIRMADO);
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.PREPARANDO);
+        aguardar(() -> outboxDoPedido(pedido.getId()).get(0).getTentativas() > 0);
+
+        // três retidos com lote de dois: o evento do outro pedido está além do primeiro lote
+        PedidoResponseDTO outro = pedidoService.criarPedido(novoPedido());
+
+        aguardar(() -> assinante.doPedido(outro.getId()).size() == 1);
+        assertTrue(assinante.doPedido(pedido.getId()).isEmpty());
+
+        assinante.normalizar();
+
+        aguardar(() -> assinante.doPedido(pedido.getId()).size() == 3);
+        assertEquals(List.of("PENDENTE", "CONFIRMADO", "PREPARANDO"),
+                assinante.doPedido(pedido.getId()).stream().map(r -> r.evento().status()).toList());
+    }
+
+    @Test
+    @DisplayName("Evento que esgota as tentativas deve ser descartado e liberar os seguintes do pedido")
+    void descarteAposMaximoDeTentativas() throws Exception {
+        double descartadosAntes = meterRegistry.get("delivery.pedidos.outbox.descartados").functionCounter().count();
+        PedidoRequestDTO comFalha = novoPedido();
+        assinante.falharEm(comFalha.getNumeroPedido(), "PENDENTE");
+        PedidoResponseDTO pedido = pedidoService.criarPedido(comFalha);
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.CONFIRMADO);
+
+        aguardar(() -> assinante.doPedido(pedido.getId()).size() == 1);
+
+        assertEquals("CONFIRMADO", assinante.doPedido(pedido.getId()).get(0).evento().status());
+        PedidoOutbox descartado = outboxDoPedido(pedido.getId()).get(0);
+        assertEquals(5, descartado.getTentativas());
+        assertNotNull(descartado.getDataDescarte());
+        assertNull(descartado.getDataPublicacao());
+        assertEquals(descartadosAntes + 1,
+                meterRegistry.get("delivery.pedidos.outbox.descartados").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Novas tentativas devem esperar a espera exponencial, contada em tempo e não em passadas do relay")
+    void esperaExponencialEntreTentativas() throws Exception {
+        PedidoRequestDTO comFalha = novoPedido();
+        assinante.falharEm(comFalha.getNumeroPedido(), "PENDENTE");
+        PedidoResponseDTO pedido = pedidoService.criarPedido(comFalha);
+
+        aguardar(() -> outboxDoPedido(pedido.getId()).get(0).getTentativas() == 1);
+        PedidoOutbox aguardando = outboxDoPedido(pedido.getId()).get(0);
+        assertNotNull(aguardando.getProximaTentativa());
+        assertNull(aguardando.getDataDescarte());
+        // commits de outros pedidos acordam o relay, mas não antecipam a nova tentativa
+        for (int i = 0; i < 3; i++) {
+            pedidoService.criarPedido(novoPedido());
+        }
+        // o evento em espera conta no atraso, mesmo sem passar pelo lote do relay
+        aguardar(() -> meterRegistry.get("delivery.pedidos.outbox.atraso").gauge().value() > 0);
+
+        aguardar(() -> outboxDoPedido(pedido.getId()).get(0).getDataDescarte() != null);
+        List<Long> tentativas = assinante.falhasDoEvento(aguardando.getId());
+        assertEquals(5, tentativas.size());
+        long[] esperasMinimas = {100, 200, 400, 400};
+        for (int i = 0; i < esperasMinimas.length; i++) {
+            long esperaMs = Duration.ofNanos(tentativas.get(i + 1) - tentativas.get(i)).toMillis();
+            assertTrue(esperaMs >= esperasMinimas[i],
+                    "espera antes da tentativa " + (i + 2) + ": " + esperaMs + "ms, mínimo " + esperasMinimas[i] + "ms");
+        }
+        assertNull(outboxDoPedido(pedido.getId()).get(0).getProximaTentativa());
+    }
+
+    @Test
+    @DisplayName("Evento publicado não deve ser entregue de novo: a entrega é de uma instância só")
+    void publicadoNaoEhEntregueDeNovo() throws Exception {
+        PedidoResponseDTO pedido = pedidoService.criarPedido(novoPedido());
+        aguardar(() -> outboxDoPedido(pedido.getId()).get(0).getDataPublicacao() != null);
+
+        // o que o relay de uma segunda instância faria: nada a entregar aos seus assinantes
+        pedidoOutboxService.publicarPendentes();
+
+        assertEquals(1, assinante.doPedido(pedido.getId()).size());
+    }
+
+    private List<PedidoOutbox> outboxDoPedido(Long pedidoId) {
+        return pedidoOutboxRepository.findAll().stream()
+                .filter(o -> pedidoId.equals(o.getPedidoId()))
+                .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                .toList();
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + LIMITE.toNanos();
+        while (System.nanoTime() < limite) {
+            if (condicao.getAsBoolean()) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        fail("Condição não atendida em " + LIMITE);
+    }
+
+    private PedidoRequestDTO novoPedido() {
+        ItemPedidoRequestDTO item = new ItemPedidoRequestDTO();
+        item.setProdutoId(produto.getId());
+        item.setQuantidade(1);
+
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setNumeroPedido("OUT" + System.nanoTime());
+        dto.setClienteId(cliente.getId());
+        dto.setRestauranteId(restaurante.getId());
+        dto.setItens(List.of(item));
+        return dto;
+    }
+}
@@ -0,0 +1,273 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoRecebidoResponseDTO;
+import com.deliverytech.delivery_api.enums.StatusRecebimento;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.service.PedidoRecebimentoService;
+import com.deliverytech.delivery_api.service.PedidoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// fila pequena para forçar o transbordo para a tabela
+@SpringBootTest(properties = {
+        "delivery.pedidos.recebimento.capacidade-fila=2",
+        "delivery.pedidos.recebimento.tamanho-lote=3",
+        "delivery.pedidos.recebimento.espera=50ms",
+        "delivery.pedidos.recebimento.maximo-tentativas=3",
+        "delivery.pedidos.recebimento.espera-retentativa=500ms"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+@DisplayName("Recebimento assíncrono de pedidos (202)")
+class PedidoRecebimentoServiceImplTest {
+
+    private static final Duration LIMITE = Duration.ofSeconds(20);
+
+    @Autowired
+    private PedidoRecebimentoService pedidoRecebimentoService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    // falha transitória simulada nos pedidos cujo número começa com FALHA
+    @MockitoSpyBean
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    private Cliente cliente;
+    private Restaurante restaurante;
+    private Produto produto;
+
+    @BeforeEach
+    void setup() {
+        cliente = new Cliente();
+        cliente.setNome("Cliente Recebimento");
+        cliente.setEmail("recebimento" + System.nanoTime() + "@teste.com");
+        cliente.setAtivo(true);
+        clienteRepository.save(cliente);
+
+        restaurante = new Restaurante();
+        restaurante.setNome("Restaurante Recebimento");
+        restaurante.setTaxaEntrega(BigDecimal.valueOf(5.0));
+        restaurante.setAtivo(true);
+        restauranteRepository.save(restaurante);
+
+        produto = new Produto();
+        produto.setNome("Produto Recebimento");
+        produto.setPreco(BigDecimal.TEN);
+        produto.setDisponivel(true);
+        produto.setRestaurante(restaurante);
+        produtoRepository.save(produto);
+    }
+
+    private void falharTransitoriamente(String numero, int vezes) {
+        AtomicInteger restantes = new AtomicInteger(vezes);
+        doAnswer(invocacao -> {
+            if (restantes.getAndDecrement() > 0) {
+                throw new DataAccessResourceFailureException("Banco indisponível");
+            }
+            return invocacao.callRealMethod();
+        }).when(pedidoService).criarPedido(argThat(dto -> dto != null && numero.equals(dto.getNumeroPedido())));
+    }
+
+    @Test
+    @DisplayName("POST com Prefer: respond-async deve responder 202 e o pedido ser criado em segundo plano")
+    void receber_202EPedidoCriado() throws Exception {
+        MvcResult resultado = mockMvc.perform(post("/pedidos")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(pedido("ASYNC1", produto.getId()))))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.status").value("PENDENTE"))
+                .andReturn();
+
+        PedidoRecebidoResponseDTO recebido = objectMapper.readValue(
+                resultado.getResponse().getContentAsString(), PedidoRecebidoResponseDTO.class);
+        assertEquals("/pedidos/recebimentos/" + recebido.getProtocolo(), resultado.getResponse().getHeader("Location"));
+
+        PedidoRecebidoResponseDTO processado = aguardarFim(recebido.getProtocolo());
+        assertEquals(StatusRecebimento.PROCESSADO, processado.getStatus());
+        assertEquals("ASYNC1", pedidoRepository.findById(processado.getPedidoId()).orElseThrow().getNumeroPedido());
+
+        mockMvc.perform(get("/pedidos/recebimentos/" + recebido.getProtocolo()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pedidoId").value(processado.getPedidoId()));
+    }
+
+    @Test
+    @DisplayName("Rajada acima da capacidade da fila deve ser criada a partir da tabela, isolando o pedido inválido")
+    void rajada_transbordoEPedidoInvalido() {
+        List<UUID> protocolos = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            protocolos.add(pedidoRecebimentoService.receber(pedido("RAJADA" + i, produto.getId())).getProtocolo());
+        }
+        UUID invalido = pedidoRecebimentoService.receber(pedido("RAJADA-INVALIDO", 999_999L)).getProtocolo();
+
+        for (UUID protocolo : protocolos) {
+            PedidoRecebidoResponseDTO recebido = aguardarFim(protocolo);
+            assertEquals(StatusRecebimento.PROCESSADO, recebido.getStatus(), "protocolo " + protocolo);
+            assertNotNull(recebido.getPedidoId());
+        }
+
+        PedidoRecebidoResponseDTO rejeitado = aguardarFim(invalido);
+        assertEquals(StatusRecebimento.REJEITADO, rejeitado.getStatus());
+        assertNotNull(rejeitado.getErro());
+        assertNull(rejeitado.getPedidoId());
+    }
+
+    @Test
+    @DisplayName("Prefer com várias preferências deve reconhecer respond-async; sem ela o pedido é criado na hora")
+    void prefer_tokens() throws Exception {
+        mockMvc.perform(post("/pedidos")
+                        .header("Prefer", "return=minimal, Respond-Async; x=1, wait=10")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(pedido("PREFER1", produto.getId()))))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Preference-Applied", "respond-async"));
+
+        mockMvc.perform(post("/pedidos")
+                        .header("Prefer", "return=minimal")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(pedido("PREFER2", produto.getId()))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.numeroPedido").value("PREFER2"));
+    }
+
+    @Test
+    @DisplayName("Falha transitória deve manter o protocolo PENDENTE e tentar de novo após a espera")
+    void falhaTransitoria_retentativa() {
+        falharTransitoriamente("FALHA-UMA", 1);
+        UUID protocolo = pedidoRecebimentoService.receber(pedido("FALHA-UMA", produto.getId())).getProtocolo();
+
+        PedidoRecebidoResponseDTO adiado = aguardar(protocolo, r -> r.getTentativas() == 1);
+        assertEquals(StatusRecebimento.PENDENTE, adiado.getStatus());
+        assertNotNull(adiado.getErro());
+
+        PedidoRecebidoResponseDTO processado = aguardarFim(protocolo);
+        assertEquals(StatusRecebimento.PROCESSADO, processado.getStatus());
+        assertEquals(1, processado.getTentativas());
+        assertNull(processado.getErro());
+    }
+
+    @Test
+    @DisplayName("Falha transitória persistente deve rejeitar após o máximo de tentativas")
+    void falhaTransitoria_esgotada() {
+        falharTransitoriamente("FALHA-SEMPRE", Integer.MAX_VALUE);
+        UUID protocolo = pedidoRecebimentoService.receber(pedido("FALHA-SEMPRE", produto.getId())).getProtocolo();
+
+        PedidoRecebidoResponseDTO rejeitado = aguardarFim(protocolo);
+        assertEquals(StatusRecebimento.REJEITADO, rejeitado.getStatus());
+        assertEquals(3, rejeitado.getTentativas());
+        assertTrue(rejeitado.getErro().contains("3 tentativas"));
+    }
+
+    @Test
+    @DisplayName("Pedido sem itens deve ser recusado na entrada, sem protocolo")
+    void receber_invalido400() throws Exception {
+        PedidoRequestDTO dto = pedido("ASYNC-VAZIO", produto.getId());
+        dto.setItens(List.of());
+
+        mockMvc.perform(post("/pedidos")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Protocolo inexistente deve responder 404")
+    void consultar_inexistente404() throws Exception {
+        mockMvc.perform(get("/pedidos/recebimentos/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    private PedidoRecebidoResponseDTO aguardarFim(UUID protocolo) {
+        return aguardar(protocolo, recebido -> recebido.getStatus() != StatusRecebimento.PENDENTE);
+    }
+
+    private PedidoRecebidoResponseDTO aguardar(UUID protocolo, Predicate<PedidoRecebidoResponseDTO> condicao) {
+        long limite = System.nanoTime() + LIMITE.toNanos();
+        while (System.nanoTime() < limite) {
+            PedidoRecebidoResponseDTO recebido = pedidoRecebimentoService.consultar(protocolo);
+            if (condicao.test(recebido)) {
+                return recebido;
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return fail("Protocolo " + protocolo + " não chegou ao estado esperado");
+    }
+
+    private PedidoRequestDTO pedido(String numero, Long produtoId) {
+        ItemPedidoRequestDTO item = new ItemPedidoRequestDTO();
+        item.setProdutoId(produtoId);
+        item.setQuantidade(1);
+
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setNumeroPedido(numero);
+        dto.setDataPedido("2025-01-01");
+        dto.setValorTotal(BigDecimal.ZERO);
+        dto.setClienteId(cliente.getId());
+        dto.setRestauranteId(restaurante.getId());
+        dto.setCep("01310-100");
+        dto.setItens(List.of(item));
+        return dto;
+    }
+}
@@ -0,0 +1,127 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.service.PedidoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DirtiesContext
+@DisplayName("Benchmark de inserts - PedidoService")
+class PedidoServiceImplBatchTest {
+
+    private static final int[] TAMANHOS = {1, 10, 50};
+    private static final int AQUECIMENTO = 5;
+    private static final int MEDICOES = 20;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Cliente cliente;
+    private Restaurante restaurante;
+    private List<Produto> produtos;
+
+    @BeforeEach
+    void setup() {
+        cliente = new Cliente();
+        cliente.setNome("Cliente Benchmark");
+        cliente.setEmail("benchmark@teste.com");
+        cliente.setAtivo(true);
+        clienteRepository.save(cliente);
+
+        restaurante = new Restaurante();
+        restaurante.setNome("Restaurante Benchmark");
+        restaurante.setTaxaEntrega(BigDecimal.valueOf(5.0));
+        restaurante.setAtivo(true);
+        restauranteRepository.save(restaurante);
+
+        produtos = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Produto produto = new Produto();
+            produto.setNome("Produto " + i);
+            produto.setPreco(BigDecimal.valueOf(10.0));
+            produto.setDisponivel(true);
+            produto.setRestaurante(restaurante);
+            produtos.add(produto);
+        }
+        produtoRepository.saveAll(produtos);
+    }
+
+    @Test
+    @DisplayName("Quantidade de statements por pedido não deve crescer com o número de itens")
+    void statementsPorPedidoConstantes() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<Integer, Long> statementsPorTamanho = new LinkedHashMap<>();
+
+        for (int tamanho : TAMANHOS) {
+            PedidoRequestDTO dto = pedidoCom(tamanho);
+            for (int i = 0; i < AQUECIMENTO; i++) {
+                pedidoService.criarPedido(dto);
+            }
+
+            statistics.clear();
+            for (int i = 0; i < MEDICOES; i++) {
+                pedidoService.criarPedido(dto);
+            }
+            statementsPorTamanho.put(tamanho, Math.round((double) statistics.getPrepareStatementCount() / MEDICOES));
+        }
+
+        // Com batch e ids pooled o custo por pedido é constante (+1 eventual por busca de bloco de ids)
+        long base = statementsPorTamanho.get(1);
+        assertTrue(statementsPorTamanho.get(50) <= base + 1,
+                "Statements por pedido cresceram com os itens: " + statementsPorTamanho);
+    }
+
+    private PedidoRequestDTO pedidoCom(int quantidadeItens) {
+        List<ItemPedidoRequestDTO> itens = new ArrayList<>();
+        for (int i = 0; i < quantidadeItens; i++) {
+            ItemPedidoRequestDTO item = new ItemPedidoRequestDTO();
+            item.setProdutoId(produtos.get(i).getId());
+            item.setQuantidade(1);
+            itens.add(item);
+        }
+
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setNumeroPedido("BENCH" + quantidadeItens);
+        dto.setClienteId(cliente.getId());
+        dto.setRestauranteId(restaurante.getId());
+        dto.setItens(itens);
+        return dto;
+    }
+}
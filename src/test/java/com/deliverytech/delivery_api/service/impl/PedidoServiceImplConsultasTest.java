@@ -0,0 +1,166 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.config.SqlMonitor;
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.response.CursorPageResponseWrapper;
+import com.deliverytech.delivery_api.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoResumoResponseDTO;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.service.PedidoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Consultas de pedido sem N+1 - quantidade de statements")
+class PedidoServiceImplConsultasTest {
+
+    private static final int PEDIDOS = 6;
+    private static final int ITENS_POR_PEDIDO = 5;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private SqlMonitor sqlMonitor;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    private Cliente cliente;
+    private List<PedidoResponseDTO> criados;
+
+    @BeforeEach
+    void setup() {
+        cliente = new Cliente();
+        cliente.setNome("Cliente Consultas");
+        cliente.setEmail("consultas" + System.nanoTime() + "@teste.com");
+        cliente.setAtivo(true);
+        clienteRepository.save(cliente);
+
+        Restaurante restaurante = new Restaurante();
+        restaurante.setNome("Restaurante Consultas");
+        restaurante.setTaxaEntrega(BigDecimal.valueOf(5.0));
+        restaurante.setAtivo(true);
+        restauranteRepository.save(restaurante);
+
+        List<Produto> produtos = new ArrayList<>();
+        for (int i = 0; i < ITENS_POR_PEDIDO; i++) {
+            Produto produto = new Produto();
+            produto.setNome("Produto Consultas " + i);
+            produto.setPreco(BigDecimal.valueOf(10 + i));
+            produto.setDisponivel(true);
+            produto.setRestaurante(restaurante);
+            produtos.add(produtoRepository.save(produto));
+        }
+
+        criados = new ArrayList<>();
+        for (int p = 0; p < PEDIDOS; p++) {
+            PedidoRequestDTO dto = new PedidoRequestDTO();
+            dto.setNumeroPedido("CONS" + p);
+            dto.setClienteId(cliente.getId());
+            dto.setRestauranteId(restaurante.getId());
+            dto.setItens(produtos.stream().map(produto -> {
+                ItemPedidoRequestDTO item = new ItemPedidoRequestDTO();
+                item.setProdutoId(produto.getId());
+                item.setQuantidade(1);
+                return item;
+            }).toList());
+            criados.add(pedidoService.criarPedido(dto));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        sqlMonitor.finalizar();
+    }
+
+    @Test
+    @DisplayName("buscarPorId deve carregar pedido, cliente, restaurante, itens e produtos em um statement")
+    void buscarPorId_umStatement() {
+        Long id = criados.get(0).getId();
+
+        PedidoResponseDTO pedido = contar(1, () -> pedidoService.buscarPorId(id));
+
+        assertEquals(cliente.getId(), pedido.getCliente().getId());
+        assertNotNull(pedido.getRestaurante().getNome());
+        assertEquals(ITENS_POR_PEDIDO, pedido.getItens().size());
+        assertTrue(pedido.getItens().stream().allMatch(item -> item.getProdutoId() != null));
+    }
+
+    @Test
+    @DisplayName("Página do histórico deve usar número fixo de statements, independente de pedidos e itens")
+    void historico_statementsFixos() {
+        // existência do cliente + página com cliente/restaurante + itens/produtos da página
+        CursorPageResponseWrapper<PedidoResponseDTO> pagina =
+                contar(3, () -> pedidoService.listarPedidosPorCliente(cliente.getId(), null, 20));
+
+        assertEquals(PEDIDOS, pagina.getContent().size());
+        assertTrue(pagina.getContent().stream().allMatch(p -> p.getItens().size() == ITENS_POR_PEDIDO));
+    }
+
+    @Test
+    @DisplayName("Listagem completa por cliente deve usar dois statements")
+    void listagemCompleta_doisStatements() {
+        List<PedidoResponseDTO> pedidos = contar(2, () -> pedidoService.listarPedidosPorCliente(cliente.getId()));
+
+        assertEquals(PEDIDOS, pedidos.size());
+        assertTrue(pedidos.stream().allMatch(p -> p.getItens().size() == ITENS_POR_PEDIDO));
+    }
+
+    @Test
+    @DisplayName("Visão resumida deve vir pronta da query, sem carregar entidades nem itens")
+    void visaoResumida_doisStatements() {
+        // existência do cliente + página já como DTO
+        CursorPageResponseWrapper<PedidoResumoResponseDTO> pagina =
+                contar(2, () -> pedidoService.listarResumoPorCliente(cliente.getId(), null, 4));
+
+        assertEquals(4, pagina.getContent().size());
+        assertTrue(pagina.isHasNext());
+        PedidoResumoResponseDTO resumo = pagina.getContent().get(0);
+        assertEquals(cliente.getNome(), resumo.getClienteNome());
+        assertEquals("Restaurante Consultas", resumo.getRestauranteNome());
+        assertEquals(ITENS_POR_PEDIDO, resumo.getQuantidadeItens());
+
+        // o cursor é compartilhado com a visão completa
+        CursorPageResponseWrapper<PedidoResumoResponseDTO> resto =
+                pedidoService.listarResumoPorCliente(cliente.getId(), pagina.getNextCursor(), 4);
+        assertEquals(PEDIDOS - 4, resto.getContent().size());
+        assertEquals(criados.get(0).getId(), resto.getContent().get(resto.getContent().size() - 1).getId());
+
+        PedidoResumoResponseDTO porId = contar(1, () -> pedidoService.buscarResumoPorId(criados.get(0).getId()));
+        assertEquals(criados.get(0).getNumeroPedido(), porId.getNumeroPedido());
+    }
+
+    private <T> T contar(int esperado, Supplier<T> consulta) {
+        SqlMonitor.Contagem contagem = sqlMonitor.iniciar();
+        T resultado = consulta.get();
+        sqlMonitor.finalizar();
+        assertEquals(esperado, contagem.getStatements(), "quantidade de statements");
+        return resultado;
+    }
+}
@@ -0,0 +1,218 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.config.SqlMonitor;
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoExportacaoDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery_api.enums.Role;
+import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.model.Usuario;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.service.PedidoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// lote menor que a quantidade de pedidos para passar pela limpeza do contexto no meio do stream
+@SpringBootTest(properties = "delivery.exportacao.tamanho-lote=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+@DisplayName("Exportação de pedidos por período em streaming")
+class PedidoServiceImplExportacaoTest {
+
+    private static final int PEDIDOS_NO_PERIODO = 5;
+    private static final LocalDate HOJE = LocalDate.now();
+    private static final Usuario ADMIN =
+            Usuario.builder().id(1L).email("admin@teste.com").role(Role.ADMIN).ativo(true).build();
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private SqlMonitor sqlMonitor;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    private Cliente cliente;
+    private Restaurante restaurante;
+
+    @BeforeEach
+    void setup() {
+        pedidoRepository.deleteAll();
+
+        cliente = new Cliente();
+        cliente.setNome("Cliente, \"Exportação\"");
+        cliente.setEmail("exportacao" + System.nanoTime() + "@teste.com");
+        cliente.setAtivo(true);
+        clienteRepository.save(cliente);
+
+        restaurante = new Restaurante();
+        restaurante.setNome("Restaurante Exportação");
+        restaurante.setTaxaEntrega(BigDecimal.valueOf(5.0));
+        restaurante.setAtivo(true);
+        restauranteRepository.save(restaurante);
+
+        Produto produto = new Produto();
+        produto.setNome("Produto Exportação");
+        produto.setPreco(BigDecimal.TEN);
+        produto.setDisponivel(true);
+        produto.setRestaurante(restaurante);
+        produtoRepository.save(produto);
+
+        for (int p = 0; p <= PEDIDOS_NO_PERIODO; p++) {
+            PedidoRequestDTO dto = new PedidoRequestDTO();
+            dto.setNumeroPedido("EXP" + p);
+            dto.setClienteId(cliente.getId());
+            dto.setRestauranteId(restaurante.getId());
+            ItemPedidoRequestDTO item = new ItemPedidoRequestDTO();
+            item.setProdutoId(produto.getId());
+            item.setQuantidade(1);
+            dto.setItens(List.of(item));
+            PedidoResponseDTO criado = pedidoService.criarPedido(dto);
+
+            // o último pedido fica fora do período exportado
+            if (p == PEDIDOS_NO_PERIODO) {
+                Pedido antigo = pedidoRepository.findById(criado.getId()).orElseThrow();
+                antigo.setDataPedido(HOJE.minusDays(10).atTime(12, 0));
+                pedidoRepository.save(antigo);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve exportar só o período, em ordem, com um único statement")
+    void exportarPorPeriodo_umStatement() {
+        List<PedidoExportacaoDTO> linhas = new ArrayList<>();
+
+        SqlMonitor.Contagem contagem = sqlMonitor.iniciar();
+        long exportados = pedidoService.exportarPorPeriodo(HOJE.minusDays(1), HOJE, linhas::add);
+        sqlMonitor.finalizar();
+
+        assertEquals(PEDIDOS_NO_PERIODO, exportados);
+        assertEquals(PEDIDOS_NO_PERIODO, linhas.size());
+        assertEquals(1, contagem.getStatements(), "quantidade de statements");
+        assertEquals("EXP0", linhas.get(0).getNumeroPedido());
+        assertEquals(cliente.getNome(), linhas.get(0).getClienteNome());
+        assertEquals(restaurante.getId(), linhas.get(PEDIDOS_NO_PERIODO - 1).getRestauranteId());
+    }
+
+    @Test
+    @DisplayName("Período invertido deve ser rejeitado")
+    void exportarPorPeriodo_periodoInvertido() {
+        assertThrows(BusinessException.class,
+                () -> pedidoService.exportarPorPeriodo(HOJE, HOJE.minusDays(1), linha -> { }));
+    }
+
+    @Test
+    @DisplayName("GET /pedidos/exportacao deve escrever um JSON por linha")
+    void exportacaoNdjson() throws Exception {
+        String corpo = exportar("ndjson", "application/x-ndjson");
+
+        String[] linhas = corpo.split("\n");
+        assertEquals(PEDIDOS_NO_PERIODO, linhas.length);
+        PedidoExportacaoDTO primeira = objectMapper.readValue(linhas[0], PedidoExportacaoDTO.class);
+        assertEquals("EXP0", primeira.getNumeroPedido());
+        assertEquals(cliente.getId(), primeira.getClienteId());
+    }
+
+    @Test
+    @DisplayName("GET /pedidos/exportacao?formato=csv deve trazer cabeçalho e campos escapados")
+    void exportacaoCsv() throws Exception {
+        String corpo = exportar("csv", "text/csv;charset=UTF-8");
+
+        String[] linhas = corpo.split("\n");
+        assertEquals(PEDIDOS_NO_PERIODO + 1, linhas.length);
+        assertTrue(linhas[0].startsWith("id,numeroPedido,dataPedido,status"));
+        assertTrue(linhas[1].contains(",EXP0,"));
+        assertTrue(linhas[1].contains(",\"Cliente, \"\"Exportação\"\"\","));
+    }
+
+    @Test
+    @DisplayName("Formato desconhecido deve responder 400 antes de iniciar o streaming")
+    void exportacaoFormatoInvalido() throws Exception {
+        mockMvc.perform(get("/pedidos/exportacao")
+                        .with(user(ADMIN))
+                        .param("inicio", HOJE.toString())
+                        .param("fim", HOJE.toString())
+                        .param("formato", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Quem não é administrador deve receber 403 sem iniciar a exportação")
+    void exportacaoSoParaAdministrador() throws Exception {
+        Usuario cliente = Usuario.builder().id(2L).email("cliente@teste.com").role(Role.CLIENTE).ativo(true).build();
+
+        mockMvc.perform(get("/pedidos/exportacao")
+                        .with(user(cliente))
+                        .param("inicio", HOJE.minusDays(1).toString())
+                        .param("fim", HOJE.toString()))
+                .andExpect(status().isForbidden())
+                .andExpect(request().asyncNotStarted());
+    }
+
+    private String exportar(String formato, String contentType) throws Exception {
+        MvcResult inicio = mockMvc.perform(get("/pedidos/exportacao")
+                        .with(user(ADMIN))
+                        .param("inicio", HOJE.minusDays(1).toString())
+                        .param("fim", HOJE.toString())
+                        .param("formato", formato))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult resultado = mockMvc.perform(asyncDispatch(inicio))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", contentType))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"pedidos_" + HOJE.minusDays(1) + "_" + HOJE + "." + formato + "\""))
+                .andReturn();
+        return resultado.getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,154 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.dto.response.CursorPageResponseWrapper;
+import com.deliverytech.delivery_api.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoResumoResponseDTO;
+import com.deliverytech.delivery_api.enums.StatusPedido;
+import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.service.PedidoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+@DisplayName("Paginação por cursor - histórico de pedidos")
+class PedidoServiceImplPaginacaoTest {
+
+    private static final int TOTAL_PEDIDOS = 25;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    private Cliente cliente;
+    private List<Pedido> pedidos;
+
+    @BeforeEach
+    void setup() {
+        cliente = new Cliente();
+        cliente.setNome("Cliente Histórico");
+        cliente.setEmail("historico" + System.nanoTime() + "@teste.com");
+        cliente.setAtivo(true);
+        clienteRepository.save(cliente);
+
+        // vários pedidos com a mesma data, para exercitar o desempate por id
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+        pedidos = new ArrayList<>();
+        for (int i = 0; i < TOTAL_PEDIDOS; i++) {
+            Pedido pedido = new Pedido();
+            pedido.setNumeroPedido("HIST" + i);
+            pedido.setCliente(cliente);
+            pedido.setDataPedido(base.plusMinutes(i % 5));
+            pedido.setStatus(StatusPedido.ENTREGUE);
+            pedido.setValorTotal(BigDecimal.TEN);
+            pedidos.add(pedido);
+        }
+        pedidoRepository.saveAll(pedidos);
+    }
+
+    @Test
+    @DisplayName("Deve percorrer todo o histórico, sem repetir nem pular pedidos")
+    void devePercorrerHistoricoCompleto() {
+        List<Long> idsLidos = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            CursorPageResponseWrapper<PedidoResponseDTO> pagina =
+                    pedidoService.listarPedidosPorCliente(cliente.getId(), cursor, 10);
+            pagina.getContent().forEach(p -> idsLidos.add(p.getId()));
+            cursor = pagina.getNextCursor();
+            assertEquals(pagina.isHasNext(), cursor != null);
+            paginas++;
+        } while (cursor != null);
+
+        List<Long> esperados = pedidos.stream()
+                .sorted(Comparator.comparing(Pedido::getDataPedido).thenComparing(Pedido::getId).reversed())
+                .map(Pedido::getId)
+                .toList();
+        assertEquals(3, paginas);
+        assertEquals(esperados, idsLidos);
+    }
+
+    @Test
+    @DisplayName("Pedidos sem data devem vir no fim do histórico, sem repetir nem pular")
+    void pedidosSemDataNoFim() {
+        List<Pedido> semData = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Pedido pedido = new Pedido();
+            pedido.setNumeroPedido("SEMDATA" + i);
+            pedido.setCliente(cliente);
+            pedido.setStatus(StatusPedido.ENTREGUE);
+            pedido.setValorTotal(BigDecimal.TEN);
+            semData.add(pedido);
+        }
+        pedidoRepository.saveAll(semData);
+
+        List<Long> idsCompletos = new ArrayList<>();
+        List<Long> idsResumo = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageResponseWrapper<PedidoResponseDTO> pagina =
+                    pedidoService.listarPedidosPorCliente(cliente.getId(), cursor, 4);
+            pagina.getContent().forEach(p -> idsCompletos.add(p.getId()));
+            cursor = pagina.getNextCursor();
+        } while (cursor != null);
+        do {
+            CursorPageResponseWrapper<PedidoResumoResponseDTO> pagina =
+                    pedidoService.listarResumoPorCliente(cliente.getId(), cursor, 4);
+            pagina.getContent().forEach(p -> idsResumo.add(p.getId()));
+            cursor = pagina.getNextCursor();
+        } while (cursor != null);
+
+        List<Long> esperados = new ArrayList<>(pedidos.stream()
+                .sorted(Comparator.comparing(Pedido::getDataPedido).thenComparing(Pedido::getId).reversed())
+                .map(Pedido::getId)
+                .toList());
+        semData.stream().map(Pedido::getId).sorted(Comparator.reverseOrder()).forEach(esperados::add);
+        assertEquals(esperados, idsCompletos);
+        assertEquals(esperados, idsResumo);
+    }
+
+    @Test
+    @DisplayName("Tamanho de página deve respeitar o máximo")
+    void tamanhoDePaginaLimitado() {
+        CursorPageResponseWrapper<PedidoResponseDTO> pagina =
+                pedidoService.listarPedidosPorCliente(cliente.getId(), null, 10_000);
+
+        assertEquals(PedidoServiceImpl.TAMANHO_PAGINA_MAXIMO, pagina.getSize());
+        assertEquals(TOTAL_PEDIDOS, pagina.getContent().size());
+        assertFalse(pagina.isHasNext());
+    }
+
+    @Test
+    @DisplayName("Cursor inválido ou cliente inexistente devem gerar erro")
+    void cursorInvalido() {
+        assertThrows(BusinessException.class,
+                () -> pedidoService.listarPedidosPorCliente(cliente.getId(), "nao-e-um-cursor", 10));
+        assertThrows(EntityNotFoundException.class,
+                () -> pedidoService.listarPedidosPorCliente(-1L, null, 10));
+    }
+}
@@ -0,0 +1,129 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.config.ReplicaLeituraRoteador;
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoRecebidoResponseDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.service.PedidoRecebimentoService;
+import com.deliverytech.delivery_api.service.PedidoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Réplica ligada e sem nenhuma tabela (uma réplica que ainda não recebeu nada): toda leitura
+ * que cair nela falha, então uma consulta logo após a criação só responde se foi ao primário.
+ */
+@SpringBootTest(properties = {
+        "delivery.datasource.replica.enabled=true",
+        "delivery.datasource.replica.url=jdbc:h2:mem:replica-vazia-${random.uuid};DB_CLOSE_DELAY=-1",
+        "delivery.datasource.replica.username=sa",
+        "delivery.datasource.replica.password=",
+        "delivery.datasource.replica.driver-class-name=org.h2.Driver",
+        "delivery.datasource.replica.consulta-atraso=SELECT 0 AS atraso",
+        "delivery.datasource.replica.coluna-atraso=atraso",
+        "delivery.datasource.replica.intervalo-verificacao=100ms"
+})
+@ActiveProfiles("test")
+@DirtiesContext
+@DisplayName("Leitura logo após a escrita com réplica de leitura")
+class PedidoServiceImplReplicaTest {
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoRecebimentoService pedidoRecebimentoService;
+
+    @Autowired
+    private ReplicaLeituraRoteador roteador;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    private Cliente cliente;
+    private Restaurante restaurante;
+    private Produto produto;
+
+    @BeforeEach
+    void setup() throws InterruptedException {
+        cliente = new Cliente();
+        cliente.setNome("Cliente Réplica");
+        cliente.setEmail("replica" + System.nanoTime() + "@teste.com");
+        cliente.setAtivo(true);
+        clienteRepository.save(cliente);
+
+        restaurante = new Restaurante();
+        restaurante.setNome("Restaurante Réplica");
+        restaurante.setTaxaEntrega(BigDecimal.ONE);
+        restaurante.setAtivo(true);
+        restauranteRepository.save(restaurante);
+
+        produto = new Produto();
+        produto.setNome("Produto Réplica");
+        produto.setPreco(BigDecimal.TEN);
+        produto.setDisponivel(true);
+        produto.setRestaurante(restaurante);
+        produtoRepository.save(produto);
+
+        for (int i = 0; i < 50 && !roteador.isReplicaDisponivel(); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue(roteador.isReplicaDisponivel());
+    }
+
+    @Test
+    @DisplayName("Pedido criado deve ser encontrado logo em seguida, completo e resumido")
+    void pedidoLidoNoPrimario() {
+        PedidoResponseDTO criado = pedidoService.criarPedido(pedido("REPLICA1"));
+
+        assertEquals("REPLICA1", pedidoService.buscarPorId(criado.getId()).getNumeroPedido());
+        assertEquals(criado.getId(), pedidoService.buscarResumoPorId(criado.getId()).getId());
+        // controle: consultas readOnly de listagem continuam indo para a réplica
+        assertThrows(RuntimeException.class, () -> pedidoService.listarPedidosPorCliente(cliente.getId()));
+    }
+
+    @Test
+    @DisplayName("Protocolo recebido deve ser encontrado logo após o 202")
+    void protocoloLidoNoPrimario() {
+        PedidoRecebidoResponseDTO recebido = pedidoRecebimentoService.receber(pedido("REPLICA2"));
+
+        assertEquals(recebido.getProtocolo(), pedidoRecebimentoService.consultar(recebido.getProtocolo()).getProtocolo());
+    }
+
+    private PedidoRequestDTO pedido(String numero) {
+        ItemPedidoRequestDTO item = new ItemPedidoRequestDTO();
+        item.setProdutoId(produto.getId());
+        item.setQuantidade(1);
+
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setNumeroPedido(numero);
+        dto.setClienteId(cliente.getId());
+        dto.setRestauranteId(restaurante.getId());
+        dto.setCep("01310-100");
+        dto.setItens(List.of(item));
+        return dto;
+    }
+}
@@ -0,0 +1,104 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery_api.service.PedidoService;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.sequence.NoSequenceSupport;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Banco da época do IDENTITY com o schema.sql rodando na inicialização, como no MySQL.
+ * O H2 sem sequences nativas faz o Hibernate emular pedidos_seq/item_pedido_seq por tabela,
+ * como no MySQL.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.database-platform=com.deliverytech.delivery_api.service.impl.PedidoServiceImplSequenciaTest$H2SemSequencesDialect",
+        "spring.jpa.hibernate.ddl-auto=update",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:schema.sql",
+        "spring.sql.init.data-locations="
+})
+@ActiveProfiles("test")
+@DirtiesContext
+@DisplayName("Sequences pooled sobre ids da época do IDENTITY")
+class PedidoServiceImplSequenciaTest {
+
+    private static final String URL = "jdbc:h2:mem:sequencias-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public static class H2SemSequencesDialect extends H2Dialect {
+        @Override
+        public SequenceSupport getSequenceSupport() {
+            return NoSequenceSupport.INSTANCE;
+        }
+    }
+
+    @DynamicPropertySource
+    static void bancoExistente(DynamicPropertyRegistry registry) {
+        // Banco já em produção: tabelas de sequence criadas pelo Hibernate (next_val = 1)
+        // e pedidos/itens inseridos por AUTO_INCREMENT antes da troca para sequence
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", ""));
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(jdbc.getDataSource());
+        jdbc.update("UPDATE pedidos_seq SET next_val = 1");
+        jdbc.update("UPDATE item_pedido_seq SET next_val = 1");
+        jdbc.update("INSERT INTO clientes (nome, email, ativo) VALUES ('Cliente Antigo', 'antigo@teste.com', TRUE)");
+        jdbc.update("INSERT INTO restaurantes (nome, taxa_entrega, ativo) VALUES ('Restaurante Antigo', 5.00, TRUE)");
+        jdbc.update("INSERT INTO produtos (nome, preco, disponivel, restaurante_id) VALUES ('Produto Antigo', 10.00, TRUE, 1)");
+        for (int i = 1; i <= 3; i++) {
+            jdbc.update("INSERT INTO pedidos (numero_pedido, status, valor_total, cliente_id, restaurante_id) "
+                    + "VALUES (?, 'ENTREGUE', 15.00, 1, 1)", "ANTIGO" + i);
+            jdbc.update("INSERT INTO item_pedido (quantidade, preco_unitario, subtotal, pedido_id, produto_id) "
+                    + "VALUES (1, 10.00, 10.00, ?, 1)", i);
+        }
+
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Test
+    @DisplayName("Novos pedidos e itens devem receber ids após os existentes")
+    void idsAposOsExistentes() {
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setNumeroPedido("NOVO1");
+        dto.setClienteId(1L);
+        dto.setRestauranteId(1L);
+        ItemPedidoRequestDTO item = new ItemPedidoRequestDTO();
+        item.setProdutoId(1L);
+        item.setQuantidade(2);
+        dto.setItens(List.of(item));
+
+        PedidoResponseDTO primeiro = pedidoService.criarPedido(dto);
+        PedidoResponseDTO segundo = pedidoService.criarPedido(dto);
+
+        assertTrue(primeiro.getId() > 3, "Id do pedido colidiu com a faixa do IDENTITY: " + primeiro.getId());
+        assertTrue(segundo.getId() > primeiro.getId());
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pedidos", Integer.class));
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item_pedido", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item_pedido WHERE id <= 3 AND pedido_id > 3",
+                Integer.class));
+    }
+}
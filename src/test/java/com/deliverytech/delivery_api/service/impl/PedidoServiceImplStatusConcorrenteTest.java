@@ -0,0 +1,259 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.request.PedidoStatusItemRequestDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoStatusResultadoDTO;
+import com.deliverytech.delivery_api.enums.StatusPedido;
+import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.PedidoOutboxRepository;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.service.PedidoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Troca de status concorrente com controle otimista")
+class PedidoServiceImplStatusConcorrenteTest {
+
+    private static final int REQUISICOES = 8;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private PedidoOutboxRepository pedidoOutboxRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    private Cliente cliente;
+    private Restaurante restaurante;
+    private Produto produto;
+
+    @BeforeEach
+    void setup() {
+        cliente = new Cliente();
+        cliente.setNome("Cliente Concorrência");
+        cliente.setEmail("concorrencia" + System.nanoTime() + "@teste.com");
+        cliente.setAtivo(true);
+        clienteRepository.save(cliente);
+
+        restaurante = new Restaurante();
+        restaurante.setNome("Restaurante Concorrência");
+        restaurante.setTaxaEntrega(BigDecimal.ONE);
+        restaurante.setAtivo(true);
+        restauranteRepository.save(restaurante);
+
+        produto = new Produto();
+        produto.setNome("Produto Concorrência");
+        produto.setPreco(BigDecimal.TEN);
+        produto.setDisponivel(true);
+        produto.setRestaurante(restaurante);
+        produtoRepository.save(produto);
+    }
+
+    @Test
+    @DisplayName("Requisições simultâneas com a mesma transição: só uma deve ser aplicada")
+    void mesmaTransicaoSimultanea_umaVence() throws Exception {
+        PedidoResponseDTO pedido = criarPedido();
+
+        List<Throwable> erros = executarSimultaneamente(REQUISICOES,
+                i -> pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.CONFIRMADO));
+
+        assertEquals(REQUISICOES - 1, erros.size(), "só uma requisição deve confirmar o pedido");
+        erros.forEach(erro -> assertInstanceOf(BusinessException.class, erro));
+        Pedido atualizado = pedidoRepository.findById(pedido.getId()).orElseThrow();
+        assertEquals(StatusPedido.CONFIRMADO, atualizado.getStatus());
+        assertEquals(1L, atualizado.getVersao());
+        // criação + uma única confirmação
+        assertEquals(2, pedidoOutboxRepository.findAll().stream()
+                .filter(o -> pedido.getId().equals(o.getPedidoId())).count());
+    }
+
+    @Test
+    @DisplayName("Confirmação e cancelamento simultâneos não devem sobrescrever um ao outro")
+    void confirmacaoECancelamentoSimultaneos() throws Exception {
+        PedidoResponseDTO pedido = criarPedido();
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.CONFIRMADO);
+
+        // CONFIRMADO -> PREPARANDO (restaurante) e CONFIRMADO -> CANCELADO (cliente) ao mesmo tempo
+        List<Throwable> erros = executarSimultaneamente(2, i -> {
+            if (i == 0) {
+                pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.PREPARANDO);
+            } else {
+                pedidoService.cancelarPedido(pedido.getId());
+            }
+        });
+
+        Pedido atualizado = pedidoRepository.findById(pedido.getId()).orElseThrow();
+        assertEquals(1, erros.size(), "as duas transições foram aplicadas: status final " + atualizado.getStatus());
+        assertInstanceOf(BusinessException.class, erros.get(0));
+        assertTrue(List.of(StatusPedido.PREPARANDO, StatusPedido.CANCELADO).contains(atualizado.getStatus()));
+        assertEquals(2L, atualizado.getVersao());
+    }
+
+    @Test
+    @DisplayName("Lote deve aplicar as transições válidas e informar o motivo das demais")
+    void loteComResultadoPorPedido() {
+        PedidoResponseDTO pendente = criarPedido();
+        PedidoResponseDTO confirmado = criarPedido();
+        PedidoResponseDTO invalido = criarPedido();
+        pedidoService.atualizarStatusPedido(confirmado.getId(), StatusPedido.CONFIRMADO);
+
+        List<PedidoStatusResultadoDTO> resultados = pedidoService.atualizarStatusEmLote(List.of(
+                new PedidoStatusItemRequestDTO(pendente.getId(), StatusPedido.CONFIRMADO),
+                new PedidoStatusItemRequestDTO(confirmado.getId(), StatusPedido.PREPARANDO),
+                new PedidoStatusItemRequestDTO(invalido.getId(), StatusPedido.ENTREGUE),
+                new PedidoStatusItemRequestDTO(Long.MAX_VALUE, StatusPedido.CONFIRMADO),
+                new PedidoStatusItemRequestDTO(pendente.getId(), StatusPedido.CANCELADO)));
+
+        assertEquals(List.of(true, true, false, false, false),
+                resultados.stream().map(PedidoStatusResultadoDTO::isAtualizado).toList());
+        assertEquals(StatusPedido.CONFIRMADO, resultados.get(1).getStatusAnterior());
+        assertTrue(resultados.get(2).getErro().contains("PENDENTE -> ENTREGUE"));
+        assertTrue(resultados.get(3).getErro().contains("não encontrado"));
+        assertTrue(resultados.get(4).getErro().contains("repetido"));
+
+        assertEquals(StatusPedido.CONFIRMADO, pedidoRepository.findById(pendente.getId()).orElseThrow().getStatus());
+        Pedido preparando = pedidoRepository.findById(confirmado.getId()).orElseThrow();
+        assertEquals(StatusPedido.PREPARANDO, preparando.getStatus());
+        assertEquals(2L, preparando.getVersao());
+        assertEquals(StatusPedido.PENDENTE, pedidoRepository.findById(invalido.getId()).orElseThrow().getStatus());
+        // criação + confirmação em lote; criação + confirmação + preparo; só a criação
+        assertEquals(List.of(2L, 3L, 1L), List.of(eventosDoPedido(pendente.getId()),
+                eventosDoPedido(confirmado.getId()), eventosDoPedido(invalido.getId())));
+    }
+
+    @Test
+    @DisplayName("Pedido sem status atual deve voltar com erro no lote")
+    void loteComPedidoSemStatus() {
+        PedidoResponseDTO criado = criarPedido();
+        Pedido semStatus = pedidoRepository.findById(criado.getId()).orElseThrow();
+        semStatus.setStatus(null);
+        pedidoRepository.save(semStatus);
+
+        PedidoStatusResultadoDTO resultado = pedidoService.atualizarStatusEmLote(
+                List.of(new PedidoStatusItemRequestDTO(criado.getId(), StatusPedido.CONFIRMADO))).get(0);
+
+        assertFalse(resultado.isAtualizado());
+        assertTrue(resultado.getErro().contains("sem status atual"));
+        assertNull(pedidoRepository.findById(criado.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Lote e cancelamento simultâneos no mesmo pedido: só uma transição é aplicada")
+    void loteECancelamentoSimultaneos() throws Exception {
+        PedidoResponseDTO pedido = criarPedido();
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.CONFIRMADO);
+        AtomicReference<PedidoStatusResultadoDTO> doLote = new AtomicReference<>();
+
+        // CONFIRMADO -> PREPARANDO (lote da cozinha) e CONFIRMADO -> CANCELADO (cliente) ao mesmo tempo
+        List<Throwable> erros = executarSimultaneamente(2, i -> {
+            if (i == 0) {
+                doLote.set(pedidoService.atualizarStatusEmLote(
+                        List.of(new PedidoStatusItemRequestDTO(pedido.getId(), StatusPedido.PREPARANDO))).get(0));
+            } else {
+                pedidoService.cancelarPedido(pedido.getId());
+            }
+        });
+
+        Pedido atualizado = pedidoRepository.findById(pedido.getId()).orElseThrow();
+        if (doLote.get().isAtualizado()) {
+            assertEquals(StatusPedido.PREPARANDO, atualizado.getStatus());
+            assertEquals(1, erros.size());
+            assertInstanceOf(BusinessException.class, erros.get(0));
+        } else {
+            assertEquals(StatusPedido.CANCELADO, atualizado.getStatus());
+            assertTrue(erros.isEmpty());
+            assertTrue(doLote.get().getErro().contains("CANCELADO -> PREPARANDO"));
+        }
+        assertEquals(2L, atualizado.getVersao());
+    }
+
+    private long eventosDoPedido(Long pedidoId) {
+        return pedidoOutboxRepository.findAll().stream()
+                .filter(o -> pedidoId.equals(o.getPedidoId()))
+                .count();
+    }
+
+    private interface Tarefa {
+        void executar(int indice);
+    }
+
+    private static List<Throwable> executarSimultaneamente(int quantidade, Tarefa tarefa) throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(quantidade);
+        try {
+            List<Future<?>> futuros = new ArrayList<>();
+            for (int i = 0; i < quantidade; i++) {
+                int indice = i;
+                futuros.add(executor.submit(() -> {
+                    largada.await();
+                    tarefa.executar(indice);
+                    return null;
+                }));
+            }
+            largada.countDown();
+
+            List<Throwable> erros = new ArrayList<>();
+            for (Future<?> futuro : futuros) {
+                try {
+                    futuro.get();
+                } catch (ExecutionException e) {
+                    erros.add(e.getCause());
+                }
+            }
+            return erros;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private PedidoResponseDTO criarPedido() {
+        ItemPedidoRequestDTO item = new ItemPedidoRequestDTO();
+        item.setProdutoId(produto.getId());
+        item.setQuantidade(1);
+
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setNumeroPedido("CONC" + System.nanoTime() % 1_000_000);
+        dto.setClienteId(cliente.getId());
+        dto.setRestauranteId(restaurante.getId());
+        dto.setItens(List.of(item));
+        return pedidoService.criarPedido(dto);
+    }
+}
@@ -1,9 +1,15 @@
 package com.deliverytech.delivery_api.service.impl;
 
+import com.deliverytech.delivery_api.config.PedidoMaquinaEstadosConfig;
 import com.deliverytech.delivery_api.dto.request.ItemPedidoRequestDTO;
 import com.deliverytech.delivery_api.dto.request.PedidoRequestDTO;
 import com.deliverytech.delivery_api.dto.response.PedidoResponseDTO;
 import com.deliverytech.delivery_api.enums.StatusPedido;
+import com.deliverytech.delivery_api.event.PedidoStatusAlteradoEvent;
+import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.exceptions.ConflictException;
+import com.deliverytech.delivery_api.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery_api.mapper.PedidoMapper;
 import com.deliverytech.delivery_api.model.Cliente;
 import com.deliverytech.delivery_api.model.Pedido;
 import com.deliverytech.delivery_api.model.Produto;
@@ -12,18 +18,23 @@ import com.deliverytech.delivery_api.repository.ClienteRepository;
 import com.deliverytech.delivery_api.repository.PedidoRepository;
 import com.deliverytech.delivery_api.repository.ProdutoRepository;
 import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.repository.VendaDiariaRepository;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.modelmapper.ModelMapper;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import jakarta.persistence.EntityManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -53,7 +64,19 @@ class PedidoServiceImplTest {
     private RestauranteRepository restauranteRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private VendaDiariaRepository vendaDiariaRepository;
+
+    @Mock
+    private PedidoMapper pedidoMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
 
     @InjectMocks
     private PedidoServiceImpl pedidoService;
@@ -66,12 +89,15 @@ class PedidoServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        // tabela de transições real: o comportamento validado aqui é o do serviço com ela
+        ReflectionTestUtils.setField(pedidoService, "maquinaEstados",
+                new PedidoMaquinaEstadosConfig().maquinaEstadosPedido(vendaDiariaRepository));
 
         pedido = new Pedido();
         pedido.setId(1L);
         pedido.setNumeroPedido("ABC12345");
         pedido.setDataPedido(LocalDateTime.now());
-        pedido.setStatus(StatusPedido.PENDENTE.name());
+        pedido.setStatus(StatusPedido.PENDENTE);
         pedido.setValorTotal(BigDecimal.valueOf(20.0));
         pedido.setItens(List.of());
 
@@ -98,6 +124,7 @@ class PedidoServiceImplTest {
         // garantir stubs para os métodos que PedidoServiceImpl pode chamar
         org.mockito.Mockito.lenient().when(produtoRepository.findById(anyLong())).thenReturn(Optional.of(produto));
         org.mockito.Mockito.lenient().when(produtoRepository.findAllById(any(Iterable.class))).thenReturn(List.of(produto));
+        org.mockito.Mockito.lenient().when(produtoRepository.findByIdInAndRestauranteId(anyCollection(), eq(1L))).thenReturn(List.of(produto));
 
         pedidoResponseDTO = new PedidoResponseDTO();
         pedidoResponseDTO.setId(1L);
@@ -120,7 +147,7 @@ class PedidoServiceImplTest {
         dto.setItens(List.of(item));
 
         when(pedidoRepository.save(any(Pedido.class))).thenReturn(pedido);
-        when(modelMapper.map(any(Pedido.class), eq(PedidoResponseDTO.class))).thenReturn(pedidoResponseDTO);
+        when(pedidoMapper.toResponseDTO(any(Pedido.class))).thenReturn(pedidoResponseDTO);
 
         // when
         PedidoResponseDTO response = pedidoService.criarPedido(dto);
@@ -128,9 +155,10 @@ class PedidoServiceImplTest {
         // then
         assertNotNull(response);
         assertEquals(BigDecimal.valueOf(25.0), response.getValorTotal());
-        verify(produtoRepository).findById(anyLong());
+        verify(produtoRepository).findByIdInAndRestauranteId(anyCollection(), eq(1L));
+        verify(produtoRepository, never()).findById(anyLong());
         verify(pedidoRepository).save(any(Pedido.class));
-        verify(modelMapper).map(any(Pedido.class), eq(PedidoResponseDTO.class));
+        verify(pedidoMapper).toResponseDTO(any(Pedido.class));
     }
 
     @Test
@@ -153,12 +181,53 @@ class PedidoServiceImplTest {
         verify(pedidoRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("Deve lançar exceção quando produto não pertence ao restaurante do pedido")
+    void criarPedido_produtoDeOutroRestaurante_deveLancarBusinessException() {
+        // given
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setClienteId(1L);
+        dto.setRestauranteId(1L);
+        ItemPedidoRequestDTO item = new ItemPedidoRequestDTO();
+        item.setProdutoId(1L);
+        item.setQuantidade(1);
+        dto.setItens(List.of(item));
+
+        when(produtoRepository.findByIdInAndRestauranteId(anyCollection(), eq(1L))).thenReturn(List.of());
+        when(produtoRepository.findAllById(anyIterable())).thenReturn(List.of(produto));
+
+        // when / then
+        BusinessException ex = assertThrows(BusinessException.class, () -> pedidoService.criarPedido(dto));
+        assertFalse(ex instanceof EntityNotFoundException);
+        verify(pedidoRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando produto do pedido não existe")
+    void criarPedido_produtoInexistente_deveLancarEntityNotFound() {
+        // given
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setClienteId(1L);
+        dto.setRestauranteId(1L);
+        ItemPedidoRequestDTO item = new ItemPedidoRequestDTO();
+        item.setProdutoId(99L);
+        item.setQuantidade(1);
+        dto.setItens(List.of(item));
+
+        when(produtoRepository.findByIdInAndRestauranteId(anyCollection(), eq(1L))).thenReturn(List.of());
+        when(produtoRepository.findAllById(anyIterable())).thenReturn(List.of());
+
+        // when / then
+        assertThrows(EntityNotFoundException.class, () -> pedidoService.criarPedido(dto));
+        verify(pedidoRepository, never()).save(any());
+    }
+
     @Test
     @DisplayName("Deve buscar pedido por ID")
     void buscarPorId_deveRetornarPedido() {
         // given
-        when(pedidoRepository.findById(1L)).thenReturn(Optional.of(pedido));
-        when(modelMapper.map(any(Pedido.class), eq(PedidoResponseDTO.class))).thenReturn(pedidoResponseDTO);
+        when(pedidoRepository.findCompletoById(1L)).thenReturn(Optional.of(pedido));
+        when(pedidoMapper.toResponseDTO(any(Pedido.class))).thenReturn(pedidoResponseDTO);
 
         // when
         PedidoResponseDTO response = pedidoService.buscarPorId(1L);
@@ -166,25 +235,21 @@ class PedidoServiceImplTest {
         // then
         assertNotNull(response);
         assertEquals(1L, response.getId());
-        verify(pedidoRepository).findById(1L);
-        verify(modelMapper).map(any(Pedido.class), eq(PedidoResponseDTO.class));
+        verify(pedidoRepository).findCompletoById(1L);
+        verify(pedidoMapper).toResponseDTO(any(Pedido.class));
     }
 
     @Test
     @DisplayName("Deve atualizar status do pedido")
     void atualizarStatus_deveAtualizar() {
         // given
-        when(pedidoRepository.findById(1L)).thenReturn(Optional.of(pedido));
-        pedido.setStatus(StatusPedido.PENDENTE.name());
+        when(pedidoRepository.findCompletoById(1L)).thenReturn(Optional.of(pedido));
+        pedido.setStatus(StatusPedido.PENDENTE);
         pedido.setValorTotal(BigDecimal.valueOf(20.0));
 
-        Pedido updated = new Pedido();
-        updated.setId(1L);
-        updated.setStatus(StatusPedido.CONFIRMADO.name());
-        updated.setValorTotal(pedido.getValorTotal());
-
-        when(pedidoRepository.save(any(Pedido.class))).thenReturn(updated);
-        when(modelMapper.map(any(Pedido.class), eq(PedidoResponseDTO.class)))
+        when(pedidoRepository.atualizarStatus(1L, StatusPedido.PENDENTE, StatusPedido.CONFIRMADO))
+                .thenReturn(1);
+        when(pedidoMapper.toResponseDTO(any(Pedido.class)))
                 .thenReturn(new PedidoResponseDTO() {{
                     setId(1L);
                     setStatus(StatusPedido.CONFIRMADO.name());
@@ -197,8 +262,41 @@ class PedidoServiceImplTest {
         // then
         assertNotNull(response);
         assertEquals(StatusPedido.CONFIRMADO.name(), response.getStatus());
-        verify(pedidoRepository).findById(1L);
-        verify(pedidoRepository).save(any(Pedido.class));
+        verify(pedidoRepository).findCompletoById(1L);
+        verify(pedidoRepository).atualizarStatus(1L, StatusPedido.PENDENTE, StatusPedido.CONFIRMADO);
+        verify(pedidoRepository, never()).save(any(Pedido.class));
+        verify(eventPublisher).publishEvent(argThat((Object evento) -> evento instanceof PedidoStatusAlteradoEvent e
+                && StatusPedido.PENDENTE.name().equals(e.statusAnterior())
+                && StatusPedido.CONFIRMADO.name().equals(e.status())));
+    }
+
+    @Test
+    @DisplayName("Status alterado por outra requisição deve reler o pedido e validar a transição de novo")
+    void atualizarStatus_conflito_deveReleEValidarDeNovo() {
+        ReflectionTestUtils.setField(pedidoService, "tentativasStatus", 3);
+        Pedido confirmadoPorOutro = new Pedido();
+        confirmadoPorOutro.setId(1L);
+        confirmadoPorOutro.setStatus(StatusPedido.CONFIRMADO);
+
+        when(pedidoRepository.findCompletoById(1L)).thenReturn(Optional.of(pedido), Optional.of(confirmadoPorOutro));
+        when(pedidoRepository.atualizarStatus(1L, StatusPedido.PENDENTE, StatusPedido.CONFIRMADO))
+                .thenReturn(0);
+
+        // na releitura o pedido já está CONFIRMADO: CONFIRMADO -> CONFIRMADO não é transição válida
+        assertThrows(BusinessException.class, () -> pedidoService.atualizarStatusPedido(1L, StatusPedido.CONFIRMADO));
+        verify(pedidoRepository, times(2)).findCompletoById(1L);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Conflitos além do limite de tentativas devem resultar em ConflictException")
+    void atualizarStatus_conflitoPersistente_deveLancarConflict() {
+        ReflectionTestUtils.setField(pedidoService, "tentativasStatus", 3);
+        when(pedidoRepository.findCompletoById(1L)).thenReturn(Optional.of(pedido));
+        when(pedidoRepository.atualizarStatus(anyLong(), any(), any())).thenReturn(0);
+
+        assertThrows(ConflictException.class, () -> pedidoService.atualizarStatusPedido(1L, StatusPedido.CONFIRMADO));
+        verify(pedidoRepository, times(3)).atualizarStatus(1L, StatusPedido.PENDENTE, StatusPedido.CONFIRMADO);
     }
 
     @Test
@@ -212,7 +310,7 @@ class PedidoServiceImplTest {
         List<Pedido> pedidos = List.of(pedido, outro);
 
         when(pedidoRepository.findByClienteId(1L)).thenReturn(pedidos);
-        when(modelMapper.map(any(Pedido.class), eq(PedidoResponseDTO.class)))
+        when(pedidoMapper.toResponseDTO(any(Pedido.class)))
                 .thenReturn(pedidoResponseDTO);
 
         // when
@@ -222,6 +320,6 @@ class PedidoServiceImplTest {
         assertNotNull(responseList);
         assertFalse(responseList.isEmpty());
         verify(pedidoRepository).findByClienteId(1L);
-        verify(modelMapper, atLeastOnce()).map(any(Pedido.class), eq(PedidoResponseDTO.class));
+        verify(pedidoMapper, atLeastOnce()).toResponseDTO(any(Pedido.class));
     }
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.dto.request.RestauranteRequestDTO;
+import com.deliverytech.delivery_api.dto.response.RestauranteResponseDTO;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Testes de Paginação - RestauranteService")
+class RestauranteServiceImplPaginacaoTest {
+
+    @MockitoBean
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private RestauranteServiceImpl restauranteService;
+
+    private Restaurante restaurante;
+
+    @BeforeEach
+    void setup() {
+        restaurante = new Restaurante();
+        restaurante.setId(1L);
+        restaurante.setNome("Pizzaria");
+        restaurante.setTaxaEntrega(BigDecimal.valueOf(5.0));
+        restaurante.setAtivo(true);
+    }
+
+    @Test
+    @DisplayName("Modo sem total deve usar Slice e não executar COUNT")
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void semTotal_deveUsarSlice() {
+        when(restauranteRepository.findSliceByAtivoTrue(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(restaurante), PageRequest.of(0, 20), true));
+
+        Slice<RestauranteResponseDTO> pagina = restauranteService.listarAtivos(PageRequest.of(0, 20), false);
+
+        assertFalse(pagina instanceof Page);
+        assertTrue(pagina.hasNext());
+        verify(restauranteRepository, never()).findByAtivoTrue(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Paginação deve limitar o tamanho, ignorar campos desconhecidos e desempatar por id")
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void paginacaoNormalizada() {
+        when(restauranteRepository.findByAtivoTrue(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(restaurante)));
+
+        restauranteService.listarAtivos(PageRequest.of(2, 5000, Sort.by("senha", "avaliacao")), true);
+
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(restauranteRepository).findByAtivoTrue(captor.capture());
+        Pageable usado = captor.getValue();
+        assertEquals(2, usado.getPageNumber());
+        assertEquals(RestauranteServiceImpl.TAMANHO_PAGINA_MAXIMO, usado.getPageSize());
+        assertEquals(Sort.by("avaliacao", "id"), usado.getSort());
+    }
+
+    @Test
+    @DisplayName("Páginas devem ficar em cache e ser invalidadas ao atualizar restaurante")
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void cacheDePaginas() {
+        when(restauranteRepository.findByAtivoTrue(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(restaurante)));
+        when(restauranteRepository.findById(1L)).thenReturn(Optional.of(restaurante));
+        when(restauranteRepository.save(any(Restaurante.class))).thenReturn(restaurante);
+
+        restauranteService.listarAtivos(PageRequest.of(0, 20), true);
+        restauranteService.listarAtivos(PageRequest.of(0, 20), true);
+        verify(restauranteRepository, times(1)).findByAtivoTrue(any(Pageable.class));
+
+        // página diferente é outra entrada do cache
+        restauranteService.listarAtivos(PageRequest.of(1, 20), true);
+        verify(restauranteRepository, times(2)).findByAtivoTrue(any(Pageable.class));
+
+        RestauranteRequestDTO dto = new RestauranteRequestDTO();
+        dto.setNome("Pizzaria Nova");
+        restauranteService.atualizar(1L, dto);
+
+        restauranteService.listarAtivos(PageRequest.of(0, 20), true);
+        verify(restauranteRepository, times(3)).findByAtivoTrue(any(Pageable.class));
+    }
+}
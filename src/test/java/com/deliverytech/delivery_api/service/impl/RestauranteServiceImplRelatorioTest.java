@@ -0,0 +1,171 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.request.PedidoRequestDTO;
+import com.deliverytech.delivery_api.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery_api.enums.StatusPedido;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.model.VendaDiaria;
+import com.deliverytech.delivery_api.projection.RelatorioVendas;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.repository.VendaDiariaRepository;
+import com.deliverytech.delivery_api.service.PedidoService;
+import com.deliverytech.delivery_api.service.RestauranteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+@DisplayName("Consolidado de vendas - relatório por restaurante")
+class RestauranteServiceImplRelatorioTest {
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private RestauranteService restauranteService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private VendaDiariaRepository vendaDiariaRepository;
+
+    private Cliente cliente;
+    private Restaurante restaurante;
+    private Produto produto;
+
+    @BeforeEach
+    void setup() {
+        cliente = new Cliente();
+        cliente.setNome("Cliente Relatório");
+        cliente.setEmail("relatorio" + System.nanoTime() + "@teste.com");
+        cliente.setAtivo(true);
+        clienteRepository.save(cliente);
+
+        restaurante = new Restaurante();
+        restaurante.setNome("Restaurante Relatório " + System.nanoTime());
+        restaurante.setTaxaEntrega(BigDecimal.valueOf(5.0));
+        restaurante.setAtivo(true);
+        restauranteRepository.save(restaurante);
+
+        produto = new Produto();
+        produto.setNome("Produto Relatório");
+        produto.setPreco(BigDecimal.valueOf(10.0));
+        produto.setDisponivel(true);
+        produto.setRestaurante(restaurante);
+        produtoRepository.save(produto);
+    }
+
+    @Test
+    @DisplayName("Criação, cancelamento e entrega devem atualizar o consolidado")
+    void consolidadoAtualizadoPorEvento() {
+        PedidoResponseDTO entregue = pedidoService.criarPedido(pedidoCom(2)); // 25
+        PedidoResponseDTO cancelado = pedidoService.criarPedido(pedidoCom(1)); // 15
+        pedidoService.criarPedido(pedidoCom(3)); // 35
+
+        pedidoService.cancelarPedido(cancelado.getId());
+        for (StatusPedido status : List.of(StatusPedido.CONFIRMADO, StatusPedido.PREPARANDO,
+                StatusPedido.SAIU_PARA_ENTREGA, StatusPedido.ENTREGUE)) {
+            pedidoService.atualizarStatusPedido(entregue.getId(), status);
+        }
+
+        RelatorioVendas linha = linhaDoRestaurante(restauranteService.relatorioVendasPorRestaurante(null, null));
+        assertEquals(0, BigDecimal.valueOf(60).compareTo(linha.getTotalVendas()));
+        assertEquals(2L, linha.getQuantidePedidos());
+
+        VendaDiaria dia = vendaDiariaRepository.findAll().stream()
+                .filter(v -> v.getId().getRestauranteId().equals(restaurante.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(LocalDate.now(), dia.getId().getData());
+        assertEquals(1L, dia.getQuantidadeEntregues());
+
+        // período sem vendas: restaurante aparece sem total
+        LocalDate ontem = LocalDate.now().minusDays(1);
+        RelatorioVendas semVendas = linhaDoRestaurante(restauranteService.relatorioVendasPorRestaurante(ontem, ontem));
+        assertNull(semVendas.getTotalVendas());
+        assertEquals(0L, semVendas.getQuantidePedidos());
+    }
+
+    @Test
+    @DisplayName("Reconstrução a partir dos pedidos deve bater com o consolidado incremental")
+    void reconstrucaoIgualAoIncremental() {
+        pedidoService.criarPedido(pedidoCom(1));
+        PedidoResponseDTO cancelado = pedidoService.criarPedido(pedidoCom(4));
+        pedidoService.cancelarPedido(cancelado.getId());
+
+        List<VendaDiaria> incremental = ordenado(vendaDiariaRepository.findAll());
+        restauranteService.reconstruirRelatorioVendas();
+        List<VendaDiaria> reconstruido = ordenado(vendaDiariaRepository.findAll());
+
+        assertEquals(incremental.size(), reconstruido.size());
+        for (int i = 0; i < incremental.size(); i++) {
+            assertEquals(incremental.get(i).getId(), reconstruido.get(i).getId());
+            assertEquals(0, incremental.get(i).getTotalVendas().compareTo(reconstruido.get(i).getTotalVendas()));
+            assertEquals(incremental.get(i).getQuantidadePedidos(), reconstruido.get(i).getQuantidadePedidos());
+            assertEquals(incremental.get(i).getQuantidadeEntregues(), reconstruido.get(i).getQuantidadeEntregues());
+        }
+    }
+
+    @Test
+    @DisplayName("Cancelamento do único pedido do dia deve remover a linha do consolidado")
+    void cancelamentoDoUnicoPedidoRemoveLinha() {
+        PedidoResponseDTO cancelado = pedidoService.criarPedido(pedidoCom(1));
+        pedidoService.cancelarPedido(cancelado.getId());
+
+        assertTrue(vendaDiariaRepository.findAll().stream()
+                .noneMatch(v -> v.getId().getRestauranteId().equals(restaurante.getId())));
+        assertNull(linhaDoRestaurante(restauranteService.relatorioVendasPorRestaurante(null, null)).getTotalVendas());
+    }
+
+    private RelatorioVendas linhaDoRestaurante(List<RelatorioVendas> relatorio) {
+        return relatorio.stream()
+                .filter(r -> r.getNomeRestaurante().equals(restaurante.getNome()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private List<VendaDiaria> ordenado(List<VendaDiaria> vendas) {
+        return vendas.stream()
+                .sorted(Comparator.comparing((VendaDiaria v) -> v.getId().getRestauranteId())
+                        .thenComparing(v -> v.getId().getData()))
+                .toList();
+    }
+
+    private PedidoRequestDTO pedidoCom(int quantidade) {
+        ItemPedidoRequestDTO item = new ItemPedidoRequestDTO();
+        item.setProdutoId(produto.getId());
+        item.setQuantidade(quantidade);
+
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setNumeroPedido("REL" + quantidade);
+        dto.setClienteId(cliente.getId());
+        dto.setRestauranteId(restaurante.getId());
+        dto.setItens(List.of(item));
+        return dto;
+    }
+}
@@ -0,0 +1,131 @@
+package com.deliverytech.delivery_api.statemachine;
+
+import com.deliverytech.delivery_api.config.PedidoMaquinaEstadosConfig;
+import com.deliverytech.delivery_api.enums.StatusPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.VendaDiariaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Máquina de estados do pedido")
+class MaquinaEstadosTest {
+
+    // ciclo de vida esperado do pedido
+    private static final Map<StatusPedido, Set<StatusPedido>> TRANSICOES = Map.of(
+            StatusPedido.PENDENTE, EnumSet.of(StatusPedido.CONFIRMADO, StatusPedido.CANCELADO),
+            StatusPedido.CONFIRMADO, EnumSet.of(StatusPedido.PREPARANDO, StatusPedido.CANCELADO),
+            StatusPedido.PREPARANDO, EnumSet.of(StatusPedido.SAIU_PARA_ENTREGA),
+            StatusPedido.SAIU_PARA_ENTREGA, EnumSet.of(StatusPedido.ENTREGUE),
+            StatusPedido.ENTREGUE, EnumSet.noneOf(StatusPedido.class),
+            StatusPedido.CANCELADO, EnumSet.noneOf(StatusPedido.class));
+
+    private VendaDiariaRepository vendaDiariaRepository;
+    private MaquinaEstados<StatusPedido, Pedido> maquina;
+
+    @BeforeEach
+    void setUp() {
+        vendaDiariaRepository = mock(VendaDiariaRepository.class);
+        maquina = new PedidoMaquinaEstadosConfig().maquinaEstadosPedido(vendaDiariaRepository);
+    }
+
+    @Test
+    @DisplayName("Deve permitir exatamente as transições do ciclo de vida do pedido")
+    void tabelaDeTransicoes() {
+        for (StatusPedido de : StatusPedido.values()) {
+            assertEquals(TRANSICOES.get(de), maquina.destinos(de), "destinos de " + de);
+            for (StatusPedido para : StatusPedido.values()) {
+                assertEquals(TRANSICOES.get(de).contains(para), maquina.permite(de, para), de + " -> " + para);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Validação em lote deve marcar no BitSet as origens que podem ir ao destino")
+    void validarLote() {
+        StatusPedido[] origens = {StatusPedido.PENDENTE, StatusPedido.ENTREGUE, null, StatusPedido.CONFIRMADO,
+                StatusPedido.CANCELADO, StatusPedido.PREPARANDO};
+        BitSet validas = new BitSet(origens.length);
+        validas.set(2); // resultado anterior é descartado
+
+        int validos = maquina.validarLote(origens, origens.length, StatusPedido.CANCELADO, validas);
+
+        assertEquals(2, validos);
+        assertEquals(BitSet.valueOf(new long[] {0b1001}), validas);
+        // só considera as primeiras 'quantidade' posições
+        assertEquals(1, maquina.validarLote(origens, 2, StatusPedido.CANCELADO, validas));
+    }
+
+    @Test
+    @DisplayName("Transição deve executar as ações do destino, em ordem, e contar nas métricas")
+    void transicionarExecutaAcoesEMetricas() {
+        List<String> executadas = new ArrayList<>();
+        MaquinaEstados<StatusPedido, String> simples = MaquinaEstados.<StatusPedido, String>builder(StatusPedido.class)
+                .transicao(StatusPedido.PENDENTE, StatusPedido.CANCELADO)
+                .aoEntrar(StatusPedido.CANCELADO, (alvo, de, para) -> executadas.add("primeira:" + alvo))
+                .aoEntrar(StatusPedido.CANCELADO, (alvo, de, para) -> executadas.add("segunda:" + de))
+                .metricas("teste.transicoes")
+                .build();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        simples.bindTo(registry);
+
+        simples.transicionar("pedido-1", StatusPedido.PENDENTE, StatusPedido.CANCELADO);
+        assertFalse(simples.validar(StatusPedido.CANCELADO, StatusPedido.PENDENTE));
+        assertThrows(IllegalStateException.class,
+                () -> simples.transicionar("pedido-1", StatusPedido.CANCELADO, StatusPedido.PENDENTE));
+
+        assertEquals(List.of("primeira:pedido-1", "segunda:PENDENTE"), executadas);
+        assertEquals(1.0, registry.get("teste.transicoes")
+                .tags("de", "PENDENTE", "para", "CANCELADO", "resultado", "aplicada").functionCounter().count());
+        assertEquals(1.0, registry.get("teste.transicoes")
+                .tags("de", "CANCELADO", "para", "PENDENTE", "resultado", "rejeitada").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Cancelamento e entrega devem atualizar o consolidado de vendas")
+    void acoesDoConsolidadoDeVendas() {
+        Restaurante restaurante = new Restaurante();
+        restaurante.setId(7L);
+        Pedido pedido = new Pedido();
+        pedido.setRestaurante(restaurante);
+        pedido.setDataPedido(LocalDateTime.of(2024, 5, 10, 12, 0));
+        pedido.setValorTotal(BigDecimal.TEN);
+        LocalDate dia = LocalDate.of(2024, 5, 10);
+
+        maquina.transicionar(pedido, StatusPedido.CONFIRMADO, StatusPedido.CANCELADO);
+        maquina.transicionar(pedido, StatusPedido.SAIU_PARA_ENTREGA, StatusPedido.ENTREGUE);
+        maquina.transicionar(pedido, StatusPedido.PENDENTE, StatusPedido.CONFIRMADO);
+
+        verify(vendaDiariaRepository).registrar(7L, dia, BigDecimal.TEN.negate(), -1, 0);
+        verify(vendaDiariaRepository).removerSemPedidos(7L, dia);
+        verify(vendaDiariaRepository).registrar(7L, dia, BigDecimal.ZERO, 0, 1);
+        verifyNoMoreInteractions(vendaDiariaRepository);
+    }
+
+    @Test
+    @DisplayName("Pedido sem restaurante ou data não deve entrar no consolidado")
+    void pedidoSemDataNaoAtualizaConsolidado() {
+        Pedido pedido = new Pedido();
+        pedido.setValorTotal(BigDecimal.TEN);
+
+        maquina.transicionar(pedido, StatusPedido.CONFIRMADO, StatusPedido.CANCELADO);
+        maquina.transicionar(pedido, StatusPedido.SAIU_PARA_ENTREGA, StatusPedido.ENTREGUE);
+
+        verifyNoMoreInteractions(vendaDiariaRepository);
+    }
+}